@@ -2,22 +2,29 @@ package com.almonium.analyzer.analyzer.controller;
 
 import static lombok.AccessLevel.PRIVATE;
 
+import com.almonium.analyzer.analyzer.dto.request.BatchAnalysisRequest;
 import com.almonium.analyzer.analyzer.dto.response.AnalysisDto;
+import com.almonium.analyzer.analyzer.model.enums.ReportSection;
 import com.almonium.analyzer.analyzer.service.LanguageProcessor;
 import com.almonium.analyzer.client.words.dto.WordsReportDto;
 import com.almonium.analyzer.translator.dto.MLTranslationCard;
 import com.almonium.analyzer.translator.dto.TranslationCardDto;
 import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.analyzer.translator.model.record.SpeechAudio;
 import com.almonium.auth.common.annotation.Auth;
-import com.almonium.card.core.dto.response.CardDto;
+import com.almonium.card.core.dto.response.CardSearchPageDto;
 import com.almonium.card.core.service.CardService;
 import com.almonium.user.core.model.entity.User;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -26,7 +33,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Tag(name = "Learning")
 @RestController
@@ -34,25 +43,37 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 public class LangController {
+    private static final Duration AUDIO_MAX_AGE = Duration.ofDays(365);
+
     CardService cardService;
     LanguageProcessor languageProcessor;
 
     @GetMapping("/cards/{lang}/search/{text}")
-    public ResponseEntity<List<CardDto>> search(
-            @PathVariable String text, @PathVariable Language lang, @Auth User user) {
-        return ResponseEntity.ok(cardService.searchByEntry(text, lang, user));
+    public ResponseEntity<CardSearchPageDto> search(
+            @PathVariable String text,
+            @PathVariable Language lang,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @Auth User user) {
+        return ResponseEntity.ok(cardService.searchByEntry(text, lang, user, cursor, limit));
     }
 
     @GetMapping("/translate/{langFrom}/{langTo}/{text}")
     public ResponseEntity<TranslationCardDto> translate(
-            @PathVariable String langFrom, @PathVariable String langTo, @PathVariable String text) {
+            @PathVariable String langFrom, @PathVariable String langTo, @PathVariable String text, @Auth User user) {
         return ResponseEntity.ok(
-                languageProcessor.translate(text, Language.valueOf(langFrom), Language.valueOf(langTo)));
+                languageProcessor.translate(text, Language.valueOf(langFrom), Language.valueOf(langTo), user));
     }
 
     @PostMapping("/translations/{langTo}/bulk")
-    public ResponseEntity<MLTranslationCard> bulkTranslate(@PathVariable String langTo, @RequestBody String text) {
-        return ResponseEntity.ok(languageProcessor.bulkTranslate(text, Language.valueOf(langTo)));
+    public ResponseEntity<MLTranslationCard> bulkTranslate(
+            @PathVariable String langTo, @RequestBody String text, @Auth User user) {
+        return ResponseEntity.ok(languageProcessor.bulkTranslate(text, Language.valueOf(langTo), user));
+    }
+
+    @PostMapping(value = "/translations/{langTo}/bulk/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBulkTranslation(@PathVariable Language langTo, @RequestBody String text, @Auth User user) {
+        return languageProcessor.streamBulkTranslation(text, langTo, user);
     }
 
     @GetMapping("/words/random")
@@ -66,28 +87,41 @@ public class LangController {
     }
 
     @GetMapping("/words/{text}/audio/{lang}")
-    public ResponseEntity<Resource> bulkPronounce(@PathVariable String lang, @PathVariable String text) {
-        byte[] bytes = languageProcessor.textToSpeech(lang, text).toByteArray();
+    public ResponseEntity<Resource> bulkPronounce(
+            @PathVariable String lang, @PathVariable String text, @Auth User user) {
+        SpeechAudio audio = languageProcessor.textToSpeech(lang, text, user);
 
+        // the same text and language always map to the same audio, so clients may keep it for good;
+        // If-None-Match and Range are answered by Spring from the ETag and the Resource body
         return ResponseEntity.ok()
-                .headers(createAudioHeaders())
-                .contentLength(bytes.length)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=file.mp3")
+                .cacheControl(CacheControl.maxAge(AUDIO_MAX_AGE).cachePublic().immutable())
+                .eTag(audio.etag())
                 .contentType(MediaType.parseMediaType("audio/mpeg"))
-                .body(new ByteArrayResource(bytes));
+                .body(new ByteArrayResource(audio.content()));
     }
 
     @GetMapping("/words/{text}/{lang}/report")
     public ResponseEntity<AnalysisDto> getReport(
-            @PathVariable String text, @PathVariable Language lang, @Auth User user) {
-        return ResponseEntity.ok(languageProcessor.getReport(text, lang, user));
+            @PathVariable String text,
+            @PathVariable Language lang,
+            @RequestParam(required = false) Set<ReportSection> fields,
+            @Auth User user) {
+        return ResponseEntity.ok(languageProcessor.getReport(text, lang, user, fields));
+    }
+
+    @GetMapping(value = "/words/{text}/{lang}/report/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamReport(
+            @PathVariable String text,
+            @PathVariable Language lang,
+            @RequestParam(required = false) Set<ReportSection> fields,
+            @Auth User user) {
+        return languageProcessor.streamReport(text, lang, user, fields);
     }
 
-    private HttpHeaders createAudioHeaders() {
-        HttpHeaders header = new HttpHeaders();
-        header.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=file.mp3");
-        header.add("Cache-Control", "no-cache, no-store, must-revalidate");
-        header.add("Pragma", "no-cache");
-        header.add("Expires", "0");
-        return header;
+    @PostMapping(value = "/words/{lang}/reports/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamReports(
+            @PathVariable Language lang, @Valid @RequestBody BatchAnalysisRequest request, @Auth User user) {
+        return languageProcessor.streamReportEvents(request.entries(), lang, user, request.fields());
     }
 }
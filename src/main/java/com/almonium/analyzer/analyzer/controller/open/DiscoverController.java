@@ -2,15 +2,20 @@ package com.almonium.analyzer.analyzer.controller.open;
 
 import static lombok.AccessLevel.PRIVATE;
 
+import com.almonium.analyzer.analyzer.dto.request.FrequencyBatchRequest;
 import com.almonium.analyzer.analyzer.service.FrequencyService;
 import com.almonium.analyzer.translator.model.enums.Language;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -27,4 +32,10 @@ public class DiscoverController {
     public ResponseEntity<Optional<Integer>> search(@PathVariable Language lang, @RequestParam String text) {
         return ResponseEntity.ok(frequencyService.getFrequency(lang, text));
     }
+
+    @PostMapping("/freq/{lang}/batch")
+    public ResponseEntity<Map<String, Integer>> searchAll(
+            @PathVariable Language lang, @Valid @RequestBody FrequencyBatchRequest request) {
+        return ResponseEntity.ok(frequencyService.getFrequencies(lang, request.words()));
+    }
 }
@@ -0,0 +1,13 @@
+package com.almonium.analyzer.analyzer.dto.request;
+
+import com.almonium.analyzer.analyzer.model.enums.ReportSection;
+import com.almonium.subscription.constant.AppLimits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.Set;
+
+public record BatchAnalysisRequest(
+        @NotEmpty @Size(max = AppLimits.MAX_BATCH_ANALYSIS_ENTRIES) List<@NotBlank String> entries,
+        Set<ReportSection> fields) {}
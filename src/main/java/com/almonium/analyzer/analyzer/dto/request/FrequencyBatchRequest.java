@@ -0,0 +1,10 @@
+package com.almonium.analyzer.analyzer.dto.request;
+
+import com.almonium.subscription.constant.AppLimits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record FrequencyBatchRequest(
+        @NotEmpty @Size(max = AppLimits.MAX_BATCH_FREQUENCY_WORDS) List<@NotBlank String> words) {}
@@ -3,8 +3,11 @@ package com.almonium.analyzer.analyzer.dto.response;
 import static lombok.AccessLevel.PRIVATE;
 
 import com.almonium.analyzer.analyzer.model.enums.CEFR;
+import com.almonium.analyzer.analyzer.model.enums.ReportSection;
 import com.almonium.analyzer.translator.dto.TranslationCardDto;
 import com.almonium.card.core.dto.response.CardDto;
+import java.util.EnumSet;
+import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -31,4 +34,7 @@ public class AnalysisDto {
     Boolean isForeignWord;
     Boolean isPlural;
     TranslationCardDto translationCards;
+
+    @Builder.Default
+    Set<ReportSection> missingSections = EnumSet.noneOf(ReportSection.class);
 }
@@ -0,0 +1,6 @@
+package com.almonium.analyzer.analyzer.dto.response;
+
+import com.almonium.analyzer.analyzer.model.enums.ReportSection;
+import java.util.Set;
+
+public record ReportCompletionDto(Set<ReportSection> missingSections) {}
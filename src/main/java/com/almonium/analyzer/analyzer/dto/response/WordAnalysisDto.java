@@ -0,0 +1,3 @@
+package com.almonium.analyzer.analyzer.dto.response;
+
+public record WordAnalysisDto(String entry, AnalysisDto analysis) {}
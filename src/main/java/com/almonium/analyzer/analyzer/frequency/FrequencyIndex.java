@@ -0,0 +1,101 @@
+package com.almonium.analyzer.analyzer.frequency;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.OptionalDouble;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Read-only, memory-mapped table of normalized word to relative frequency.
+ *
+ * <p>Layout (big-endian):
+ * <pre>
+ * header:  int magic, int version, int entryCount
+ * entries: entryCount x (int keyOffset, int keyLength, double frequency), sorted by key bytes
+ * keys:    UTF-8 bytes of all keys, keyOffset is relative to the start of this section
+ * </pre>
+ * Lookups are a binary search over the mapped entries and don't allocate besides the encoded key.
+ */
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public final class FrequencyIndex {
+    static final int MAGIC = 0x41465131; // "AFQ1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 3 * Integer.BYTES;
+    static final int ENTRY_BYTES = 2 * Integer.BYTES + Double.BYTES;
+
+    ByteBuffer buffer;
+
+    @Getter
+    int size;
+
+    int keysStart;
+
+    private FrequencyIndex(ByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IllegalArgumentException("Not a frequency index of version " + VERSION);
+        }
+        this.buffer = buffer;
+        this.size = buffer.getInt(2 * Integer.BYTES);
+        this.keysStart = HEADER_BYTES + size * ENTRY_BYTES;
+    }
+
+    public static FrequencyIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new FrequencyIndex(mapped);
+        }
+    }
+
+    public OptionalDouble find(String word) {
+        if (word == null) {
+            return OptionalDouble.empty();
+        }
+        byte[] key = normalize(word).getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareKeyAt(mid, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return OptionalDouble.of(buffer.getDouble(entryPosition(mid) + 2 * Integer.BYTES));
+            }
+        }
+        return OptionalDouble.empty();
+    }
+
+    public static String normalize(String word) {
+        return Normalizer.normalize(word.strip(), Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    private int compareKeyAt(int entry, byte[] key) {
+        int position = entryPosition(entry);
+        int offset = keysStart + buffer.getInt(position);
+        int length = buffer.getInt(position + Integer.BYTES);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(offset + i), key[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private static int entryPosition(int entry) {
+        return HEADER_BYTES + entry * ENTRY_BYTES;
+    }
+}
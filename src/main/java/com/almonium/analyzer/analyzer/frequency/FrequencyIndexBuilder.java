@@ -0,0 +1,104 @@
+package com.almonium.analyzer.analyzer.frequency;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds a {@link FrequencyIndex} file from a corpus TSV with {@code word<TAB>count} lines.
+ * Words are normalized the same way lookups are, counts of words that normalize to the same key are summed,
+ * and every count is divided by the corpus total, so values are comparable to Ngrams relative frequencies.
+ */
+@Slf4j
+@UtilityClass
+public class FrequencyIndexBuilder {
+
+    public void build(Path corpus, Path target) throws IOException {
+        Map<String, Long> counts = readCounts(corpus);
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+
+        byte[][] keys = new byte[counts.size()][];
+        int i = 0;
+        for (String word : counts.keySet()) {
+            keys[i++] = word.getBytes(StandardCharsets.UTF_8);
+        }
+        Arrays.sort(keys, Arrays::compareUnsigned);
+
+        Path tmp = Files.createTempFile(
+                target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(tmp);
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(FrequencyIndex.MAGIC);
+                out.writeInt(FrequencyIndex.VERSION);
+                out.writeInt(keys.length);
+                int keyOffset = 0;
+                for (byte[] key : keys) {
+                    long count = counts.get(new String(key, StandardCharsets.UTF_8));
+                    out.writeInt(keyOffset);
+                    out.writeInt(key.length);
+                    out.writeDouble(total == 0 ? 0 : (double) count / total);
+                    keyOffset += key.length;
+                }
+                for (byte[] key : keys) {
+                    out.write(key);
+                }
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        log.info("Built frequency index {} with {} words from {}", target, keys.length, corpus);
+    }
+
+    private Map<String, Long> readCounts(Path corpus) throws IOException {
+        Map<String, Long> counts = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(corpus, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                int tab = line.indexOf('\t');
+                if (tab <= 0) {
+                    log.warn("Skipping malformed line {} in {}", lineNumber, corpus);
+                    continue;
+                }
+                String word = FrequencyIndex.normalize(line.substring(0, tab));
+                if (word.isEmpty()) {
+                    continue;
+                }
+                long count = parseCount(line.substring(tab + 1));
+                if (count < 0) {
+                    log.warn("Skipping malformed count on line {} in {}", lineNumber, corpus);
+                    continue;
+                }
+                counts.merge(word, count, Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    // -1 for counts that aren't a non-negative number
+    private static long parseCount(String count) {
+        try {
+            return Long.parseLong(count.strip());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.almonium.analyzer.analyzer.frequency;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.config.properties.AnalyzerProperties;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the local frequency index of every language that has one in {@code analyzer.frequency.index-directory}.
+ * An index is read from {@code <lang>.idx}; if only {@code <lang>.tsv} is present, or it's newer than the index,
+ * the index is (re)built from it first.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class FrequencyIndexRegistry {
+    private static final String INDEX_EXTENSION = ".idx";
+    private static final String CORPUS_EXTENSION = ".tsv";
+
+    AnalyzerProperties analyzerProperties;
+    Map<Language, FrequencyIndex> indexes = new EnumMap<>(Language.class);
+
+    @PostConstruct
+    public void load() {
+        Path directory = analyzerProperties.getFrequency().getIndexDirectory();
+        if (directory == null || !Files.isDirectory(directory)) {
+            log.info("No frequency index directory found at {}, frequencies will be fetched remotely", directory);
+            return;
+        }
+        for (Language language : Language.values()) {
+            String name = language.name().toLowerCase(Locale.ROOT);
+            try {
+                loadIndex(
+                        language,
+                        directory.resolve(name + INDEX_EXTENSION),
+                        directory.resolve(name + CORPUS_EXTENSION));
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to load frequency index for {}", language, e);
+            }
+        }
+    }
+
+    public OptionalDouble find(Language language, String word) {
+        FrequencyIndex index = indexes.get(language);
+        return index == null ? OptionalDouble.empty() : index.find(word);
+    }
+
+    public boolean supports(Language language) {
+        return indexes.containsKey(language);
+    }
+
+    private void loadIndex(Language language, Path indexFile, Path corpusFile) throws IOException {
+        if (Files.exists(corpusFile)
+                && (!Files.exists(indexFile)
+                        || Files.getLastModifiedTime(corpusFile).compareTo(Files.getLastModifiedTime(indexFile)) > 0)) {
+            FrequencyIndexBuilder.build(corpusFile, indexFile);
+        }
+        if (Files.exists(indexFile)) {
+            FrequencyIndex index = FrequencyIndex.open(indexFile);
+            indexes.put(language, index);
+            log.info("Loaded frequency index for {} with {} words", language, index.getSize());
+        }
+    }
+}
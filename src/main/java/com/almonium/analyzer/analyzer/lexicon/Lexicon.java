@@ -0,0 +1,74 @@
+package com.almonium.analyzer.analyzer.lexicon;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.analyzer.model.enums.POS;
+import com.almonium.analyzer.analyzer.model.record.LexiconEntry;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Immutable table of surface form to the lemma and POS tag candidates CoreNLP would produce for it on its own.
+ * Forms are matched exactly after NFC normalization, so "Apple" and "apple" are different entries.
+ *
+ * <p>Source file format: one {@code form<TAB>lemma<TAB>tag} line per candidate, tags as in {@link POS#getCode()};
+ * blank lines and lines starting with {@code #} are ignored.
+ */
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class Lexicon {
+    private static final String SEPARATOR = "\t";
+    private static final String COMMENT = "#";
+
+    Map<String, List<LexiconEntry>> entries;
+
+    Lexicon(Map<String, List<LexiconEntry>> entries) {
+        this.entries = Map.copyOf(entries);
+    }
+
+    public static Lexicon read(Path source) throws IOException {
+        Map<String, List<LexiconEntry>> entries = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith(COMMENT)) {
+                    continue;
+                }
+                String[] columns = line.split(SEPARATOR);
+                if (columns.length != 3) {
+                    throw new IOException("Malformed lexicon line %d in %s".formatted(lineNumber, source));
+                }
+                LexiconEntry entry = new LexiconEntry(columns[1].strip(), POS.fromString(columns[2].strip()));
+                List<LexiconEntry> candidates =
+                        entries.computeIfAbsent(normalize(columns[0]), form -> new ArrayList<>(1));
+                if (!candidates.contains(entry)) {
+                    candidates.add(entry);
+                }
+            }
+        }
+        entries.replaceAll((form, candidates) -> List.copyOf(candidates));
+        return new Lexicon(entries);
+    }
+
+    public List<LexiconEntry> find(String form) {
+        return entries.getOrDefault(normalize(form), List.of());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static String normalize(String form) {
+        return Normalizer.normalize(form, Normalizer.Form.NFC).strip();
+    }
+}
@@ -0,0 +1,90 @@
+package com.almonium.analyzer.analyzer.lexicon;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.analyzer.model.record.LexiconEntry;
+import com.almonium.analyzer.analyzer.model.record.NlpAnnotation;
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.config.properties.AnalyzerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves single words from the precomputed lexicon of their language ({@code <lang>.tsv} in
+ * {@code analyzer.lexicon.directory}) without running CoreNLP. Multi-word input, unknown forms and forms with more
+ * than one candidate are left to {@code CoreNLPService}, which can use the context.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class LexiconRegistry {
+    static final String LOOKUP_COUNTER = "analyzer.lexicon.lookup";
+    static final String RESULT_HIT = "hit";
+    static final String RESULT_MISS = "miss";
+    static final String RESULT_AMBIGUOUS = "ambiguous";
+    private static final String LEXICON_EXTENSION = ".tsv";
+
+    AnalyzerProperties analyzerProperties;
+    MeterRegistry meterRegistry;
+    Map<Language, Lexicon> lexicons = new EnumMap<>(Language.class);
+
+    @PostConstruct
+    public void load() {
+        Path directory = analyzerProperties.getLexicon().getDirectory();
+        if (directory == null || !Files.isDirectory(directory)) {
+            log.info("No lexicon directory found at {}, all input will go through CoreNLP", directory);
+            return;
+        }
+        for (Language language : Language.values()) {
+            Path source = directory.resolve(language.name().toLowerCase(Locale.ROOT) + LEXICON_EXTENSION);
+            if (!Files.exists(source)) {
+                continue;
+            }
+            try {
+                Lexicon lexicon = Lexicon.read(source);
+                lexicons.put(language, lexicon);
+                log.info("Loaded lexicon for {} with {} forms", language, lexicon.size());
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to load lexicon for {}", language, e);
+            }
+        }
+    }
+
+    public Optional<NlpAnnotation> annotate(Language language, String text) {
+        Lexicon lexicon = lexicons.get(language);
+        if (lexicon == null) {
+            return Optional.empty();
+        }
+        String form = Lexicon.normalize(text);
+        if (form.isEmpty() || form.chars().anyMatch(Character::isWhitespace)) {
+            return Optional.empty();
+        }
+        List<LexiconEntry> candidates = lexicon.find(form);
+        if (candidates.size() != 1) {
+            count(language, candidates.isEmpty() ? RESULT_MISS : RESULT_AMBIGUOUS);
+            return Optional.empty();
+        }
+        count(language, RESULT_HIT);
+        LexiconEntry entry = candidates.getFirst();
+        return Optional.of(new NlpAnnotation(List.of(form), List.of(entry.pos()), List.of(entry.lemma())));
+    }
+
+    private void count(Language language, String result) {
+        meterRegistry
+                .counter(LOOKUP_COUNTER, "language", language.name(), "result", result)
+                .increment();
+    }
+}
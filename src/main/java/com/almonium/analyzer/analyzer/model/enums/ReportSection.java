@@ -0,0 +1,22 @@
+package com.almonium.analyzer.analyzer.model.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import java.util.Locale;
+
+public enum ReportSection {
+    LEMMAS,
+    POS_TAGS,
+    FREQUENCY,
+    TRANSLATIONS,
+    HOMOPHONES,
+    NOUNS,
+    ADJECTIVES;
+
+    /**
+     * Accepts the lower-case and kebab-case names clients use in {@code ?fields=}.
+     */
+    @JsonCreator
+    public static ReportSection fromValue(String value) {
+        return valueOf(value.strip().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,5 @@
+package com.almonium.analyzer.analyzer.model.record;
+
+import com.almonium.analyzer.analyzer.model.enums.POS;
+
+public record LexiconEntry(String lemma, POS pos) {}
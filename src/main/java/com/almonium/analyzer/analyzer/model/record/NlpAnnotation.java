@@ -0,0 +1,11 @@
+package com.almonium.analyzer.analyzer.model.record;
+
+import com.almonium.analyzer.analyzer.model.enums.POS;
+import java.util.List;
+
+public record NlpAnnotation(List<String> tokens, List<POS> posTags, List<String> lemmas) {
+
+    public int size() {
+        return tokens.size();
+    }
+}
@@ -3,51 +3,161 @@ package com.almonium.analyzer.analyzer.service;
 import static lombok.AccessLevel.PRIVATE;
 
 import com.almonium.analyzer.analyzer.model.enums.POS;
-import edu.stanford.nlp.ling.CoreAnnotations;
+import com.almonium.analyzer.analyzer.model.record.NlpAnnotation;
+import com.almonium.config.properties.AnalyzerProperties;
 import edu.stanford.nlp.ling.CoreLabel;
-import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.CoreDocument;
 import edu.stanford.nlp.pipeline.StanfordCoreNLP;
-import edu.stanford.nlp.util.CoreMap;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
-import lombok.AllArgsConstructor;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
 
-// @Service
+/**
+ * Tokenizes, tags and lemmatizes text in a single pipeline pass.
+ * A {@link StanfordCoreNLP} pipeline is expensive to build and is only used by one thread at a time,
+ * so pipelines are created lazily up to {@code analyzer.nlp.pool-size} and borrowed for each call.
+ */
 @Slf4j
-@AllArgsConstructor
+@Service
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 public class CoreNLPService {
-    private StanfordCoreNLP pipeline;
+    private static final String ANNOTATORS = "tokenize, ssplit, pos, lemma";
+    private static final String WARM_UP_TEXT = "The quick brown fox jumps over the lazy dog.";
 
-    public CoreNLPService() {
-        Properties props = new Properties();
-        props.put("annotators", "tokenize, ssplit, pos, lemma");
-        this.pipeline = new StanfordCoreNLP(props);
+    AnalyzerProperties.Nlp nlpProperties;
+    Supplier<StanfordCoreNLP> pipelineFactory;
+    ExecutorService virtualThreadExecutor;
+    BlockingQueue<StanfordCoreNLP> idlePipelines;
+    AtomicInteger createdPipelines = new AtomicInteger();
+
+    @Autowired
+    public CoreNLPService(AnalyzerProperties analyzerProperties, ExecutorService virtualThreadExecutor) {
+        this(analyzerProperties.getNlp(), CoreNLPService::createPipeline, virtualThreadExecutor);
+    }
+
+    CoreNLPService(
+            AnalyzerProperties.Nlp nlpProperties,
+            Supplier<StanfordCoreNLP> pipelineFactory,
+            ExecutorService virtualThreadExecutor) {
+        this.nlpProperties = nlpProperties;
+        this.pipelineFactory = pipelineFactory;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.idlePipelines = new ArrayBlockingQueue<>(nlpProperties.getPoolSize());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!nlpProperties.isWarmUp()) {
+            return;
+        }
+        virtualThreadExecutor.execute(() -> {
+            long startedAt = System.nanoTime();
+            annotate(WARM_UP_TEXT);
+            log.info(
+                    "CoreNLP pipeline warmed up in {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        });
     }
 
-    public List<POS> posTagging(String documentText) {
-        List<POS> pos = new ArrayList<>();
-        for (CoreLabel tok : pipeline.processToCoreDocument(documentText).tokens()) {
-            System.out.printf("%s\t%s%n", tok.word(), tok.tag());
-            pos.add(POS.fromString(tok.tag()));
+    public NlpAnnotation annotate(String text) {
+        StanfordCoreNLP pipeline = acquire();
+        try {
+            return annotate(pipeline, text);
+        } finally {
+            idlePipelines.offer(pipeline);
         }
-        return pos;
     }
 
-    public List<String> lemmatize(String documentText) {
-        List<String> lemmas = new LinkedList<>();
-        Annotation document = new Annotation(documentText);
-        pipeline.annotate(document);
-        List<CoreMap> sentences = document.get(CoreAnnotations.SentencesAnnotation.class);
-        for (CoreMap sentence : sentences) {
-            for (CoreLabel token : sentence.get(CoreAnnotations.TokensAnnotation.class)) {
-                lemmas.add(token.get(CoreAnnotations.LemmaAnnotation.class));
+    /**
+     * Annotates every text with a single borrowed pipeline, so a batch costs one pool round trip
+     * instead of one per text.
+     */
+    public List<NlpAnnotation> annotateAll(List<String> texts) {
+        StanfordCoreNLP pipeline = acquire();
+        try {
+            List<NlpAnnotation> annotations = new ArrayList<>(texts.size());
+            for (String text : texts) {
+                annotations.add(annotate(pipeline, text));
             }
+            return annotations;
+        } finally {
+            idlePipelines.offer(pipeline);
         }
-        return lemmas;
+    }
+
+    private static NlpAnnotation annotate(StanfordCoreNLP pipeline, String text) {
+        CoreDocument document = pipeline.processToCoreDocument(text);
+        List<CoreLabel> labels = document.tokens();
+        List<String> tokens = new ArrayList<>(labels.size());
+        List<POS> posTags = new ArrayList<>(labels.size());
+        List<String> lemmas = new ArrayList<>(labels.size());
+        for (CoreLabel label : labels) {
+            tokens.add(label.word());
+            posTags.add(POS.fromString(label.tag()));
+            lemmas.add(label.lemma());
+        }
+        return new NlpAnnotation(tokens, posTags, lemmas);
+    }
+
+    int createdPipelines() {
+        return createdPipelines.get();
+    }
+
+    private StanfordCoreNLP acquire() {
+        StanfordCoreNLP pipeline = idlePipelines.poll();
+        if (pipeline != null) {
+            return pipeline;
+        }
+        int created = createdPipelines.get();
+        while (created < nlpProperties.getPoolSize()) {
+            if (createdPipelines.compareAndSet(created, created + 1)) {
+                return newPipeline();
+            }
+            created = createdPipelines.get();
+        }
+        return awaitIdlePipeline();
+    }
+
+    private StanfordCoreNLP newPipeline() {
+        try {
+            log.info("Creating CoreNLP pipeline {}/{}", createdPipelines.get(), nlpProperties.getPoolSize());
+            return pipelineFactory.get();
+        } catch (RuntimeException e) {
+            createdPipelines.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private StanfordCoreNLP awaitIdlePipeline() {
+        try {
+            StanfordCoreNLP pipeline =
+                    idlePipelines.poll(nlpProperties.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            if (pipeline == null) {
+                throw new IllegalStateException(
+                        "No CoreNLP pipeline available within " + nlpProperties.getAcquireTimeout());
+            }
+            return pipeline;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a CoreNLP pipeline", e);
+        }
+    }
+
+    private static StanfordCoreNLP createPipeline() {
+        Properties props = new Properties();
+        props.put("annotators", ANNOTATORS);
+        return new StanfordCoreNLP(props);
     }
 }
@@ -1,9 +1,18 @@
 package com.almonium.analyzer.analyzer.service;
 
+import com.almonium.analyzer.analyzer.frequency.FrequencyIndexRegistry;
 import com.almonium.analyzer.client.ngrams.adapter.NgramsAdapter;
 import com.almonium.analyzer.translator.model.enums.Language;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -15,13 +24,55 @@ public class FrequencyService {
     private static final double FREQUENCY_THRESHOLD = Math.pow(10, -EXPONENT);
     private static final double ENGLISH_SCALE = 12.78990589161462;
     private static final Map<Language, Double> languageScale = Map.of(Language.EN, ENGLISH_SCALE);
+    private final FrequencyIndexRegistry frequencyIndexRegistry;
     private final NgramsAdapter ngramsAdapter;
 
     public Optional<Integer> getFrequency(Language language, String input) {
-        Optional<Double> reportedFrequencyOptional = ngramsAdapter.getRelativeFrequency(input, language);
+        Optional<Double> reportedFrequencyOptional = getRelativeFrequency(language, input);
         return reportedFrequencyOptional.map(aDouble -> calculateRelativeFrequency(aDouble, language));
     }
 
+    /**
+     * Scores many words of one language at once. Words are stripped, lowercased and deduplicated; the local index
+     * answers what it can and only the rest is looked up remotely, in parallel. Languages without an Ngrams corpus are
+     * answered from the local index alone. The result is keyed by the normalized word, and words without a known
+     * frequency are left out.
+     */
+    public Map<String, Integer> getFrequencies(Language language, Collection<String> inputs) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String input : inputs) {
+            String word = input.strip().toLowerCase(Locale.ROOT);
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String word : words) {
+            OptionalDouble local = frequencyIndexRegistry.find(language, word);
+            if (local.isPresent()) {
+                scores.put(word, calculateRelativeFrequency(local.getAsDouble(), language));
+            } else {
+                misses.add(word);
+            }
+        }
+        if (!misses.isEmpty() && ngramsAdapter.supports(language)) {
+            ngramsAdapter
+                    .getRelativeFrequencies(misses, language)
+                    .forEach((word, frequency) -> scores.put(word, calculateRelativeFrequency(frequency, language)));
+        }
+        return scores;
+    }
+
+    private Optional<Double> getRelativeFrequency(Language language, String input) {
+        OptionalDouble local = frequencyIndexRegistry.find(language, input);
+        if (local.isPresent()) {
+            return Optional.of(local.getAsDouble());
+        }
+        return ngramsAdapter.getRelativeFrequency(input, language);
+    }
+
     private int calculateRelativeFrequency(double frequency, Language language) {
         if (frequency == 0) {
             return 0;
@@ -30,7 +81,8 @@ public class FrequencyService {
             return LOWEST_SCORE;
         }
         double normalizeByZero = Math.log10(frequency) + EXPONENT; // lowest log can get is -e, so we add e to normalize
-        double result = languageScale.get(language) * normalizeByZero + LOWEST_SCORE;
+        // languages without a calibrated scale reuse the English one
+        double result = languageScale.getOrDefault(language, ENGLISH_SCALE) * normalizeByZero + LOWEST_SCORE;
         return Math.toIntExact(Math.round(result));
     }
 }
@@ -3,40 +3,59 @@ package com.almonium.analyzer.analyzer.service;
 import static lombok.AccessLevel.PRIVATE;
 
 import com.almonium.analyzer.analyzer.dto.response.AnalysisDto;
-import com.almonium.analyzer.analyzer.mapper.DictionaryDtoMapper;
+import com.almonium.analyzer.analyzer.dto.response.ReportCompletionDto;
+import com.almonium.analyzer.analyzer.dto.response.WordAnalysisDto;
+import com.almonium.analyzer.analyzer.lexicon.LexiconRegistry;
 import com.almonium.analyzer.analyzer.model.enums.POS;
+import com.almonium.analyzer.analyzer.model.enums.ReportSection;
+import com.almonium.analyzer.analyzer.model.record.NlpAnnotation;
 import com.almonium.analyzer.client.datamuse.DatamuseClient;
 import com.almonium.analyzer.client.datamuse.dto.DatamuseEntryDto;
 import com.almonium.analyzer.client.google.GoogleClient;
 import com.almonium.analyzer.client.google.dto.GoogleDto;
+import com.almonium.analyzer.client.usage.UsageMeter;
 import com.almonium.analyzer.client.wordnik.WordnikClient;
 import com.almonium.analyzer.client.wordnik.dto.WordnikAudioDto;
-import com.almonium.analyzer.client.words.WordsClient;
+import com.almonium.analyzer.client.words.RandomWordBuffer;
 import com.almonium.analyzer.client.words.dto.WordsReportDto;
-import com.almonium.analyzer.client.yandex.YandexClient;
-import com.almonium.analyzer.client.yandex.dto.YandexDto;
 import com.almonium.analyzer.translator.dto.MLTranslationCard;
 import com.almonium.analyzer.translator.dto.TranslationCardDto;
 import com.almonium.analyzer.translator.model.enums.Language;
-import com.almonium.analyzer.translator.repository.LangPairTranslatorRepository;
-import com.almonium.analyzer.translator.repository.TranslatorRepository;
+import com.almonium.analyzer.translator.model.record.SpeechAudio;
+import com.almonium.analyzer.translator.service.BulkTranslationService;
+import com.almonium.analyzer.translator.service.SpeechAudioCache;
+import com.almonium.analyzer.translator.service.TranslationRouter;
 import com.almonium.analyzer.translator.service.TranslationService;
+import com.almonium.analyzer.translator.service.impl.GoogleTranslationServiceImpl;
+import com.almonium.analyzer.translator.service.impl.GoogleTranslatorEngine;
 import com.almonium.card.core.service.LearnerFinder;
+import com.almonium.config.properties.AnalyzerProperties;
+import com.almonium.infra.sse.SseStreamer;
+import com.almonium.subscription.model.entity.enums.PlanFeature;
 import com.almonium.user.core.model.entity.Learner;
 import com.almonium.user.core.model.entity.User;
-import com.google.protobuf.ByteString;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.NotImplementedException;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
 @Slf4j
@@ -46,70 +65,54 @@ public class LanguageProcessor {
     private static final double LOW_BOUND = 1e-9;
     private static final double OFFSET = 10;
     private static final double SCALE = 1.153315895823627;
+    private static final int FREQUENCY_GROUP_SIZE = 10;
+    private static final String AGGREGATED_NGRAM_SUFFIX = " (All)";
+    private static final String REPORT_COMPLETE_EVENT = "complete";
 
-    CoreNLPService coreNLPService = null;
+    CoreNLPService coreNLPService;
+    LexiconRegistry lexiconRegistry;
+    ReportFanOutEngine reportFanOutEngine;
     TranslationService googleService;
     LearnerFinder learnerFinder;
 
     DatamuseClient datamuseClient;
     GoogleClient googleClient;
     WordnikClient wordnikClient;
-    YandexClient yandexClient;
-    WordsClient wordsClient;
+    RandomWordBuffer randomWordBuffer;
 
-    LangPairTranslatorRepository langPairTranslatorRepository;
-    TranslatorRepository translatorRepository;
+    TranslationRouter translationRouter;
+    BulkTranslationService bulkTranslationService;
+    SpeechAudioCache speechAudioCache;
+    ExecutorService virtualThreadExecutor;
+    SseStreamer sseStreamer;
+    UsageMeter usageMeter;
+    AnalyzerProperties analyzerProperties;
 
-    DictionaryDtoMapper dictionaryDtoMapper;
-
-    public MLTranslationCard bulkTranslate(String text, Language targetLang) {
+    public MLTranslationCard bulkTranslate(String text, Language targetLang, User user) {
+        usageMeter.charge(user, PlanFeature.DAILY_TRANSLATION_CHARACTERS, text.length());
         // todo deepL
-        return new MLTranslationCard(
-                translatorRepository.getGoogle().getName(), googleService.bulkTranslateText(text, targetLang.name()));
+        return new MLTranslationCard(GoogleTranslatorEngine.NAME, bulkTranslationService.translate(text, targetLang));
     }
 
-    @SneakyThrows
-    public TranslationCardDto translate(String entry, Language sourceLang, Language targetLang) {
+    public SseEmitter streamBulkTranslation(String text, Language targetLang, User user) {
+        usageMeter.charge(user, PlanFeature.DAILY_TRANSLATION_CHARACTERS, text.length());
+        return bulkTranslationService.streamEvents(text, targetLang);
+    }
 
+    public TranslationCardDto translate(String entry, Language sourceLang, Language targetLang, User user) {
         if (sourceLang == null || targetLang == null) {
             return null;
         }
+        // remembered cards cost nothing, so only a lookup that reaches a translator counts
+        return translationRouter.translate(
+                entry, sourceLang, targetLang, () -> usageMeter.charge(user, PlanFeature.DAILY_DICTIONARY_LOOKUPS, 1));
+    }
 
-        List<Long> translatorsIds =
-                langPairTranslatorRepository.getBySourceLangAndTargetLang(sourceLang.name(), targetLang.name());
-
-        if (translatorsIds.size() == 0) {
-            return null;
-        } else if (translatorsIds.size() == 1) {
-            if (translatorsIds.get(0).equals(translatorRepository.getYandex().getId())) {
-                ResponseEntity<YandexDto> responseEntity = yandexClient.translate(entry, sourceLang, targetLang);
-
-                if (responseEntity.getStatusCode().is2xxSuccessful()) {
-                    TranslationCardDto card = dictionaryDtoMapper.yandexToGeneral(responseEntity.getBody());
-                    card.setProvider(translatorRepository.getYandex().getName());
-                    return card;
-                }
-                if (responseEntity.getStatusCode() == HttpStatus.FORBIDDEN) {
-                    log.error("LIMIT EXCEEDED");
-                    return null;
-                } else if (responseEntity.getStatusCode() == HttpStatus.NOT_IMPLEMENTED) {
-                    log.error("Language pair not supported: probably, langPairTranslator table is out of date");
-                    throw new Exception("Unexpectedly not supported lang pair in this provider");
-                } else if (responseEntity.getStatusCode().is4xxClientError()) {
-                    log.error(responseEntity.getBody().toString());
-                    return null;
-                } else {
-                    return null;
-                }
-
-            } else {
-                log.error("Cannot recognize translator");
-                return null;
-            }
-        } else {
-            // TODO if multiple => which engines?
+    public TranslationCardDto translate(String entry, Language sourceLang, Language targetLang) {
+        if (sourceLang == null || targetLang == null) {
             return null;
         }
+        return translationRouter.translate(entry, sourceLang, targetLang);
     }
 
     public List<String> getAudioLink(String word) {
@@ -154,61 +157,284 @@ public class LanguageProcessor {
                 .toArray(String[]::new);
     }
 
-    private void singleWordAnalysis(
-            AnalysisDto analysisDto, String entry, List<POS> posTags, List<String> lemmas, Language from, Language to) {
+    private void singleWordAnalysis(ReportFanOut fanOut, String entry, List<POS> posTags, Language from, Language to) {
         if (posTags.get(0).equals(POS.ADJECTIVE_COMPARATIVE)) {
             getBaseAdjectiveForComparative(entry);
         } else if (posTags.get(0).equals(POS.ADJECTIVE_SUPERLATIVE)) {
             getBaseAdjectiveForSuperlative(entry);
         } else if (posTags.get(0).equals(POS.PROPER_NOUN_SINGULAR)
                 || posTags.get(0).equals(POS.PROPER_NOUN_PLURAL)) {
-            analysisDto.setIsProper(true);
+            fanOut.apply(ReportSection.POS_TAGS, dto -> dto.setIsProper(true));
         } else if (posTags.get(0).equals(POS.FOREIGN_WORD)) {
-            analysisDto.setIsForeignWord(true);
+            fanOut.apply(ReportSection.POS_TAGS, dto -> dto.setIsForeignWord(true));
         } else if (posTags.get(0).equals(POS.NOUN_PLURAL)) {
-            analysisDto.setIsPlural(true);
+            fanOut.apply(ReportSection.POS_TAGS, dto -> dto.setIsPlural(true));
         } else if (posTags.get(0).isAdjective()) {
-            analysisDto.setNouns(getNounsForAdjective(entry));
+            fanOut.fork(ReportSection.NOUNS, () -> getNounsForAdjective(entry), AnalysisDto::setNouns);
         } else if (posTags.get(0).equals(POS.NOUN)) {
-            analysisDto.setAdjectives(getAdjectivesForNoun(entry));
+            fanOut.fork(ReportSection.ADJECTIVES, () -> getAdjectivesForNoun(entry), AnalysisDto::setAdjectives);
         }
-        analysisDto.setTranslationCards(this.translate(entry, from, to));
-        analysisDto.setHomophones(getHomophones(entry));
+        forkLookups(fanOut, entry, from, to);
+    }
+
+    private void forkLookups(ReportFanOut fanOut, String entry, Language from, Language to) {
+        fanOut.fork(ReportSection.TRANSLATIONS, () -> translate(entry, from, to), AnalysisDto::setTranslationCards);
+        fanOut.fork(ReportSection.HOMOPHONES, () -> getHomophones(entry), AnalysisDto::setHomophones);
     }
 
     public AnalysisDto getReport(String entry, Language sourceLang, User user) {
-        Learner learner = learnerFinder.findLearner(user, sourceLang);
-        AnalysisDto analysisDto = new AnalysisDto();
-        List<String> lemmas = coreNLPService.lemmatize(entry);
-        analysisDto.setLemmas(lemmas.stream().map(String::new).toArray(String[]::new));
+        return getReport(entry, sourceLang, user, Set.of());
+    }
+
+    /**
+     * Builds the report for {@code entry}, computing only {@code sections} (all of them if empty).
+     * CoreNLP is skipped altogether when none of the requested sections depends on it.
+     */
+    public AnalysisDto getReport(String entry, Language sourceLang, User user, Set<ReportSection> sections) {
+        chargeTranslations(user, 1, sections);
+        return buildReport(
+                entry,
+                sourceLang,
+                fluentLanguageOf(user, sourceLang),
+                reportFanOutEngine.start(new AnalysisDto(), sections));
+    }
+
+    /**
+     * Streams the report as it is built: one event per section, named after it and carrying a report with just that
+     * section, as soon as it resolves, then a {@code complete} event with the sections that didn't make it.
+     */
+    public SseEmitter streamReport(String entry, Language sourceLang, User user, Set<ReportSection> sections) {
+        chargeTranslations(user, 1, sections);
+        // resolved on the request thread, the learner's user is lazily loaded
+        Language fluentLanguage = fluentLanguageOf(user, sourceLang);
+        return sseStreamer.streamEvents(analyzerProperties.getReport().getStreamTimeout(), sink -> {
+            ReportFanOut fanOut = reportFanOutEngine
+                    .start(new AnalysisDto(), sections)
+                    .onSection((section, partial) -> sink.send(section.name().toLowerCase(Locale.ROOT), partial));
+            AnalysisDto report = buildReport(entry, sourceLang, fluentLanguage, fanOut);
+            sink.send(REPORT_COMPLETE_EVENT, new ReportCompletionDto(report.getMissingSections()));
+        });
+    }
+
+    private AnalysisDto buildReport(String entry, Language sourceLang, Language fluentLanguage, ReportFanOut fanOut) {
+        // frequency doesn't depend on NLP, so it starts right away
+        fanOut.fork(ReportSection.FREQUENCY, () -> getFrequency(entry, sourceLang), LanguageProcessor::applyFrequency);
+
+        NlpAnnotation annotation = needsNlp(fanOut, entry)
+                ? lexiconRegistry.annotate(sourceLang, entry).orElseGet(() -> coreNLPService.annotate(entry))
+                : null;
+        analyze(fanOut, entry, annotation, sourceLang, fluentLanguage);
+        return fanOut.join();
+    }
+
+    public SseEmitter streamReportEvents(
+            List<String> entries, Language sourceLang, User user, Set<ReportSection> sections) {
+        chargeTranslations(user, deduplicate(entries).size(), sections);
+        Language fluentLanguage = fluentLanguageOf(user, sourceLang);
+        return sseStreamer.<WordAnalysisDto>stream(
+                "report",
+                analyzerProperties.getReport().getStreamTimeout(),
+                sink -> streamReports(entries, sourceLang, fluentLanguage, sections, sink));
+    }
+
+    /**
+     * Analyzes a list of entries for one language pair. Duplicates are analyzed once, all entries share a single
+     * CoreNLP pass, and frequencies are fetched a group of entries per request. Each report is handed to
+     * {@code sink} as soon as it is ready, so the order is not the order of {@code entries}. An entry whose analysis
+     * fails is still reported, with the sections it couldn't resolve listed as missing.
+     */
+    public void streamReports(
+            List<String> entries,
+            Language sourceLang,
+            User user,
+            Set<ReportSection> sections,
+            Consumer<WordAnalysisDto> sink) {
+        chargeTranslations(user, deduplicate(entries).size(), sections);
+        streamReports(entries, sourceLang, fluentLanguageOf(user, sourceLang), sections, sink);
+    }
+
+    // a report translates its entry unless the client left translations out
+    private void chargeTranslations(User user, int entries, Set<ReportSection> sections) {
+        if (sections == null || sections.isEmpty() || sections.contains(ReportSection.TRANSLATIONS)) {
+            usageMeter.charge(user, PlanFeature.DAILY_DICTIONARY_LOOKUPS, entries);
+        }
+    }
+
+    private void streamReports(
+            List<String> entries,
+            Language sourceLang,
+            Language fluentLanguage,
+            Set<ReportSection> sections,
+            Consumer<WordAnalysisDto> sink) {
+        List<String> unique = deduplicate(entries);
+        if (unique.isEmpty()) {
+            return;
+        }
+        List<ReportFanOut> fanOuts = unique.stream()
+                .map(entry -> reportFanOutEngine.start(new AnalysisDto(), sections))
+                .toList();
+        Map<String, CompletableFuture<Double>> frequencies =
+                fanOuts.getFirst().wants(ReportSection.FREQUENCY) ? getFrequencies(unique, sourceLang) : Map.of();
+        List<NlpAnnotation> annotations = annotateAll(unique, fanOuts, sourceLang);
+
+        // every entry fans out to all providers, so only a few are analyzed at once
+        Semaphore permits = new Semaphore(analyzerProperties.getReport().getBatchConcurrency());
+        List<CompletableFuture<Void>> reports = new ArrayList<>(unique.size());
+        for (int i = 0; i < unique.size(); i++) {
+            String entry = unique.get(i);
+            ReportFanOut fanOut = fanOuts.get(i);
+            NlpAnnotation annotation = annotations.get(i);
+            permits.acquireUninterruptibly();
+            reports.add(CompletableFuture.runAsync(
+                    () -> {
+                        try {
+                            AnalysisDto report = analyzeEntry(
+                                    fanOut, entry, annotation, frequencies.get(entry), sourceLang, fluentLanguage);
+                            sink.accept(new WordAnalysisDto(entry, report));
+                        } finally {
+                            permits.release();
+                        }
+                    },
+                    virtualThreadExecutor));
+        }
+        CompletableFuture.allOf(reports.toArray(CompletableFuture[]::new)).join();
+    }
 
-        Language fluentLanguage = learner.getUser().getFluentLangs().iterator().next();
+    // a failing entry is reported with what it got so far instead of failing the batch
+    private AnalysisDto analyzeEntry(
+            ReportFanOut fanOut,
+            String entry,
+            NlpAnnotation annotation,
+            CompletableFuture<Double> frequency,
+            Language sourceLang,
+            Language fluentLanguage) {
+        try {
+            fanOut.fork(ReportSection.FREQUENCY, () -> frequency.join(), LanguageProcessor::applyFrequency);
+            analyze(fanOut, entry, annotation, sourceLang, fluentLanguage);
+            return fanOut.join();
+        } catch (RuntimeException e) {
+            log.warn("Report for '{}' failed, returning it partially", entry, e);
+            return fanOut.joinFailed();
+        }
+    }
 
-        List<POS> posTags = coreNLPService.posTagging(entry);
-        analysisDto.setPosTags(posTags.stream().map(POS::toString).toArray(String[]::new));
-        Double freq = getFrequency(entry, sourceLang);
-        if (freq != null) {
-            analysisDto.setFrequency(calculateRelativeFrequency(freq));
+    /**
+     * Lemmas and POS tags decide which relations are looked up, and whether a two-token entry is a "to + verb".
+     * A single token is translated and checked for homophones as is, so it only needs NLP for the other sections.
+     */
+    private static boolean needsNlp(ReportFanOut fanOut, String entry) {
+        if (fanOut.wants(ReportSection.LEMMAS)
+                || fanOut.wants(ReportSection.POS_TAGS)
+                || fanOut.wants(ReportSection.NOUNS)
+                || fanOut.wants(ReportSection.ADJECTIVES)) {
+            return true;
         }
+        boolean wantsLookups = fanOut.wants(ReportSection.TRANSLATIONS) || fanOut.wants(ReportSection.HOMOPHONES);
+        return wantsLookups && entry.strip().chars().anyMatch(Character::isWhitespace);
+    }
 
-        if (lemmas.size() != posTags.size()) {
-            log.error("Lemmas don't correspond with POS tags");
+    private void analyze(
+            ReportFanOut fanOut, String entry, NlpAnnotation annotation, Language sourceLang, Language fluentLanguage) {
+        if (annotation == null) {
+            forkLookups(fanOut, entry, sourceLang, fluentLanguage);
+            return;
         }
+        List<String> lemmas = annotation.lemmas();
+        List<POS> posTags = annotation.posTags();
+        fanOut.apply(ReportSection.LEMMAS, dto -> dto.setLemmas(lemmas.toArray(String[]::new)));
+        fanOut.apply(
+                ReportSection.POS_TAGS,
+                dto -> dto.setPosTags(posTags.stream().map(POS::toString).toArray(String[]::new)));
+
         if (lemmas.size() == 1) {
             log.info("one lemma analysis");
-            singleWordAnalysis(analysisDto, entry, posTags, lemmas, sourceLang, fluentLanguage);
+            singleWordAnalysis(fanOut, entry, posTags, sourceLang, fluentLanguage);
         } else if (lemmas.size() == 2) {
             // TO VERB case
             if (posTags.get(0).equals(POS.TO) && posTags.get(1).equals(POS.VERB)) {
-                entry = lemmas.get(1);
-                singleWordAnalysis(analysisDto, entry, posTags, lemmas, sourceLang, fluentLanguage);
+                singleWordAnalysis(fanOut, lemmas.get(1), posTags, sourceLang, fluentLanguage);
+            }
+        }
+    }
+
+    private List<NlpAnnotation> annotateAll(List<String> entries, List<ReportFanOut> fanOuts, Language language) {
+        NlpAnnotation[] annotations = new NlpAnnotation[entries.size()];
+        List<Integer> unresolved = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (!needsNlp(fanOuts.get(i), entries.get(i))) {
+                continue;
+            }
+            annotations[i] = lexiconRegistry.annotate(language, entries.get(i)).orElse(null);
+            if (annotations[i] == null) {
+                unresolved.add(i);
+            }
+        }
+        if (!unresolved.isEmpty()) {
+            List<NlpAnnotation> annotated = coreNLPService.annotateAll(
+                    unresolved.stream().map(entries::get).toList());
+            for (int i = 0; i < unresolved.size(); i++) {
+                annotations[unresolved.get(i)] = annotated.get(i);
+            }
+        }
+        return Arrays.asList(annotations);
+    }
+
+    private Language fluentLanguageOf(User user, Language sourceLang) {
+        Learner learner = learnerFinder.findLearner(user, sourceLang);
+        return learner.getUser().getFluentLangs().iterator().next();
+    }
+
+    private Map<String, CompletableFuture<Double>> getFrequencies(List<String> entries, Language language) {
+        Map<String, CompletableFuture<Double>> frequencies = new HashMap<>();
+        List<String> groupable = new ArrayList<>();
+        for (String entry : entries) {
+            if (entry.contains(GoogleClient.SEPARATOR)) {
+                frequencies.put(
+                        entry,
+                        CompletableFuture.supplyAsync(() -> getFrequency(entry, language), virtualThreadExecutor));
+            } else {
+                groupable.add(entry);
+            }
+        }
+        for (List<String> group : Lists.partition(groupable, FREQUENCY_GROUP_SIZE)) {
+            CompletableFuture<Map<String, Double>> groupFrequencies =
+                    CompletableFuture.supplyAsync(() -> getGroupFrequencies(group, language), virtualThreadExecutor);
+            for (String entry : group) {
+                frequencies.put(entry, groupFrequencies.thenApply(found -> found.get(entry.toLowerCase(Locale.ROOT))));
             }
         }
-        return analysisDto;
+        return frequencies;
+    }
+
+    private Map<String, Double> getGroupFrequencies(List<String> group, Language language) {
+        Map<String, Double> frequencies = new HashMap<>();
+        for (GoogleDto dto :
+                Objects.requireNonNull(googleClient.getAll(group, language).getBody())) {
+            String ngram = dto.getNgram().replace(AGGREGATED_NGRAM_SUFFIX, "").toLowerCase(Locale.ROOT);
+            double value = Double.parseDouble(dto.getTimeseries()[0]);
+            // the case-insensitive aggregate comes first, don't let case variants overwrite it
+            frequencies.putIfAbsent(ngram, value);
+        }
+        return frequencies;
+    }
+
+    private static List<String> deduplicate(List<String> entries) {
+        Map<String, String> unique = new LinkedHashMap<>();
+        for (String entry : entries) {
+            String stripped = entry.strip();
+            unique.putIfAbsent(stripped.toLowerCase(Locale.ROOT), stripped);
+        }
+        return List.copyOf(unique.values());
+    }
+
+    private static void applyFrequency(AnalysisDto dto, Double frequency) {
+        if (frequency != null) {
+            dto.setFrequency(calculateRelativeFrequency(frequency));
+        }
     }
 
     public WordsReportDto getRandom() {
-        return wordsClient.getRandomWord().getBody();
+        return randomWordBuffer.next();
     }
 
     public String getBaseAdjectiveForComparative(String adj) {
@@ -219,8 +445,12 @@ public class LanguageProcessor {
         throw new NotImplementedException("not yet");
     }
 
-    public ByteString textToSpeech(String code, String text) {
-        return googleService.textToSpeech(code, text);
+    public SpeechAudio textToSpeech(String code, String text, User user) {
+        // cached audio costs nothing, so only synthesis counts
+        return speechAudioCache.get(code, GoogleTranslationServiceImpl.VOICE, text, () -> {
+            usageMeter.charge(user, PlanFeature.DAILY_SPEECH_CHARACTERS, text.length());
+            return googleService.textToSpeech(code, text).toByteArray();
+        });
     }
 
     private static double calculateRelativeFrequency(double frequency) {
@@ -0,0 +1,129 @@
+package com.almonium.analyzer.analyzer.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.analyzer.dto.response.AnalysisDto;
+import com.almonium.analyzer.analyzer.model.enums.ReportSection;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A single report being assembled. Lookups are forked immediately, their results are applied to the
+ * {@link AnalysisDto} on the calling thread in {@link #join()}, so the DTO itself is never shared between threads.
+ * Sections the client didn't ask for are never forked.
+ *
+ * <p>A listener registered with {@link #onSection} additionally gets every section as soon as it resolves, as an
+ * {@link AnalysisDto} of its own holding just that section, which is what progressive delivery streams. By the time
+ * {@link #join()} returns, the listener has been handed every section that resolved.
+ */
+@Slf4j
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class ReportFanOut {
+    ReportFanOutEngine engine;
+    AnalysisDto analysisDto;
+    Set<ReportSection> sections;
+    List<PendingSection<?>> pending = new ArrayList<>();
+    Set<ReportSection> started = EnumSet.noneOf(ReportSection.class);
+
+    @NonFinal
+    BiConsumer<ReportSection, AnalysisDto> listener;
+
+    ReportFanOut(ReportFanOutEngine engine, AnalysisDto analysisDto, Set<ReportSection> sections) {
+        this.engine = engine;
+        this.analysisDto = analysisDto;
+        this.sections = sections;
+    }
+
+    public ReportFanOut onSection(BiConsumer<ReportSection, AnalysisDto> listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public boolean wants(ReportSection section) {
+        return sections.contains(section);
+    }
+
+    public <T> void fork(ReportSection section, Supplier<T> lookup, BiConsumer<AnalysisDto, T> apply) {
+        if (!wants(section)) {
+            return;
+        }
+        started.add(section);
+        CompletableFuture<T> future = engine.submit(section, lookup);
+        CompletableFuture<Void> delivered = CompletableFuture.completedFuture(null);
+        if (listener != null) {
+            BiConsumer<ReportSection, AnalysisDto> sectionListener = listener;
+            delivered = future.thenAccept(result -> sectionListener.accept(section, partial(apply, result)));
+        }
+        pending.add(new PendingSection<>(section, future, delivered, apply));
+    }
+
+    public void apply(ReportSection section, Consumer<AnalysisDto> localResult) {
+        if (!wants(section)) {
+            return;
+        }
+        started.add(section);
+        localResult.accept(analysisDto);
+        if (listener != null) {
+            AnalysisDto partial = new AnalysisDto();
+            localResult.accept(partial);
+            listener.accept(section, partial);
+        }
+    }
+
+    public AnalysisDto join() {
+        for (PendingSection<?> section : pending) {
+            section.applyTo(analysisDto);
+        }
+        pending.clear();
+        return analysisDto;
+    }
+
+    /**
+     * Joins what was forked before the report's assembly failed, listing every requested section that never started
+     * as missing.
+     */
+    public AnalysisDto joinFailed() {
+        join();
+        for (ReportSection section : sections) {
+            if (!started.contains(section)) {
+                analysisDto.getMissingSections().add(section);
+            }
+        }
+        return analysisDto;
+    }
+
+    private static <T> AnalysisDto partial(BiConsumer<AnalysisDto, T> apply, T result) {
+        AnalysisDto partial = new AnalysisDto();
+        apply.accept(partial, result);
+        return partial;
+    }
+
+    private record PendingSection<T>(
+            ReportSection section,
+            CompletableFuture<T> future,
+            CompletableFuture<Void> delivered,
+            BiConsumer<AnalysisDto, T> apply) {
+
+        void applyTo(AnalysisDto dto) {
+            try {
+                apply.accept(dto, future.join());
+            } catch (CompletionException e) {
+                log.warn("Report section {} is missing: {}", section, ReportFanOutEngine.outcomeOf(e));
+                log.debug("Report section {} failed", section, e.getCause());
+                dto.getMissingSections().add(section);
+            }
+            // the listener runs after the lookup completes, it must be done before the report is
+            delivered.exceptionally(e -> null).join();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.almonium.analyzer.analyzer.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.analyzer.dto.response.AnalysisDto;
+import com.almonium.analyzer.analyzer.model.enums.ReportSection;
+import com.almonium.config.properties.AnalyzerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the independent lookups of a word report concurrently on virtual threads.
+ * Every section gets its own deadline; sections that miss it are reported as missing instead of failing the report.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class ReportFanOutEngine {
+    static final String SECTION_TIMER = "analyzer.report.section";
+    static final String SKIPPED_COUNTER = "analyzer.report.section.skipped";
+    static final String OUTCOME_SUCCESS = "success";
+    static final String OUTCOME_TIMEOUT = "timeout";
+    static final String OUTCOME_ERROR = "error";
+
+    ExecutorService virtualThreadExecutor;
+    AnalyzerProperties analyzerProperties;
+    MeterRegistry meterRegistry;
+
+    public ReportFanOut start(AnalysisDto analysisDto) {
+        return start(analysisDto, EnumSet.allOf(ReportSection.class));
+    }
+
+    public ReportFanOut start(AnalysisDto analysisDto, Set<ReportSection> sections) {
+        if (sections == null || sections.isEmpty()) {
+            return new ReportFanOut(this, analysisDto, EnumSet.allOf(ReportSection.class));
+        }
+        EnumSet<ReportSection> requested = EnumSet.copyOf(sections);
+        // counted up front, whether or not the report would have reached the section
+        for (ReportSection section : EnumSet.complementOf(requested)) {
+            meterRegistry.counter(SKIPPED_COUNTER, "section", section.name()).increment();
+        }
+        return new ReportFanOut(this, analysisDto, requested);
+    }
+
+    <T> CompletableFuture<T> submit(ReportSection section, Supplier<T> lookup) {
+        Duration timeout = analyzerProperties.getReport().timeoutOf(section);
+        long startedAt = System.nanoTime();
+
+        return CompletableFuture.supplyAsync(lookup, virtualThreadExecutor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((result, ex) -> record(section, outcomeOf(ex), System.nanoTime() - startedAt));
+    }
+
+    void record(ReportSection section, String outcome, long elapsedNanos) {
+        Timer.builder(SECTION_TIMER)
+                .tag("section", section.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    static String outcomeOf(Throwable ex) {
+        if (ex == null) {
+            return OUTCOME_SUCCESS;
+        }
+        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+        return cause instanceof TimeoutException ? OUTCOME_TIMEOUT : OUTCOME_ERROR;
+    }
+}
@@ -2,12 +2,19 @@ package com.almonium.analyzer.client;
 
 import static lombok.AccessLevel.PRIVATE;
 
+import com.almonium.analyzer.client.cache.ProviderResponseCache;
+import com.almonium.infra.http.ProviderHttpTransport;
 import com.almonium.util.GeneralUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -18,8 +25,39 @@ import org.springframework.web.client.RestTemplate;
 
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 public abstract class AbstractClient {
-    RestTemplate restTemplate = new RestTemplate();
     ObjectMapper objectMapper = new ObjectMapper();
+    ApiProvider provider;
+    RestTemplate restTemplate;
+
+    @NonFinal
+    ProviderResponseCache providerResponseCache;
+
+    protected AbstractClient(ProviderHttpTransport httpTransport, ApiProvider provider) {
+        this.provider = provider;
+        this.restTemplate = httpTransport.restTemplate(provider);
+    }
+
+    @Autowired
+    public void setProviderResponseCache(ProviderResponseCache providerResponseCache) {
+        this.providerResponseCache = providerResponseCache;
+    }
+
+    protected ApiProvider provider() {
+        return provider;
+    }
+
+    protected RestTemplate restTemplate() {
+        return restTemplate;
+    }
+
+    protected <T> ResponseEntity<T> cached(
+            String operation, String input, TypeReference<T> bodyType, Supplier<ResponseEntity<T>> call) {
+        if (providerResponseCache == null) {
+            return call.get();
+        }
+        JavaType javaType = objectMapper.getTypeFactory().constructType(bodyType);
+        return providerResponseCache.get(provider(), operation, input, javaType, call);
+    }
 
     protected <T> ResponseEntity<List<T>> requestList(String url, Map<String, String> params, Class<T> clazz) {
         HttpHeaders headers = new HttpHeaders();
@@ -0,0 +1,17 @@
+package com.almonium.analyzer.client;
+
+public enum ApiProvider {
+    DATAMUSE,
+    FREE_DICTIONARY,
+    GEMINI,
+    GOOGLE_BOOKS,
+    GOOGLE_TRANSLATE,
+    GOOGLE_TTS,
+    NGRAMS,
+    OPENAI,
+    URBAN,
+    WORDNIK,
+    WORDS,
+    YANDEX,
+    ZEPTOMAIL
+}
@@ -0,0 +1,230 @@
+package com.almonium.analyzer.client.cache;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.analyzer.client.cache.model.entity.CachedProviderResponse;
+import com.almonium.analyzer.client.cache.repository.CachedProviderResponseRepository;
+import com.almonium.config.properties.ExternalApiProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Caches provider responses in two tiers: a size-bounded in-heap cache per provider and, optionally,
+ * the {@code provider_response_cache} table, which survives restarts and is shared by all nodes.
+ * Negative results (404s and empty bodies) are cached too, with the shorter {@code negative-ttl}.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class ProviderResponseCache {
+    static final String LOOKUP_COUNTER = "analyzer.provider.cache";
+    static final String EVICTION_COUNTER = "analyzer.provider.cache.evictions";
+    static final String TIER_MEMORY = "memory";
+    static final String TIER_DATABASE = "database";
+    private static final int MAX_KEY_LENGTH = 512;
+
+    ExternalApiProperties.Cache properties;
+    CachedProviderResponseRepository repository;
+    ObjectMapper objectMapper;
+    SingleFlight singleFlight;
+    MeterRegistry meterRegistry;
+    Clock clock;
+    Map<ApiProvider, Cache<String, Entry>> memory = new EnumMap<>(ApiProvider.class);
+
+    @Autowired
+    public ProviderResponseCache(
+            ExternalApiProperties externalApiProperties,
+            CachedProviderResponseRepository repository,
+            ObjectMapper objectMapper,
+            SingleFlight singleFlight,
+            MeterRegistry meterRegistry) {
+        this(
+                externalApiProperties.getCache(),
+                repository,
+                objectMapper,
+                singleFlight,
+                meterRegistry,
+                Clock.systemUTC());
+    }
+
+    ProviderResponseCache(
+            ExternalApiProperties.Cache properties,
+            CachedProviderResponseRepository repository,
+            ObjectMapper objectMapper,
+            SingleFlight singleFlight,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.properties = properties;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.singleFlight = singleFlight;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        for (ApiProvider provider : ApiProvider.values()) {
+            memory.put(provider, buildMemoryTier(provider));
+        }
+    }
+
+    /**
+     * Returns the cached response of {@code provider} for {@code operation} on {@code input},
+     * calling {@code loader} and caching its result on a miss.
+     * A cached 404 is rethrown as the {@link HttpClientErrorException} the provider call would have thrown.
+     * Concurrent misses for the same key share one database read and one provider call.
+     */
+    public <T> ResponseEntity<T> get(
+            ApiProvider provider,
+            String operation,
+            String input,
+            JavaType bodyType,
+            Supplier<ResponseEntity<T>> loader) {
+        String key = keyOf(provider, operation, input);
+
+        Entry entry = fromMemory(provider, key);
+        if (entry == null) {
+            entry = singleFlight.execute(
+                    provider, operation, input, () -> loadMissing(provider, key, bodyType, loader));
+        }
+        return toResponse(entry);
+    }
+
+    private <T> Entry loadMissing(
+            ApiProvider provider, String key, JavaType bodyType, Supplier<ResponseEntity<T>> loader) {
+        Entry entry = fromDatabase(provider, key, bodyType);
+        return entry != null ? entry : load(provider, key, loader);
+    }
+
+    private Entry fromMemory(ApiProvider provider, String key) {
+        Entry entry = memory.get(provider).getIfPresent(key);
+        if (entry != null && entry.expiresAt().isBefore(clock.instant())) {
+            memory.get(provider).invalidate(key);
+            entry = null;
+        }
+        count(provider, TIER_MEMORY, entry != null);
+        return entry;
+    }
+
+    private Entry fromDatabase(ApiProvider provider, String key, JavaType bodyType) {
+        if (!properties.isPersistent()) {
+            return null;
+        }
+        Entry entry = null;
+        try {
+            Optional<CachedProviderResponse> stored = repository.findByCacheKeyAndExpiresAtAfter(key, clock.instant());
+            if (stored.isPresent()) {
+                CachedProviderResponse response = stored.get();
+                Object body = response.getBody() == null ? null : objectMapper.readValue(response.getBody(), bodyType);
+                entry = new Entry(response.getStatusCode(), body, response.getExpiresAt());
+                memory.get(provider).put(key, entry);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to read cached {} response {}", provider, key, e);
+        }
+        count(provider, TIER_DATABASE, entry != null);
+        return entry;
+    }
+
+    private <T> Entry load(ApiProvider provider, String key, Supplier<ResponseEntity<T>> loader) {
+        Entry entry;
+        try {
+            ResponseEntity<T> response = loader.get();
+            int status = response.getStatusCode().value();
+            T body = response.getBody();
+            entry = new Entry(status, body, expiresAt(provider, isNegative(status, body)));
+        } catch (HttpClientErrorException.NotFound e) {
+            entry = new Entry(HttpStatus.NOT_FOUND.value(), null, expiresAt(provider, true));
+        }
+        store(provider, key, entry);
+        return entry;
+    }
+
+    private void store(ApiProvider provider, String key, Entry entry) {
+        memory.get(provider).put(key, entry);
+        if (!properties.isPersistent()) {
+            return;
+        }
+        try {
+            String body = entry.body() == null ? null : objectMapper.writeValueAsString(entry.body());
+            repository.save(new CachedProviderResponse(
+                    key, provider, entry.status(), body, clock.instant(), entry.expiresAt()));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to persist {} response {}", provider, key, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> toResponse(Entry entry) {
+        if (entry.status() == HttpStatus.NOT_FOUND.value()) {
+            throw HttpClientErrorException.create(
+                    HttpStatus.NOT_FOUND, HttpStatus.NOT_FOUND.getReasonPhrase(), HttpHeaders.EMPTY, null, null);
+        }
+        return ResponseEntity.status(entry.status()).body((T) entry.body());
+    }
+
+    private Instant expiresAt(ApiProvider provider, boolean negative) {
+        Duration ttl = negative ? properties.getNegativeTtl() : properties.ttlOf(provider);
+        return clock.instant().plus(ttl);
+    }
+
+    private static boolean isNegative(int status, Object body) {
+        return status == HttpStatus.NOT_FOUND.value()
+                || body == null
+                || (body instanceof Collection<?> collection && collection.isEmpty());
+    }
+
+    static String keyOf(ApiProvider provider, String operation, String input) {
+        String key = provider.name() + ":" + operation + ":" + input.strip();
+        if (key.length() <= MAX_KEY_LENGTH) {
+            return key;
+        }
+        return provider.name() + ":" + operation + ":sha256:"
+                + Hashing.sha256().hashString(input.strip(), StandardCharsets.UTF_8);
+    }
+
+    private Cache<String, Entry> buildMemoryTier(ApiProvider provider) {
+        Counter evictions = Counter.builder(EVICTION_COUNTER)
+                .tag("provider", provider.name())
+                .register(meterRegistry);
+        return CacheBuilder.newBuilder()
+                .maximumSize(properties.getMaxSizePerProvider())
+                .expireAfterWrite(properties.ttlOf(provider))
+                .removalListener((RemovalNotification<String, Entry> notification) -> {
+                    if (notification.wasEvicted()) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    private void count(ApiProvider provider, String tier, boolean hit) {
+        meterRegistry
+                .counter(LOOKUP_COUNTER, "provider", provider.name(), "tier", tier, "result", hit ? "hit" : "miss")
+                .increment();
+    }
+
+    private record Entry(int status, Object body, Instant expiresAt) {}
+}
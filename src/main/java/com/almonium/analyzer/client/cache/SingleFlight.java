@@ -0,0 +1,114 @@
+package com.almonium.analyzer.client.cache;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.analyzer.client.exception.ApiIntegrationException;
+import com.almonium.config.properties.ExternalApiProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent identical provider lookups: the first caller for a (provider, operation, input) key runs the
+ * call, callers arriving while it's in flight wait for its result instead of making their own.
+ * Waiting is bounded by {@code external.api.coalescing.max-wait}. If the leading caller is interrupted, its
+ * followers don't inherit the cancellation, one of them takes over the call instead.
+ */
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class SingleFlight {
+    static final String COALESCED_COUNTER = "analyzer.provider.coalesced";
+
+    Duration maxWait;
+    MeterRegistry meterRegistry;
+    ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SingleFlight(ExternalApiProperties externalApiProperties, MeterRegistry meterRegistry) {
+        this(externalApiProperties.getCoalescing().getMaxWait(), meterRegistry);
+    }
+
+    SingleFlight(Duration maxWait, MeterRegistry meterRegistry) {
+        this.maxWait = maxWait;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T execute(ApiProvider provider, String operation, String input, Supplier<T> call) {
+        String key = provider.name() + ":" + operation + ":" + input.strip();
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            CompletableFuture<Object> flight = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                return lead(key, flight, call);
+            }
+            meterRegistry
+                    .counter(COALESCED_COUNTER, "provider", provider.name())
+                    .increment();
+            try {
+                return follow(provider, existing, deadline);
+            } catch (LeaderCancelledException e) {
+                // the leader gave up, race for the lead again
+            }
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private <T> T lead(String key, CompletableFuture<Object> flight, Supplier<T> call) {
+        try {
+            T result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(
+                    Thread.currentThread().isInterrupted() ? new CancellationException("Leader was interrupted") : e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T follow(ApiProvider provider, CompletableFuture<Object> flight, long deadline) {
+        try {
+            return (T) flight.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ApiIntegrationException(
+                    "Timed out after " + maxWait + " waiting for in-flight " + provider + " lookup");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiIntegrationException("Interrupted while waiting for in-flight " + provider + " lookup");
+        } catch (CancellationException e) {
+            throw new LeaderCancelledException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new ApiIntegrationException(provider + " lookup failed: " + cause.getMessage());
+        }
+    }
+
+    private static class LeaderCancelledException extends RuntimeException {
+        LeaderCancelledException() {
+            super(null, null, false, false);
+        }
+    }
+}
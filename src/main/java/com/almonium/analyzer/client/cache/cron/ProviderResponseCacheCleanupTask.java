@@ -0,0 +1,27 @@
+package com.almonium.analyzer.client.cache.cron;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.client.cache.repository.CachedProviderResponseRepository;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class ProviderResponseCacheCleanupTask {
+    CachedProviderResponseRepository cachedProviderResponseRepository;
+
+    @Scheduled(cron = "0 30 * * * ?") // Runs every hour at half past
+    @Transactional
+    public void purgeExpiredResponses() {
+        int deleted = cachedProviderResponseRepository.deleteExpired(Instant.now());
+        log.debug("Purged {} expired provider responses", deleted);
+    }
+}
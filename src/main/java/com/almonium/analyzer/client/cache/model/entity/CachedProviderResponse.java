@@ -0,0 +1,36 @@
+package com.almonium.analyzer.client.cache.model.entity;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.client.ApiProvider;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "provider_response_cache")
+@FieldDefaults(level = PRIVATE)
+public class CachedProviderResponse {
+    @Id
+    String cacheKey;
+
+    @Enumerated(EnumType.STRING)
+    ApiProvider provider;
+
+    int statusCode;
+    String body;
+    Instant createdAt;
+    Instant expiresAt;
+}
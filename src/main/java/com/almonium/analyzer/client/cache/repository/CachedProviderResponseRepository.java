@@ -0,0 +1,17 @@
+package com.almonium.analyzer.client.cache.repository;
+
+import com.almonium.analyzer.client.cache.model.entity.CachedProviderResponse;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CachedProviderResponseRepository extends JpaRepository<CachedProviderResponse, String> {
+    Optional<CachedProviderResponse> findByCacheKeyAndExpiresAtAfter(String cacheKey, Instant now);
+
+    @Modifying
+    @Query("DELETE FROM CachedProviderResponse r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
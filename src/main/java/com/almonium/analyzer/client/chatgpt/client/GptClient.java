@@ -2,10 +2,17 @@ package com.almonium.analyzer.client.chatgpt.client;
 
 import com.almonium.analyzer.client.chatgpt.dto.request.GptRequest;
 import com.almonium.analyzer.client.chatgpt.dto.response.GptResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.service.annotation.PostExchange;
+import reactor.core.publisher.Flux;
 
 public interface GptClient {
     @PostExchange
     GptResponse chat(@RequestBody GptRequest request);
+
+    // raw data, the stream ends with a non-JSON [DONE] event
+    @PostExchange(accept = MediaType.TEXT_EVENT_STREAM_VALUE)
+    Flux<ServerSentEvent<String>> chatStream(@RequestBody GptRequest request);
 }
@@ -1,12 +1,18 @@
 package com.almonium.analyzer.client.chatgpt.controller;
 
-import com.almonium.analyzer.client.chatgpt.service.GptService;
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.analyzer.client.llm.LlmGateway;
+import com.almonium.infra.sse.SseStreamer;
 import io.swagger.v3.oas.annotations.Hidden;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 
 // TODO integrate
 @Hidden
@@ -14,10 +20,26 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping
 @RequiredArgsConstructor
 public class ChatController {
-    private final GptService gptService;
+    private static final String TOKEN_EVENT = "token";
+
+    private final LlmGateway llmGateway;
 
     @PostMapping("/public/chat")
     public String chat(@RequestBody String prompt) {
-        return gptService.getChatResponse(prompt);
+        return llmGateway.complete(ApiProvider.OPENAI, prompt);
+    }
+
+    /**
+     * Streams the answer as {@code token} events followed by a {@code done} event. The response is written as tokens
+     * arrive from the provider, without a thread waiting on either side.
+     */
+    @PostMapping(value = "/public/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamChat(
+            @RequestBody String prompt, @RequestParam(defaultValue = "OPENAI") ApiProvider provider) {
+        return llmGateway.stream(provider, prompt)
+                .map(token -> ServerSentEvent.builder(token).event(TOKEN_EVENT).build())
+                .concatWithValues(ServerSentEvent.builder("")
+                        .event(SseStreamer.DONE_EVENT)
+                        .build());
     }
 }
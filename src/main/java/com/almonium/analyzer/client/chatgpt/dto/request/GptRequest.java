@@ -1,14 +1,51 @@
 package com.almonium.analyzer.client.chatgpt.dto.request;
 
 import com.almonium.analyzer.client.chatgpt.dto.common.Message;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 
-public record GptRequest(String model, List<Message> messages, int n, double temperature) {
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GptRequest(
+        String model,
+        List<Message> messages,
+        int n,
+        double temperature,
+        @JsonProperty("response_format") ResponseFormat responseFormat,
+        Boolean stream,
+        @JsonProperty("stream_options") StreamOptions streamOptions) {
     private static final int DEFAULT_NUMBER_OF_RESPONSES = 1;
     private static final double DEFAULT_TEMPERATURE = 1.0;
     private static final String DEFAULT_ROLE = "user";
 
     public GptRequest(String model, String prompt) {
-        this(model, List.of(new Message(DEFAULT_ROLE, prompt)), DEFAULT_NUMBER_OF_RESPONSES, DEFAULT_TEMPERATURE);
+        this(model, prompt, null, null, null);
     }
+
+    private GptRequest(
+            String model, String prompt, ResponseFormat responseFormat, Boolean stream, StreamOptions streamOptions) {
+        this(
+                model,
+                List.of(new Message(DEFAULT_ROLE, prompt)),
+                DEFAULT_NUMBER_OF_RESPONSES,
+                DEFAULT_TEMPERATURE,
+                responseFormat,
+                stream,
+                streamOptions);
+    }
+
+    public static GptRequest json(String model, String prompt) {
+        return new GptRequest(model, prompt, new ResponseFormat("json_object"), null, null);
+    }
+
+    /**
+     * Asks for the answer as server-sent events of {@code GptStreamChunk}, with token usage in the last one.
+     */
+    public static GptRequest streaming(String model, String prompt) {
+        return new GptRequest(model, prompt, null, true, new StreamOptions(true));
+    }
+
+    public record ResponseFormat(String type) {}
+
+    public record StreamOptions(@JsonProperty("include_usage") boolean includeUsage) {}
 }
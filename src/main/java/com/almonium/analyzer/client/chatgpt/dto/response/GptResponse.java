@@ -1,8 +1,11 @@
 package com.almonium.analyzer.client.chatgpt.dto.response;
 
 import com.almonium.analyzer.client.chatgpt.dto.common.Message;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 
-public record GptResponse(List<Choice> choices) {
+public record GptResponse(List<Choice> choices, Usage usage) {
     public record Choice(int index, Message message) {}
+
+    public record Usage(@JsonProperty("total_tokens") int totalTokens) {}
 }
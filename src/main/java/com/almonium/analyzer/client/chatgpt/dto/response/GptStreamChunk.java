@@ -0,0 +1,17 @@
+package com.almonium.analyzer.client.chatgpt.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.List;
+
+/**
+ * One event of a streamed chat completion. Only the last chunk carries {@code usage}, and only when it was requested
+ * through {@code stream_options}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GptStreamChunk(List<Choice> choices, GptResponse.Usage usage) {
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Choice(int index, Delta delta) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Delta(String content) {}
+}
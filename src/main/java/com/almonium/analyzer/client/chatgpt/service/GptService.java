@@ -2,25 +2,84 @@ package com.almonium.analyzer.client.chatgpt.service;
 
 import static lombok.AccessLevel.PRIVATE;
 
+import com.almonium.analyzer.client.ApiProvider;
 import com.almonium.analyzer.client.chatgpt.client.GptClient;
 import com.almonium.analyzer.client.chatgpt.dto.request.GptRequest;
 import com.almonium.analyzer.client.chatgpt.dto.response.GptResponse;
+import com.almonium.analyzer.client.chatgpt.dto.response.GptStreamChunk;
+import com.almonium.analyzer.client.exception.ApiIntegrationException;
+import com.almonium.analyzer.client.usage.UsageMeter;
 import com.almonium.config.properties.AiProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 public class GptService {
+    private static final String STREAM_END = "[DONE]";
+
     GptClient gptClient;
+    UsageMeter usageMeter;
+    ObjectMapper objectMapper;
 
     AiProperties aiProperties;
 
     public String getChatResponse(String prompt) {
-        GptRequest gptRequest = new GptRequest(aiProperties.getGpt().getModel(), prompt);
+        return chat(new GptRequest(aiProperties.getGpt().getModel(), prompt));
+    }
+
+    /**
+     * Same as {@link #getChatResponse}, but the model is constrained to answer with a JSON object.
+     */
+    public String getJsonResponse(String prompt) {
+        return chat(GptRequest.json(aiProperties.getGpt().getModel(), prompt));
+    }
+
+    /**
+     * Streams the answer as it is generated, one piece of text per element. Nothing is sent before subscription.
+     */
+    public Flux<String> streamChatResponse(String prompt) {
+        return Flux.defer(() -> {
+                    usageMeter.ensureAvailable(ApiProvider.OPENAI);
+                    return gptClient.chatStream(
+                            GptRequest.streaming(aiProperties.getGpt().getModel(), prompt));
+                })
+                .mapNotNull(ServerSentEvent::data)
+                .takeWhile(data -> !STREAM_END.equals(data))
+                .map(this::parseChunk)
+                .doOnNext(chunk -> {
+                    if (chunk.usage() != null) {
+                        usageMeter.record(ApiProvider.OPENAI, chunk.usage().totalTokens());
+                    }
+                })
+                .flatMapIterable(chunk -> chunk.choices() == null ? List.of() : chunk.choices())
+                .mapNotNull(
+                        choice -> choice.delta() == null ? null : choice.delta().content())
+                .filter(content -> !content.isEmpty());
+    }
+
+    private GptStreamChunk parseChunk(String data) {
+        try {
+            return objectMapper.readValue(data, GptStreamChunk.class);
+        } catch (JsonProcessingException e) {
+            throw new ApiIntegrationException("Unexpected chat completion chunk: " + e.getOriginalMessage());
+        }
+    }
+
+    private String chat(GptRequest gptRequest) {
+        // tokens are only known from the response, so only an exhausted budget is checked upfront
+        usageMeter.ensureAvailable(ApiProvider.OPENAI);
         GptResponse gptResponse = gptClient.chat(gptRequest);
+        if (gptResponse.usage() != null) {
+            usageMeter.record(ApiProvider.OPENAI, gptResponse.usage().totalTokens());
+        }
 
         if (gptResponse.choices().isEmpty()) {
             return "No response";
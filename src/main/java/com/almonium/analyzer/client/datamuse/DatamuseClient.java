@@ -3,13 +3,15 @@ package com.almonium.analyzer.client.datamuse;
 import static lombok.AccessLevel.PRIVATE;
 
 import com.almonium.analyzer.client.AbstractClient;
+import com.almonium.analyzer.client.ApiProvider;
 import com.almonium.analyzer.client.Client;
 import com.almonium.analyzer.client.datamuse.dto.DatamuseEntryDto;
+import com.almonium.infra.http.ProviderHttpTransport;
 import com.almonium.util.GeneralUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import lombok.AllArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
@@ -18,10 +20,8 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 
 @Client
-@AllArgsConstructor
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 @Slf4j
 public class DatamuseClient extends AbstractClient {
@@ -45,7 +45,9 @@ public class DatamuseClient extends AbstractClient {
     static String METADATA = "md";
     static String IPA = "ipa";
 
-    RestTemplate restTemplate;
+    public DatamuseClient(ProviderHttpTransport httpTransport) {
+        super(httpTransport, ApiProvider.DATAMUSE);
+    }
 
     public ResponseEntity<List<DatamuseEntryDto>> getHomophones(String word) {
         return request(word, HOMOPHONES);
@@ -80,6 +82,10 @@ public class DatamuseClient extends AbstractClient {
     }
 
     public ResponseEntity<List<DatamuseEntryDto>> getWordReport(String entry) {
+        return cached(SPELLED_LIKE, entry, new TypeReference<>() {}, () -> requestReport(entry));
+    }
+
+    private ResponseEntity<List<DatamuseEntryDto>> requestReport(String entry) {
         HttpHeaders headers = new HttpHeaders();
         headers.set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
 
@@ -93,11 +99,20 @@ public class DatamuseClient extends AbstractClient {
         String urlTemplate =
                 GeneralUtils.queryBuilder(BASE_URL + ENDPOINT, List.of(SPELLED_LIKE, QUERY_ECHO, METADATA, IPA, MAX));
 
-        return restTemplate.exchange(
-                urlTemplate, HttpMethod.GET, new HttpEntity<>(headers), new ParameterizedTypeReference<>() {}, params);
+        return restTemplate()
+                .exchange(
+                        urlTemplate,
+                        HttpMethod.GET,
+                        new HttpEntity<>(headers),
+                        new ParameterizedTypeReference<>() {},
+                        params);
     }
 
     private ResponseEntity<List<DatamuseEntryDto>> request(String word, String parameter) {
+        return cached(parameter, word, new TypeReference<>() {}, () -> fetch(word, parameter));
+    }
+
+    private ResponseEntity<List<DatamuseEntryDto>> fetch(String word, String parameter) {
         HttpHeaders headers = new HttpHeaders();
         headers.set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
 
@@ -106,7 +121,12 @@ public class DatamuseClient extends AbstractClient {
         Map<String, String> params = new HashMap<>();
         params.put(parameter, word);
 
-        return restTemplate.exchange(
-                urlTemplate, HttpMethod.GET, new HttpEntity<>(headers), new ParameterizedTypeReference<>() {}, params);
+        return restTemplate()
+                .exchange(
+                        urlTemplate,
+                        HttpMethod.GET,
+                        new HttpEntity<>(headers),
+                        new ParameterizedTypeReference<>() {},
+                        params);
     }
 }
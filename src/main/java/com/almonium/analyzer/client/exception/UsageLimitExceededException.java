@@ -0,0 +1,14 @@
+package com.almonium.analyzer.client.exception;
+
+import java.time.Instant;
+import lombok.Getter;
+
+@Getter
+public class UsageLimitExceededException extends RuntimeException {
+    private final Instant resetAt;
+
+    public UsageLimitExceededException(String message, Instant resetAt) {
+        super(message);
+        this.resetAt = resetAt;
+    }
+}
@@ -3,10 +3,12 @@ package com.almonium.analyzer.client.freedictionary;
 import static lombok.AccessLevel.PRIVATE;
 
 import com.almonium.analyzer.client.AbstractClient;
+import com.almonium.analyzer.client.ApiProvider;
 import com.almonium.analyzer.client.Client;
 import com.almonium.analyzer.client.freedictionary.dto.FDEntry;
+import com.almonium.infra.http.ProviderHttpTransport;
+import com.fasterxml.jackson.core.type.TypeReference;
 import java.util.List;
-import lombok.AllArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
@@ -15,26 +17,32 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 
 @Client
-@AllArgsConstructor
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 @Slf4j
 public class FDClient extends AbstractClient {
     static String BASE_URL = "https://api.dictionaryapi.dev/api/v2";
     static String ENDPOINT = "/entries";
     static String LANG_CODE = "/en/";
-    RestTemplate restTemplate;
+
+    public FDClient(ProviderHttpTransport httpTransport) {
+        super(httpTransport, ApiProvider.FREE_DICTIONARY);
+    }
 
     public ResponseEntity<List<FDEntry>> request(String word) {
+        return cached(ENDPOINT, word, new TypeReference<>() {}, () -> fetch(word));
+    }
+
+    private ResponseEntity<List<FDEntry>> fetch(String word) {
         HttpHeaders headers = new HttpHeaders();
         headers.set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
 
-        return restTemplate.exchange(
-                BASE_URL + ENDPOINT + LANG_CODE + word,
-                HttpMethod.GET,
-                new HttpEntity<>(headers),
-                new ParameterizedTypeReference<>() {});
+        return restTemplate()
+                .exchange(
+                        BASE_URL + ENDPOINT + LANG_CODE + word,
+                        HttpMethod.GET,
+                        new HttpEntity<>(headers),
+                        new ParameterizedTypeReference<>() {});
     }
 }
@@ -2,10 +2,13 @@ package com.almonium.analyzer.client.gemini.client
 
 import com.almonium.analyzer.client.gemini.dto.request.GeminiRequestDto
 import com.almonium.analyzer.client.gemini.dto.response.GeminiResponseDto
+import org.springframework.http.MediaType
+import org.springframework.http.codec.ServerSentEvent
 import org.springframework.web.bind.annotation.PathVariable
 import org.springframework.web.bind.annotation.RequestBody
 import org.springframework.web.bind.annotation.RequestParam
 import org.springframework.web.service.annotation.PostExchange
+import reactor.core.publisher.Flux
 
 interface GeminiClient {
     @PostExchange("/{modelName}:generateContent")
@@ -14,4 +17,12 @@ interface GeminiClient {
         @RequestParam("key") apiKey: String,
         @RequestBody request: GeminiRequestDto,
     ): GeminiResponseDto
+
+    @PostExchange("/{modelName}:streamGenerateContent", accept = [MediaType.TEXT_EVENT_STREAM_VALUE])
+    fun streamGenerateContent(
+        @PathVariable("modelName") modelName: String,
+        @RequestParam("key") apiKey: String,
+        @RequestParam("alt") alt: String,
+        @RequestBody request: GeminiRequestDto,
+    ): Flux<ServerSentEvent<GeminiResponseDto>>
 }
@@ -2,14 +2,31 @@ package com.almonium.analyzer.client.gemini.dto.request
 
 import com.almonium.analyzer.client.gemini.dto.common.ContentDto
 import com.almonium.analyzer.client.gemini.dto.common.PartDto
+import com.fasterxml.jackson.annotation.JsonInclude
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 data class GeminiRequestDto(
     val contents: List<ContentDto>,
+    val generationConfig: GenerationConfigDto? = null,
 ) {
     companion object {
+        private const val JSON_MIME_TYPE = "application/json"
+
         @JvmStatic
         fun fromPrompt(prompt: String): GeminiRequestDto {
             return GeminiRequestDto(listOf(ContentDto(listOf(PartDto(prompt)))))
         }
+
+        @JvmStatic
+        fun jsonFromPrompt(prompt: String): GeminiRequestDto {
+            return GeminiRequestDto(
+                listOf(ContentDto(listOf(PartDto(prompt)))),
+                GenerationConfigDto(responseMimeType = JSON_MIME_TYPE),
+            )
+        }
     }
 }
+
+data class GenerationConfigDto(
+    val responseMimeType: String? = null,
+)
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties
 data class GeminiResponseDto(
     val candidates: List<CandidateDto>? = null,
     val promptFeedback: PromptFeedbackDto? = null,
+    val usageMetadata: UsageMetadataDto? = null,
 )
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -27,3 +28,8 @@ data class SafetyRatingDto(
 data class PromptFeedbackDto(
     val safetyRatings: List<SafetyRatingDto>? = null,
 )
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+data class UsageMetadataDto(
+    val totalTokenCount: Int? = null,
+)
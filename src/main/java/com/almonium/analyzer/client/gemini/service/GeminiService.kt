@@ -1,18 +1,53 @@
 package com.almonium.analyzer.client.gemini.service
 
+import com.almonium.analyzer.client.ApiProvider
 import com.almonium.analyzer.client.gemini.client.GeminiClient
 import com.almonium.analyzer.client.gemini.dto.request.GeminiRequestDto
+import com.almonium.analyzer.client.gemini.dto.response.GeminiResponseDto
+import com.almonium.analyzer.client.usage.UsageMeter
 import com.almonium.config.properties.AiProperties
 import org.springframework.stereotype.Service
+import reactor.core.publisher.Flux
+import java.util.concurrent.atomic.AtomicLong
 
 @Service
 class GeminiService(
     private val geminiClient: GeminiClient,
     private val aiProperties: AiProperties,
+    private val usageMeter: UsageMeter,
 ) {
-    fun getGeminiContent(prompt: String): String? {
+    fun getGeminiContent(prompt: String): String? = generate(GeminiRequestDto.fromPrompt(prompt))
+
+    /**
+     * Same as [getGeminiContent], but the model is constrained to answer with JSON.
+     */
+    fun getGeminiJsonContent(prompt: String): String? = generate(GeminiRequestDto.jsonFromPrompt(prompt))
+
+    /**
+     * Streams the answer as it is generated, one piece of text per element. Nothing is sent before subscription.
+     */
+    fun streamGeminiContent(prompt: String): Flux<String> =
+        Flux.defer {
+            usageMeter.ensureAvailable(ApiProvider.GEMINI)
+            val geminiProps = aiProperties.gemini
+            // every chunk carries the running token count, so only the last one is recorded
+            val totalTokens = AtomicLong()
+            geminiClient.streamGenerateContent(
+                modelName = geminiProps.model,
+                apiKey = geminiProps.key,
+                alt = SSE,
+                request = GeminiRequestDto.fromPrompt(prompt),
+            )
+                .mapNotNull<GeminiResponseDto> { it.data() }
+                .doOnNext { chunk -> chunk.usageMetadata?.totalTokenCount?.let { totalTokens.set(it.toLong()) } }
+                .doFinally { usageMeter.record(ApiProvider.GEMINI, totalTokens.get()) }
+                .mapNotNull<String> { it.candidates?.firstOrNull()?.content?.parts?.firstOrNull()?.text }
+                .filter { it.isNotEmpty() }
+        }
+
+    private fun generate(request: GeminiRequestDto): String? {
+        usageMeter.ensureAvailable(ApiProvider.GEMINI)
         val geminiProps = aiProperties.gemini
-        val request = GeminiRequestDto.fromPrompt(prompt)
 
         val response =
             geminiClient.generateContent(
@@ -20,7 +55,12 @@ class GeminiService(
                 apiKey = geminiProps.key,
                 request = request,
             )
+        response.usageMetadata?.totalTokenCount?.let { usageMeter.record(ApiProvider.GEMINI, it.toLong()) }
 
         return response.candidates?.firstOrNull()?.content?.parts?.firstOrNull()?.text
     }
+
+    companion object {
+        private const val SSE = "sse"
+    }
 }
@@ -3,18 +3,20 @@ package com.almonium.analyzer.client.google;
 import static lombok.AccessLevel.PRIVATE;
 
 import com.almonium.analyzer.client.AbstractClient;
+import com.almonium.analyzer.client.ApiProvider;
 import com.almonium.analyzer.client.Client;
 import com.almonium.analyzer.client.google.dto.GoogleDto;
 import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.infra.http.ProviderHttpTransport;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import lombok.AllArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 
 @Client
-@AllArgsConstructor
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 @Slf4j
 public class GoogleClient extends AbstractClient {
@@ -28,6 +30,7 @@ public class GoogleClient extends AbstractClient {
     static String AME_CORPUS = "en-US-2019";
     static String BRE_CORPUS = "en-GB-2019";
     static String VERB_SUFFIX = "_INF";
+    public static final String SEPARATOR = ",";
     static int SMOOTHING_VALUE = 0;
     static int START_YEAR_VALUE = 2018;
     static int END_YEAR_VALUE = 2019;
@@ -39,7 +42,23 @@ public class GoogleClient extends AbstractClient {
             Language.ES, "es-2019",
             Language.RU, "ru-2019");
 
+    public GoogleClient(ProviderHttpTransport httpTransport) {
+        super(httpTransport, ApiProvider.GOOGLE_BOOKS);
+    }
+
     public ResponseEntity<List<GoogleDto>> get(String entry, Language language) {
+        return request(entry, language);
+    }
+
+    /**
+     * Looks up several entries in one request; the viewer accepts a comma-separated list and answers with
+     * one series per entry, identified by {@link GoogleDto#getNgram()}.
+     */
+    public ResponseEntity<List<GoogleDto>> getAll(Collection<String> entries, Language language) {
+        return request(String.join(SEPARATOR, entries), language);
+    }
+
+    private ResponseEntity<List<GoogleDto>> request(String entry, Language language) {
         Map<String, String> params = Map.of(
                 CONTENT, entry,
                 CORPUS, languageMap.get(language),
@@ -47,6 +66,10 @@ public class GoogleClient extends AbstractClient {
                 END_YEAR, String.valueOf(END_YEAR_VALUE),
                 SMOOTHING, String.valueOf(SMOOTHING_VALUE),
                 CASE_INSENSITIVE, String.valueOf(IS_CASE_INSENSITIVE));
-        return super.requestList(URL, params, GoogleDto.class);
+        return cached(
+                languageMap.get(language),
+                entry,
+                new TypeReference<>() {},
+                () -> super.requestList(URL, params, GoogleDto.class));
     }
 }
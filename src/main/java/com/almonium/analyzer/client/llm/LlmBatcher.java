@@ -0,0 +1,184 @@
+package com.almonium.analyzer.client.llm;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects small generation tasks for one model and sends them as a single prompt, asking for a JSON object whose
+ * {@code answers} array holds one answer per task, in order. A batch goes out when it is full or when its first task
+ * has waited {@code maxDelay}. If the model's answer can't be split back, every task of the batch is retried on its
+ * own, so callers only ever see the failure of their own task.
+ */
+@Slf4j
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+class LlmBatcher {
+    static final String ANSWERS = "answers";
+
+    int maxBatchSize;
+    Duration maxDelay;
+    UnaryOperator<String> batchCall;
+    UnaryOperator<String> singleCall;
+    ExecutorService virtualThreadExecutor;
+    ObjectMapper objectMapper;
+    BatchListener listener;
+    ReentrantLock lock = new ReentrantLock();
+
+    @NonFinal
+    List<PendingTask> pending = new ArrayList<>();
+
+    LlmBatcher(
+            int maxBatchSize,
+            Duration maxDelay,
+            UnaryOperator<String> batchCall,
+            UnaryOperator<String> singleCall,
+            ExecutorService virtualThreadExecutor,
+            ObjectMapper objectMapper,
+            BatchListener listener) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.batchCall = batchCall;
+        this.singleCall = singleCall;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.objectMapper = objectMapper;
+        this.listener = listener;
+    }
+
+    CompletableFuture<String> submit(String task) {
+        PendingTask pendingTask = new PendingTask(task, new CompletableFuture<>());
+        List<PendingTask> batch;
+        boolean full;
+        lock.lock();
+        try {
+            batch = pending;
+            batch.add(pendingTask);
+            full = batch.size() >= maxBatchSize;
+            if (full) {
+                pending = new ArrayList<>();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (full) {
+            virtualThreadExecutor.execute(() -> flush(batch));
+        } else if (batch.size() == 1) {
+            CompletableFuture.delayedExecutor(maxDelay.toNanos(), TimeUnit.NANOSECONDS, virtualThreadExecutor)
+                    .execute(() -> flushIfPending(batch));
+        }
+        return pendingTask.result();
+    }
+
+    private void flushIfPending(List<PendingTask> batch) {
+        lock.lock();
+        try {
+            // the batch may have filled up and gone out already
+            if (pending != batch) {
+                return;
+            }
+            pending = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        flush(batch);
+    }
+
+    private void flush(List<PendingTask> batch) {
+        listener.onBatch(batch.size());
+        if (batch.size() == 1) {
+            runAlone(batch.getFirst());
+            return;
+        }
+
+        String answer;
+        try {
+            answer = batchCall.apply(promptOf(batch));
+        } catch (RuntimeException e) {
+            batch.forEach(task -> task.result().completeExceptionally(e));
+            return;
+        }
+
+        List<String> answers = split(answer, batch.size());
+        if (answers == null) {
+            listener.onSplitFailure(batch.size());
+            batch.forEach(task -> virtualThreadExecutor.execute(() -> runAlone(task)));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(answers.get(i));
+        }
+    }
+
+    private void runAlone(PendingTask task) {
+        try {
+            task.result().complete(singleCall.apply(task.task()));
+        } catch (RuntimeException e) {
+            task.result().completeExceptionally(e);
+        }
+    }
+
+    String promptOf(List<PendingTask> batch) {
+        List<String> tasks = batch.stream().map(PendingTask::task).toList();
+        try {
+            return "Complete each of the following " + tasks.size() + " tasks independently of the others.\n"
+                    + "Respond with a JSON object with a single field \"" + ANSWERS + "\": an array of exactly "
+                    + tasks.size() + " strings, the answer to the i-th task at position i.\n"
+                    + "Tasks: " + objectMapper.writeValueAsString(tasks);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize LLM tasks", e);
+        }
+    }
+
+    /**
+     * Returns the answers, or {@code null} if the model didn't stick to the requested shape.
+     */
+    List<String> split(String answer, int expected) {
+        if (answer == null) {
+            return null;
+        }
+        try {
+            JsonNode answers = objectMapper.readTree(stripCodeFence(answer)).path(ANSWERS);
+            if (!answers.isArray() || answers.size() != expected) {
+                log.warn("LLM answered {} items for a batch of {}", answers.size(), expected);
+                return null;
+            }
+            List<String> result = new ArrayList<>(expected);
+            answers.forEach(item -> result.add(item.isTextual() ? item.textValue() : item.toString()));
+            return result;
+        } catch (JsonProcessingException e) {
+            log.warn("LLM batch answer is not valid JSON: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static String stripCodeFence(String answer) {
+        String stripped = answer.strip();
+        if (!stripped.startsWith("```")) {
+            return stripped;
+        }
+        int start = stripped.indexOf('\n');
+        int end = stripped.lastIndexOf("```");
+        return start < 0 || end <= start ? stripped : stripped.substring(start + 1, end);
+    }
+
+    record PendingTask(String task, CompletableFuture<String> result) {}
+
+    interface BatchListener {
+        void onBatch(int size);
+
+        void onSplitFailure(int size);
+    }
+}
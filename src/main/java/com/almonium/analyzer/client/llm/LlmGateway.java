@@ -0,0 +1,191 @@
+package com.almonium.analyzer.client.llm;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.analyzer.client.cache.ProviderResponseCache;
+import com.almonium.analyzer.client.chatgpt.service.GptService;
+import com.almonium.analyzer.client.exception.ApiIntegrationException;
+import com.almonium.analyzer.client.gemini.service.GeminiService;
+import com.almonium.config.properties.AiProperties;
+import com.almonium.config.properties.LlmGatewayProperties;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Single entry point to the LLM providers. Answers are cached by model and normalized prompt in the
+ * {@link ProviderResponseCache}, which also makes identical concurrent prompts share one call.
+ * {@link #generate} additionally micro-batches small tasks into one prompt per model (see {@link LlmBatcher}), while
+ * {@link #stream} bypasses both for answers a user watches being written.
+ */
+@Service
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class LlmGateway {
+    static final String BATCH_SIZE = "analyzer.llm.batch.size";
+    static final String SPLIT_FAILURE_COUNTER = "analyzer.llm.batch.split.failed";
+    static final String TIME_TO_FIRST_TOKEN = "analyzer.llm.ttft";
+    private static final String COMPLETE = "complete:";
+    private static final String GENERATE = "generate:";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    GptService gptService;
+    GeminiService geminiService;
+    ProviderResponseCache providerResponseCache;
+    AiProperties aiProperties;
+    MeterRegistry meterRegistry;
+    JavaType answerType;
+    Map<ApiProvider, LlmBatcher> batchers = new EnumMap<>(ApiProvider.class);
+
+    public LlmGateway(
+            GptService gptService,
+            GeminiService geminiService,
+            ProviderResponseCache providerResponseCache,
+            AiProperties aiProperties,
+            ExecutorService virtualThreadExecutor,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.gptService = gptService;
+        this.geminiService = geminiService;
+        this.providerResponseCache = providerResponseCache;
+        this.aiProperties = aiProperties;
+        this.meterRegistry = meterRegistry;
+        this.answerType = objectMapper.constructType(String.class);
+
+        LlmGatewayProperties properties = aiProperties.getGateway();
+        for (ApiProvider provider : new ApiProvider[] {ApiProvider.OPENAI, ApiProvider.GEMINI}) {
+            DistributionSummary batchSize = meterRegistry.summary(BATCH_SIZE, "provider", provider.name());
+            batchers.put(
+                    provider,
+                    new LlmBatcher(
+                            properties.getMaxBatchSize(),
+                            properties.getMaxBatchDelay(),
+                            prompt -> call(provider, prompt, true),
+                            prompt -> call(provider, prompt, false),
+                            virtualThreadExecutor,
+                            objectMapper,
+                            new LlmBatcher.BatchListener() {
+                                @Override
+                                public void onBatch(int size) {
+                                    batchSize.record(size);
+                                }
+
+                                @Override
+                                public void onSplitFailure(int size) {
+                                    meterRegistry
+                                            .counter(SPLIT_FAILURE_COUNTER, "provider", provider.name())
+                                            .increment();
+                                }
+                            }));
+        }
+    }
+
+    /**
+     * Answers a free-form prompt.
+     */
+    public String complete(ApiProvider provider, String prompt) {
+        String normalized = normalize(prompt);
+        return cached(provider, COMPLETE, normalized, () -> call(provider, normalized, false));
+    }
+
+    /**
+     * Answers a small, self-contained generation task, such as examples or a definition for one word. The task may
+     * be sent to the model together with other callers' tasks, so it must not depend on any conversation.
+     */
+    public String generate(ApiProvider provider, String task) {
+        String normalized = normalize(task);
+        LlmBatcher batcher = batcherOf(provider);
+        return cached(provider, GENERATE, normalized, () -> await(batcher.submit(normalized)));
+    }
+
+    /**
+     * Streams the answer to a free-form prompt as it is generated. The provider is only called on subscription, and
+     * the time until its first piece of text is recorded per provider.
+     */
+    public Flux<String> stream(ApiProvider provider, String prompt) {
+        String normalized = normalize(prompt);
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicBoolean first = new AtomicBoolean(true);
+            return streamOf(provider, normalized).doOnNext(token -> {
+                if (first.compareAndSet(true, false)) {
+                    sample.stop(meterRegistry.timer(TIME_TO_FIRST_TOKEN, "provider", provider.name()));
+                }
+            });
+        });
+    }
+
+    private Flux<String> streamOf(ApiProvider provider, String prompt) {
+        return switch (provider) {
+            case OPENAI -> gptService.streamChatResponse(prompt);
+            case GEMINI -> geminiService.streamGeminiContent(prompt);
+            default -> Flux.error(new IllegalArgumentException(provider + " is not an LLM provider"));
+        };
+    }
+
+    private String cached(ApiProvider provider, String mode, String prompt, Supplier<String> loader) {
+        ResponseEntity<String> response = providerResponseCache.get(
+                provider, mode + modelOf(provider), prompt, answerType, () -> ResponseEntity.ok(loader.get()));
+        return response.getBody();
+    }
+
+    private String call(ApiProvider provider, String prompt, boolean json) {
+        return switch (provider) {
+            case OPENAI -> json ? gptService.getJsonResponse(prompt) : gptService.getChatResponse(prompt);
+            case GEMINI -> json ? geminiService.getGeminiJsonContent(prompt) : geminiService.getGeminiContent(prompt);
+            default -> throw new IllegalArgumentException(provider + " is not an LLM provider");
+        };
+    }
+
+    private String modelOf(ApiProvider provider) {
+        return switch (provider) {
+            case OPENAI -> aiProperties.getGpt().getModel();
+            case GEMINI -> aiProperties.getGemini().getModel();
+            default -> throw new IllegalArgumentException(provider + " is not an LLM provider");
+        };
+    }
+
+    private LlmBatcher batcherOf(ApiProvider provider) {
+        LlmBatcher batcher = batchers.get(provider);
+        if (batcher == null) {
+            throw new IllegalArgumentException(provider + " is not an LLM provider");
+        }
+        return batcher;
+    }
+
+    private String await(CompletableFuture<String> answer) {
+        try {
+            return answer.get(aiProperties.getGateway().getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiIntegrationException("Interrupted while waiting for the LLM");
+        } catch (TimeoutException e) {
+            throw new ApiIntegrationException("LLM didn't answer in time");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ApiIntegrationException("LLM call failed: " + e.getCause().getMessage());
+        }
+    }
+
+    static String normalize(String prompt) {
+        return WHITESPACE.matcher(prompt.strip()).replaceAll(" ");
+    }
+}
@@ -1,16 +1,37 @@
 package com.almonium.analyzer.client.ngrams.adapter;
 
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.analyzer.client.cache.ProviderResponseCache;
+import com.almonium.analyzer.client.exception.ApiIntegrationException;
 import com.almonium.analyzer.client.exception.ApiNoLangSupportException;
 import com.almonium.analyzer.client.ngrams.client.NgramsClient;
 import com.almonium.analyzer.client.ngrams.dto.NgramsResponseDto;
 import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.config.properties.AnalyzerProperties;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE, makeFinal = true)
 public class NgramsAdapter {
     private static final String API_NAME = "ngrams";
     private static final Map<Language, String> corpusName = Map.of(
@@ -18,15 +39,116 @@ public class NgramsAdapter {
             Language.RU, "rus",
             Language.DE, "ger");
 
-    private final NgramsClient ngramsClient;
+    NgramsClient ngramsClient;
+    ProviderResponseCache providerResponseCache;
+    ExecutorService virtualThreadExecutor;
+    JavaType responseType;
+    // shared by all batches, so concurrent lookups can't add up to a burst against the API
+    Semaphore permits;
+    Duration batchTimeout;
+
+    public NgramsAdapter(
+            NgramsClient ngramsClient,
+            ProviderResponseCache providerResponseCache,
+            ExecutorService virtualThreadExecutor,
+            ObjectMapper objectMapper,
+            AnalyzerProperties analyzerProperties) {
+        this.ngramsClient = ngramsClient;
+        this.providerResponseCache = providerResponseCache;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.responseType = objectMapper.constructType(NgramsResponseDto.class);
+        AnalyzerProperties.Frequency properties = analyzerProperties.getFrequency();
+        this.permits = new Semaphore(properties.getRemoteConcurrency(), true);
+        this.batchTimeout = properties.getBatchTimeout();
+    }
+
+    public boolean supports(Language language) {
+        return corpusName.containsKey(language);
+    }
 
     public Optional<Double> getRelativeFrequency(String input, Language language) {
-        if (corpusName.get(language) == null) {
-            throw new ApiNoLangSupportException(language, API_NAME);
+        String corpus = corpusOf(language);
+        return fetch(corpus, input, () -> ngramsClient.searchWord(corpus, input));
+    }
+
+    /**
+     * Looks every input up, with at most {@code analyzer.frequency.remote-concurrency} Ngrams requests in flight
+     * across all callers. Cached inputs don't wait for a request slot. Inputs without a frequency, whose lookup
+     * failed, or that weren't resolved within {@code analyzer.frequency.batch-timeout} are absent from the result.
+     */
+    public Map<String, Double> getRelativeFrequencies(Collection<String> inputs, Language language) {
+        String corpus = corpusOf(language);
+        long deadline = System.nanoTime() + batchTimeout.toNanos();
+        Map<String, CompletableFuture<Optional<Double>>> lookups = new HashMap<>();
+        for (String input : inputs) {
+            lookups.put(
+                    input,
+                    CompletableFuture.supplyAsync(
+                            () -> fetch(corpus, input, () -> searchWithPermit(corpus, input, deadline)),
+                            virtualThreadExecutor));
+        }
+
+        Map<String, Double> frequencies = new HashMap<>();
+        int failed = 0;
+        int late = 0;
+        for (Map.Entry<String, CompletableFuture<Optional<Double>>> lookup : lookups.entrySet()) {
+            try {
+                lookup.getValue()
+                        .get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)
+                        .ifPresent(frequency -> frequencies.put(lookup.getKey(), frequency));
+            } catch (TimeoutException e) {
+                late++;
+            } catch (ExecutionException e) {
+                failed++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
         }
+        if (failed > 0 || late > 0) {
+            log.warn(
+                    "Left {} of {} frequencies in {} unknown: {} failed, {} not resolved in time",
+                    failed + late,
+                    lookups.size(),
+                    corpus,
+                    failed,
+                    late);
+        }
+        return frequencies;
+    }
 
-        NgramsResponseDto dto = ngramsClient.searchWord(corpusName.get(language), input);
+    // runs on a cache miss only; gives up, without caching anything, once the batch's deadline passes
+    private NgramsResponseDto searchWithPermit(String corpus, String input, long deadline) {
+        try {
+            if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new ApiIntegrationException("No Ngrams request slot freed up before the batch deadline");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiIntegrationException("Interrupted while waiting for an Ngrams request slot");
+        }
+        try {
+            return ngramsClient.searchWord(corpus, input);
+        } finally {
+            permits.release();
+        }
+    }
 
+    private Optional<Double> fetch(String corpus, String input, Supplier<NgramsResponseDto> search) {
+        ResponseEntity<NgramsResponseDto> response = providerResponseCache.get(
+                ApiProvider.NGRAMS, corpus, input, responseType, () -> ResponseEntity.ok(search.get()));
+        NgramsResponseDto dto = response.getBody();
+        if (dto == null || dto.ngrams() == null) {
+            return Optional.empty();
+        }
         return dto.ngrams().stream().findFirst().map(NgramsResponseDto.Ngram::relTotalMatchCount);
     }
+
+    private static String corpusOf(Language language) {
+        String corpus = corpusName.get(language);
+        if (corpus == null) {
+            throw new ApiNoLangSupportException(language, API_NAME);
+        }
+        return corpus;
+    }
 }
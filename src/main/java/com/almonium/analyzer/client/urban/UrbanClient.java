@@ -3,23 +3,23 @@ package com.almonium.analyzer.client.urban;
 import static lombok.AccessLevel.PRIVATE;
 
 import com.almonium.analyzer.client.AbstractClient;
+import com.almonium.analyzer.client.ApiProvider;
 import com.almonium.analyzer.client.Client;
 import com.almonium.analyzer.client.urban.dto.UrbanResponse;
 import com.almonium.config.properties.ExternalApiProperties;
+import com.almonium.infra.http.ProviderHttpTransport;
+import com.fasterxml.jackson.core.type.TypeReference;
 import java.util.HashMap;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @Client
-@RequiredArgsConstructor
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 public class UrbanClient extends AbstractClient {
     private static final String URBAN_API_AUTH_HEADER_HOST = "X-RapidAPI-Host";
@@ -29,9 +29,17 @@ public class UrbanClient extends AbstractClient {
     private static final String ENDPOINT = "/define";
 
     ExternalApiProperties externalApiProperties;
-    RestTemplate restTemplate;
+
+    public UrbanClient(ProviderHttpTransport httpTransport, ExternalApiProperties externalApiProperties) {
+        super(httpTransport, ApiProvider.URBAN);
+        this.externalApiProperties = externalApiProperties;
+    }
 
     public ResponseEntity<UrbanResponse> submit(String word) {
+        return cached(ENDPOINT, word, new TypeReference<>() {}, () -> define(word));
+    }
+
+    private ResponseEntity<UrbanResponse> define(String word) {
         HttpHeaders headers = new HttpHeaders();
         headers.set(URBAN_API_AUTH_HEADER_HOST, URBAN_API_AUTH_HEADER_HOST_VALUE);
         headers.set(URBAN_API_AUTH_HEADER_KEY, externalApiProperties.getKey().getUrban());
@@ -45,7 +53,7 @@ public class UrbanClient extends AbstractClient {
         Map<String, String> params = new HashMap<>();
         params.put("term", word);
 
-        return restTemplate.exchange(
-                urlTemplate, HttpMethod.GET, new HttpEntity<>(headers), UrbanResponse.class, params);
+        return restTemplate()
+                .exchange(urlTemplate, HttpMethod.GET, new HttpEntity<>(headers), UrbanResponse.class, params);
     }
 }
@@ -0,0 +1,221 @@
+package com.almonium.analyzer.client.usage;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.analyzer.client.exception.UsageLimitExceededException;
+import com.almonium.config.properties.ExternalApiProperties;
+import com.almonium.subscription.model.entity.enums.PlanFeature;
+import com.almonium.subscription.service.PlanSubscriptionService;
+import com.almonium.user.core.model.entity.User;
+import com.almonium.user.core.service.PlanService;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters consumption of billed providers per UTC day, on two levels:
+ * <ul>
+ *   <li>per provider, at the call site, against {@code external.api.usage.daily-budgets}, so the app stops calling a
+ *   provider before the provider starts failing requests;</li>
+ *   <li>per user, at the entry point, against the {@link PlanFeature} limits of the user's plan. A plan without a
+ *   limit for a feature is unlimited.</li>
+ * </ul>
+ * Counting is lock-free: the check and the increment are separate, so concurrent requests may overshoot a budget by
+ * what they consume together. Budgets are soft for that reason and should leave headroom below hard quotas.
+ *
+ * <p>Counters live in memory and start from zero on restart. Every instance counts on its own, so with several
+ * instances running a provider budget or a plan limit can be spent once per instance; size the budgets accordingly.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class UsageMeter {
+    static final String PROVIDER_COUNTER = "analyzer.usage.provider";
+    static final String PLAN_COUNTER = "analyzer.usage.plan";
+    static final String DAILY_GAUGE = "analyzer.usage.provider.daily";
+    static final String REJECTED_COUNTER = "analyzer.usage.rejected";
+
+    ExternalApiProperties.Usage properties;
+    PlanSubscriptionService planSubscriptionService;
+    PlanService planService;
+    MeterRegistry meterRegistry;
+    Clock clock;
+    AtomicReference<Window> window;
+    Cache<UUID, Map<PlanFeature, Integer>> planLimits;
+
+    @Autowired
+    public UsageMeter(
+            ExternalApiProperties externalApiProperties,
+            PlanSubscriptionService planSubscriptionService,
+            PlanService planService,
+            MeterRegistry meterRegistry) {
+        this(externalApiProperties.getUsage(), planSubscriptionService, planService, meterRegistry, Clock.systemUTC());
+    }
+
+    UsageMeter(
+            ExternalApiProperties.Usage properties,
+            PlanSubscriptionService planSubscriptionService,
+            PlanService planService,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.properties = properties;
+        this.planSubscriptionService = planSubscriptionService;
+        this.planService = planService;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.window = new AtomicReference<>(new Window(today()));
+        this.planLimits = CacheBuilder.newBuilder()
+                .expireAfterWrite(properties.getPlanLimitsTtl())
+                .build();
+        for (ApiProvider provider : properties.getDailyBudgets().keySet()) {
+            Gauge.builder(DAILY_GAUGE, this, meter -> meter.used(provider))
+                    .tag("provider", provider.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Records {@code amount} against the provider's budget, rejecting the call if it would exceed it.
+     */
+    public void acquire(ApiProvider provider, long amount) {
+        Window current = current();
+        Long budget = properties.getDailyBudgets().get(provider);
+        LongAdder used = current.provider(provider);
+        if (budget != null && used.sum() + amount > budget) {
+            reject("provider", provider.name());
+            throw new UsageLimitExceededException(provider + " daily budget is exhausted", current.resetAt());
+        }
+        add(used, provider, amount);
+    }
+
+    /**
+     * Rejects the call if the provider's budget is already used up. For calls whose cost is only known from their
+     * response, which is then passed to {@link #record}.
+     */
+    public void ensureAvailable(ApiProvider provider) {
+        Window current = current();
+        Long budget = properties.getDailyBudgets().get(provider);
+        if (budget != null && current.provider(provider).sum() >= budget) {
+            reject("provider", provider.name());
+            throw new UsageLimitExceededException(provider + " daily budget is exhausted", current.resetAt());
+        }
+    }
+
+    public void record(ApiProvider provider, long amount) {
+        add(current().provider(provider), provider, amount);
+    }
+
+    /**
+     * Records {@code amount} against the user's plan limit for {@code feature}, rejecting the request if it would
+     * exceed it.
+     */
+    public void charge(User user, PlanFeature feature, long amount) {
+        Window current = current();
+        LongAdder used = current.user(user.getId(), feature);
+        Integer limit = limitsOf(user).get(feature);
+        if (limit != null && used.sum() + amount > limit) {
+            reject("plan", feature.name());
+            throw new UsageLimitExceededException(
+                    "Daily limit of your plan is reached: " + feature + " " + limit, current.resetAt());
+        }
+        used.add(amount);
+        meterRegistry.counter(PLAN_COUNTER, "feature", feature.name()).increment(amount);
+    }
+
+    public long used(ApiProvider provider) {
+        return current().provider(provider).sum();
+    }
+
+    public long used(UUID userId, PlanFeature feature) {
+        return current().user(userId, feature).sum();
+    }
+
+    private Map<PlanFeature, Integer> limitsOf(User user) {
+        try {
+            return planLimits.get(user.getId(), () -> loadLimits(user));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load plan limits of user " + user.getId(), e.getCause());
+        }
+    }
+
+    private Map<PlanFeature, Integer> loadLimits(User user) {
+        long planId;
+        try {
+            planId = planSubscriptionService.getActivePlan(user).getId();
+        } catch (RuntimeException e) {
+            log.warn("No active plan for user {}, metering with the default plan: {}", user.getId(), e.getMessage());
+            planId = planService.getDefaultPlan().getId();
+        }
+        Map<PlanFeature, Integer> limits = new EnumMap<>(PlanFeature.class);
+        limits.putAll(planService.getPlanLimits(planId));
+        return limits;
+    }
+
+    private void add(LongAdder used, ApiProvider provider, long amount) {
+        if (amount <= 0) {
+            return;
+        }
+        used.add(amount);
+        meterRegistry.counter(PROVIDER_COUNTER, "provider", provider.name()).increment(amount);
+    }
+
+    private void reject(String scope, String name) {
+        meterRegistry.counter(REJECTED_COUNTER, "scope", scope, "name", name).increment();
+    }
+
+    private Window current() {
+        LocalDate today = today();
+        while (true) {
+            Window current = window.get();
+            if (current.day().equals(today)) {
+                return current;
+            }
+            Window next = new Window(today);
+            if (window.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private LocalDate today() {
+        return LocalDate.ofInstant(clock.instant(), ZoneOffset.UTC);
+    }
+
+    private record Window(LocalDate day, Map<ApiProvider, LongAdder> providers, Map<UserFeature, LongAdder> users) {
+
+        Window(LocalDate day) {
+            this(day, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        LongAdder provider(ApiProvider provider) {
+            return providers.computeIfAbsent(provider, ignored -> new LongAdder());
+        }
+
+        LongAdder user(UUID userId, PlanFeature feature) {
+            return users.computeIfAbsent(new UserFeature(userId, feature), ignored -> new LongAdder());
+        }
+
+        Instant resetAt() {
+            return day.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        }
+    }
+
+    private record UserFeature(UUID userId, PlanFeature feature) {}
+}
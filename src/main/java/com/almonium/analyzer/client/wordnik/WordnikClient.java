@@ -3,15 +3,17 @@ package com.almonium.analyzer.client.wordnik;
 import static lombok.AccessLevel.PRIVATE;
 
 import com.almonium.analyzer.client.AbstractClient;
+import com.almonium.analyzer.client.ApiProvider;
 import com.almonium.analyzer.client.Client;
 import com.almonium.analyzer.client.wordnik.dto.WordnikAudioDto;
 import com.almonium.analyzer.client.wordnik.dto.WordnikRandomWordDto;
 import com.almonium.config.properties.ExternalApiProperties;
+import com.almonium.infra.http.ProviderHttpTransport;
 import com.almonium.util.GeneralUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
@@ -19,10 +21,8 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 
 @Client
-@RequiredArgsConstructor
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 public class WordnikClient extends AbstractClient {
     private static final int START_YEAR_VALUE = 1950;
@@ -50,7 +50,11 @@ public class WordnikClient extends AbstractClient {
     private static final String INCLUDE_POS_VALUE = "noun%2Cadjective%2Cadverb%2Cverb-intransitive%2Cverb-transitive";
 
     ExternalApiProperties externalApiProperties;
-    RestTemplate restTemplate;
+
+    public WordnikClient(ProviderHttpTransport httpTransport, ExternalApiProperties externalApiProperties) {
+        super(httpTransport, ApiProvider.WORDNIK);
+        this.externalApiProperties = externalApiProperties;
+    }
 
     public ResponseEntity<WordnikRandomWordDto> getRandomWord() {
         HttpHeaders headers = new HttpHeaders();
@@ -64,11 +68,15 @@ public class WordnikClient extends AbstractClient {
 
         String urlTemplate = GeneralUtils.queryBuilder(BASE_URL_WORDS, List.of(HAS_DICT_DEF, INCLUDE_POS, MIN_LENGTH));
 
-        return restTemplate.exchange(
-                urlTemplate, HttpMethod.GET, new HttpEntity<>(headers), WordnikRandomWordDto.class, params);
+        return restTemplate()
+                .exchange(urlTemplate, HttpMethod.GET, new HttpEntity<>(headers), WordnikRandomWordDto.class, params);
     }
 
     public ResponseEntity<List<WordnikAudioDto>> getAudioFile(String word) {
+        return cached(AUDIO, word, new TypeReference<>() {}, () -> fetchAudioFile(word));
+    }
+
+    private ResponseEntity<List<WordnikAudioDto>> fetchAudioFile(String word) {
         HttpHeaders headers = new HttpHeaders();
         headers.set(APIKEY_HEADER_NAME, externalApiProperties.getKey().getWordnik());
         headers.set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
@@ -77,7 +85,12 @@ public class WordnikClient extends AbstractClient {
 
         Map<String, Object> params = new HashMap<>();
 
-        return restTemplate.exchange(
-                urlTemplate, HttpMethod.GET, new HttpEntity<>(headers), new ParameterizedTypeReference<>() {}, params);
+        return restTemplate()
+                .exchange(
+                        urlTemplate,
+                        HttpMethod.GET,
+                        new HttpEntity<>(headers),
+                        new ParameterizedTypeReference<>() {},
+                        params);
     }
 }
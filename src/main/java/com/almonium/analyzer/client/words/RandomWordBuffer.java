@@ -0,0 +1,153 @@
+package com.almonium.analyzer.client.words;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.client.exception.ApiIntegrationException;
+import com.almonium.analyzer.client.words.dto.WordsReportDto;
+import com.almonium.config.properties.AnalyzerProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a bounded buffer of random words fetched ahead of time, so a request for one is served from memory.
+ * Whenever the buffer drops below {@code low-water-mark}, a single background refill tops it up with
+ * {@code refill-concurrency} parallel fetches. Only when the buffer is empty is a word fetched on the request thread.
+ * A failed refill isn't retried before {@code failure-backoff}, so an outage doesn't turn every request into a refill.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class RandomWordBuffer {
+    static final String DEPTH_GAUGE = "analyzer.words.random.buffer";
+    static final String FETCH_TIMER = "analyzer.words.random.fetch";
+    static final String REFILL_TIMER = "analyzer.words.random.refill";
+    static final String SERVED_COUNTER = "analyzer.words.random.served";
+
+    AnalyzerProperties.RandomWords properties;
+    Supplier<WordsReportDto> fetcher;
+    ExecutorService virtualThreadExecutor;
+    MeterRegistry meterRegistry;
+    Clock clock;
+    BlockingQueue<WordsReportDto> buffer;
+    AtomicBoolean refilling = new AtomicBoolean();
+    AtomicReference<Instant> retryAfter = new AtomicReference<>(Instant.MIN);
+
+    @Autowired
+    public RandomWordBuffer(
+            AnalyzerProperties analyzerProperties,
+            WordsClient wordsClient,
+            ExecutorService virtualThreadExecutor,
+            MeterRegistry meterRegistry) {
+        this(
+                analyzerProperties.getRandomWords(),
+                () -> wordsClient.getRandomWord().getBody(),
+                virtualThreadExecutor,
+                meterRegistry,
+                Clock.systemUTC());
+    }
+
+    RandomWordBuffer(
+            AnalyzerProperties.RandomWords properties,
+            Supplier<WordsReportDto> fetcher,
+            ExecutorService virtualThreadExecutor,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.properties = properties;
+        this.fetcher = fetcher;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.buffer = new ArrayBlockingQueue<>(properties.getCapacity());
+        Gauge.builder(DEPTH_GAUGE, buffer, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (properties.isWarmUp()) {
+            refillAsync();
+        }
+    }
+
+    public WordsReportDto next() {
+        WordsReportDto word = buffer.poll();
+        if (buffer.size() < properties.getLowWaterMark()) {
+            refillAsync();
+        }
+        meterRegistry
+                .counter(SERVED_COUNTER, "source", word != null ? "buffer" : "direct")
+                .increment();
+        return word != null ? word : fetch();
+    }
+
+    int size() {
+        return buffer.size();
+    }
+
+    void refillAsync() {
+        if (clock.instant().isBefore(retryAfter.get()) || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        virtualThreadExecutor.execute(() -> {
+            try {
+                refill();
+            } finally {
+                refilling.set(false);
+            }
+        });
+    }
+
+    private void refill() {
+        long startedAt = System.nanoTime();
+        try {
+            while (buffer.remainingCapacity() > 0) {
+                int batch = Math.min(properties.getRefillConcurrency(), buffer.remainingCapacity());
+                List<CompletableFuture<WordsReportDto>> fetches = new ArrayList<>(batch);
+                for (int i = 0; i < batch; i++) {
+                    fetches.add(CompletableFuture.supplyAsync(this::fetch, virtualThreadExecutor));
+                }
+                fetches.forEach(fetch -> buffer.offer(fetch.join()));
+            }
+        } catch (CompletionException e) {
+            retryAfter.set(clock.instant().plus(properties.getFailureBackoff()));
+            log.warn(
+                    "Failed to refill random words, next attempt after {}: {}",
+                    properties.getFailureBackoff(),
+                    e.getCause().getMessage());
+        } finally {
+            meterRegistry.timer(REFILL_TIMER).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private WordsReportDto fetch() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            WordsReportDto word = fetcher.get();
+            if (word == null) {
+                throw new ApiIntegrationException("Words API returned no random word");
+            }
+            return word;
+        } finally {
+            sample.stop(meterRegistry.timer(FETCH_TIMER));
+        }
+    }
+}
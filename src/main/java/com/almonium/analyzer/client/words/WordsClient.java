@@ -3,24 +3,24 @@ package com.almonium.analyzer.client.words;
 import static lombok.AccessLevel.PRIVATE;
 
 import com.almonium.analyzer.client.AbstractClient;
+import com.almonium.analyzer.client.ApiProvider;
 import com.almonium.analyzer.client.Client;
 import com.almonium.analyzer.client.words.dto.WordsReportDto;
 import com.almonium.config.properties.ExternalApiProperties;
+import com.almonium.infra.http.ProviderHttpTransport;
 import com.almonium.util.GeneralUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 
 @Client
-@RequiredArgsConstructor
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 public class WordsClient extends AbstractClient {
     private static final String API_ID_HEADER_NAME = "X-RapidAPI-Host";
@@ -28,11 +28,20 @@ public class WordsClient extends AbstractClient {
     private static final String API_KEY_HEADER_NAME = "X-RapidAPI-Key";
     private static final String BASE_URL = "https://wordsapiv1.p.rapidapi.com/words/";
     private static final String RANDOM = "random";
+    private static final String REPORT = "report";
 
-    RestTemplate restTemplate;
     ExternalApiProperties externalApiProperties;
 
+    public WordsClient(ProviderHttpTransport httpTransport, ExternalApiProperties externalApiProperties) {
+        super(httpTransport, ApiProvider.WORDS);
+        this.externalApiProperties = externalApiProperties;
+    }
+
     public ResponseEntity<WordsReportDto> getReport(String word) {
+        return cached(REPORT, word, new TypeReference<>() {}, () -> fetchReport(word));
+    }
+
+    private ResponseEntity<WordsReportDto> fetchReport(String word) {
         HttpHeaders headers = new HttpHeaders();
         headers.set(API_ID_HEADER_NAME, API_ID_HEADER_VALUE);
         headers.set(API_KEY_HEADER_NAME, externalApiProperties.getKey().getWords());
@@ -42,8 +51,8 @@ public class WordsClient extends AbstractClient {
 
         Map<String, Object> params = new HashMap<>();
 
-        return restTemplate.exchange(
-                urlTemplate, HttpMethod.GET, new HttpEntity<>(headers), WordsReportDto.class, params);
+        return restTemplate()
+                .exchange(urlTemplate, HttpMethod.GET, new HttpEntity<>(headers), WordsReportDto.class, params);
     }
 
     public ResponseEntity<WordsReportDto> getRandomWord() {
@@ -57,7 +66,7 @@ public class WordsClient extends AbstractClient {
         Map<String, Object> params = new HashMap<>();
         params.put(RANDOM, true);
 
-        return restTemplate.exchange(
-                urlTemplate, HttpMethod.GET, new HttpEntity<>(headers), WordsReportDto.class, params);
+        return restTemplate()
+                .exchange(urlTemplate, HttpMethod.GET, new HttpEntity<>(headers), WordsReportDto.class, params);
     }
 }
@@ -3,18 +3,20 @@ package com.almonium.analyzer.client.yandex;
 import static lombok.AccessLevel.PRIVATE;
 
 import com.almonium.analyzer.client.AbstractClient;
+import com.almonium.analyzer.client.ApiProvider;
 import com.almonium.analyzer.client.Client;
+import com.almonium.analyzer.client.usage.UsageMeter;
 import com.almonium.analyzer.client.yandex.dto.YandexDto;
 import com.almonium.analyzer.translator.model.enums.Language;
 import com.almonium.config.properties.ExternalApiProperties;
+import com.almonium.infra.http.ProviderHttpTransport;
+import com.fasterxml.jackson.core.type.TypeReference;
 import java.util.Locale;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.http.ResponseEntity;
 
 @Client
-@RequiredArgsConstructor
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 public class YandexClient extends AbstractClient {
     private static final String URL = "https://dictionary.yandex.net/api/v1/dicservice.json/lookup";
@@ -23,17 +25,29 @@ public class YandexClient extends AbstractClient {
     private static final String KEY = "key";
 
     ExternalApiProperties externalApiProperties;
+    UsageMeter usageMeter;
+
+    public YandexClient(
+            ProviderHttpTransport httpTransport, ExternalApiProperties externalApiProperties, UsageMeter usageMeter) {
+        super(httpTransport, ApiProvider.YANDEX);
+        this.externalApiProperties = externalApiProperties;
+        this.usageMeter = usageMeter;
+    }
 
     public ResponseEntity<YandexDto> translate(String word, Language from, Language to) {
         String langPair = String.format(
                 "%s-%s", from.name().toLowerCase(Locale.ROOT), to.name().toLowerCase(Locale.ROOT));
 
-        return super.request(
-                URL,
-                Map.of(
-                        KEY, externalApiProperties.getKey().getYandex(),
-                        TEXT, word,
-                        LANG, langPair),
-                YandexDto.class);
+        return cached(langPair, word, new TypeReference<>() {}, () -> {
+            // only lookups that reach Yandex count, cached ones are free
+            usageMeter.acquire(ApiProvider.YANDEX, 1);
+            return super.request(
+                    URL,
+                    Map.of(
+                            KEY, externalApiProperties.getKey().getYandex(),
+                            TEXT, word,
+                            LANG, langPair),
+                    YandexDto.class);
+        });
     }
 }
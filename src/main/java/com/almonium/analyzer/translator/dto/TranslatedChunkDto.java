@@ -0,0 +1,3 @@
+package com.almonium.analyzer.translator.dto;
+
+public record TranslatedChunkDto(int index, int total, String provider, String text) {}
@@ -0,0 +1,45 @@
+package com.almonium.analyzer.translator.model.entity;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.translator.model.enums.TranslationKind;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "translation_memory")
+@FieldDefaults(level = PRIVATE)
+public class TranslationMemoryEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    String keyHash;
+
+    @Enumerated(EnumType.STRING)
+    TranslationKind kind;
+
+    String sourceLang;
+    String targetLang;
+    String provider;
+    String sourceText;
+    String translation;
+    Instant createdAt;
+}
@@ -0,0 +1,8 @@
+package com.almonium.analyzer.translator.model.enums;
+
+public enum TranslationKind {
+    // a dictionary card of a single entry, stored as JSON
+    CARD,
+    // plain machine translation of running text
+    TEXT
+}
@@ -0,0 +1,6 @@
+package com.almonium.analyzer.translator.model.record;
+
+/**
+ * Synthesized audio with a strong validator derived from its bytes.
+ */
+public record SpeechAudio(String etag, byte[] content) {}
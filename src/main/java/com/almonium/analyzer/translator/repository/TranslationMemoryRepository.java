@@ -0,0 +1,10 @@
+package com.almonium.analyzer.translator.repository;
+
+import com.almonium.analyzer.translator.model.entity.TranslationMemoryEntry;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TranslationMemoryRepository extends JpaRepository<TranslationMemoryEntry, Long> {
+    List<TranslationMemoryEntry> findAllByKeyHashIn(Collection<String> keyHashes);
+}
@@ -0,0 +1,184 @@
+package com.almonium.analyzer.translator.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.client.exception.ApiIntegrationException;
+import com.almonium.analyzer.translator.dto.TranslatedChunkDto;
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.analyzer.translator.model.enums.TranslationKind;
+import com.almonium.analyzer.translator.service.impl.GoogleTranslatorEngine;
+import com.almonium.config.properties.AnalyzerProperties;
+import com.almonium.infra.sse.SseStreamer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Translates long text by splitting it into request-sized chunks (see {@link TextChunker}) and translating a sliding
+ * window of them concurrently. Chunks are handed to the caller strictly in order, each as soon as it and all chunks
+ * before it are done, so the first part of a chapter arrives without waiting for the rest.
+ *
+ * <p>Within a chunk, text is translated sentence by sentence: sentences found in the {@link TranslationMemory} are
+ * reused, the rest go to the provider in one request. A sentence repeated within the same text is claimed by the
+ * first chunk that reaches it and translated only once.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class BulkTranslationService {
+    TranslationService googleService;
+    TranslationMemory translationMemory;
+    ExecutorService virtualThreadExecutor;
+    AnalyzerProperties analyzerProperties;
+    SseStreamer sseStreamer;
+
+    public String translate(String text, Language targetLang) {
+        StringBuilder translated = new StringBuilder(text.length());
+        stream(text, targetLang, chunk -> translated.append(chunk.text()));
+        return translated.toString();
+    }
+
+    /**
+     * Streams translated chunks as {@code chunk} server-sent events.
+     */
+    public SseEmitter streamEvents(String text, Language targetLang) {
+        return sseStreamer.<TranslatedChunkDto>stream(
+                "chunk",
+                analyzerProperties.getBulkTranslation().getStreamTimeout(),
+                sink -> stream(text, targetLang, sink));
+    }
+
+    public void stream(String text, Language targetLang, Consumer<TranslatedChunkDto> sink) {
+        AnalyzerProperties.BulkTranslation properties = analyzerProperties.getBulkTranslation();
+        List<String> chunks = TextChunker.chunk(text, properties.getChunkSize());
+        int window = properties.getMaxConcurrency();
+        List<CompletableFuture<String>> inFlight = new ArrayList<>(chunks.size());
+        Map<String, CompletableFuture<String>> sentences = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < Math.min(window, chunks.size()); i++) {
+            inFlight.add(submit(chunks.get(i), targetLang, sentences));
+        }
+        try {
+            for (int i = 0; i < chunks.size(); i++) {
+                String translated = await(inFlight.get(i), i, properties);
+                if (i + window < chunks.size()) {
+                    inFlight.add(submit(chunks.get(i + window), targetLang, sentences));
+                }
+                sink.accept(new TranslatedChunkDto(i, chunks.size(), GoogleTranslatorEngine.NAME, translated));
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private CompletableFuture<String> submit(
+            String chunk, Language targetLang, Map<String, CompletableFuture<String>> sentences) {
+        return CompletableFuture.supplyAsync(() -> translateChunk(chunk, targetLang, sentences), virtualThreadExecutor);
+    }
+
+    private String translateChunk(String chunk, Language targetLang, Map<String, CompletableFuture<String>> sentences) {
+        List<String> pieces = TextChunker.sentences(chunk);
+        Map<String, CompletableFuture<String>> owned = new LinkedHashMap<>();
+        for (String piece : pieces) {
+            String content = piece.strip();
+            if (content.isEmpty() || owned.containsKey(content)) {
+                continue;
+            }
+            CompletableFuture<String> claim = new CompletableFuture<>();
+            if (sentences.putIfAbsent(content, claim) == null) {
+                owned.put(content, claim);
+            }
+        }
+        try {
+            // own sentences first, so chunks waiting on each other always make progress
+            translateOwned(owned, targetLang);
+        } catch (RuntimeException e) {
+            owned.values().forEach(claim -> claim.completeExceptionally(e));
+            throw e;
+        }
+
+        StringBuilder translated = new StringBuilder(chunk.length());
+        for (String piece : pieces) {
+            String content = piece.strip();
+            if (content.isEmpty()) {
+                translated.append(piece);
+                continue;
+            }
+            // the API trims whitespace, keep line and paragraph breaks as they were
+            int leading = piece.indexOf(content);
+            translated
+                    .append(piece, 0, leading)
+                    .append(sentences.get(content).join())
+                    .append(piece, leading + content.length(), piece.length());
+        }
+        return translated.toString();
+    }
+
+    private void translateOwned(Map<String, CompletableFuture<String>> owned, Language targetLang) {
+        if (owned.isEmpty()) {
+            return;
+        }
+        Map<String, TranslationMemory.Key> keys = new LinkedHashMap<>();
+        owned.keySet().forEach(content -> keys.put(content, keyOf(content, targetLang)));
+        Map<TranslationMemory.Key, String> remembered = translationMemory.findAll(keys.values());
+
+        List<String> missing = new ArrayList<>();
+        keys.forEach((content, key) -> {
+            String translation = remembered.get(key);
+            if (translation != null) {
+                owned.get(content).complete(translation);
+            } else {
+                missing.add(content);
+            }
+        });
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        List<String> translations = googleService.bulkTranslateTexts(missing, targetLang.name());
+        Map<TranslationMemory.Key, String> fresh = new HashMap<>();
+        for (int i = 0; i < missing.size(); i++) {
+            owned.get(missing.get(i)).complete(translations.get(i));
+            fresh.put(keys.get(missing.get(i)), translations.get(i));
+        }
+        translationMemory.saveAll(fresh);
+    }
+
+    private static TranslationMemory.Key keyOf(String sentence, Language targetLang) {
+        return TranslationMemory.Key.of(
+                TranslationKind.TEXT,
+                TranslationMemory.AUTO_DETECT,
+                targetLang.name(),
+                GoogleTranslatorEngine.NAME,
+                sentence);
+    }
+
+    private String await(CompletableFuture<String> future, int index, AnalyzerProperties.BulkTranslation properties) {
+        try {
+            return future.get(properties.getChunkTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiIntegrationException("Bulk translation interrupted at chunk " + index);
+        } catch (TimeoutException e) {
+            throw new ApiIntegrationException("Bulk translation timed out at chunk " + index);
+        } catch (ExecutionException e) {
+            log.warn("Failed to translate chunk {}", index, e.getCause());
+            throw new ApiIntegrationException("Bulk translation failed at chunk " + index);
+        }
+    }
+}
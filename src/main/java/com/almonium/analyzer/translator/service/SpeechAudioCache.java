@@ -0,0 +1,255 @@
+package com.almonium.analyzer.translator.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.analyzer.client.cache.SingleFlight;
+import com.almonium.analyzer.translator.model.record.SpeechAudio;
+import com.almonium.config.properties.AnalyzerProperties;
+import com.almonium.infra.storage.service.FirebaseStorageService;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.text.Normalizer;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed cache of synthesized speech. Audio is keyed by the sha256 of language, voice and normalized text
+ * and kept in a size-bounded LRU directory on local disk, backed by Firebase Storage which is shared by all nodes
+ * and survives redeploys. Only a miss in both tiers calls Text-to-Speech; concurrent misses for the same key share
+ * one synthesis.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class SpeechAudioCache {
+    static final String LOOKUP_COUNTER = "analyzer.speech.cache";
+    static final String TIER_DISK = "disk";
+    static final String TIER_STORAGE = "storage";
+    static final String STORAGE_PATH_TEMPLATE = "tts/%s/%s.mp3";
+    private static final String AUDIO_CONTENT_TYPE = "audio/mpeg";
+    private static final String FILE_EXTENSION = ".mp3";
+
+    AnalyzerProperties.Speech properties;
+    FirebaseStorageService storageService;
+    SingleFlight singleFlight;
+    ExecutorService virtualThreadExecutor;
+    MeterRegistry meterRegistry;
+    // key -> size in bytes, in access order, guarded by itself
+    Map<String, Long> diskIndex = new LinkedHashMap<>(16, 0.75f, true);
+
+    @NonFinal
+    long diskBytes;
+
+    public SpeechAudioCache(
+            AnalyzerProperties analyzerProperties,
+            FirebaseStorageService storageService,
+            SingleFlight singleFlight,
+            ExecutorService virtualThreadExecutor,
+            MeterRegistry meterRegistry) {
+        this.properties = analyzerProperties.getSpeech();
+        this.storageService = storageService;
+        this.singleFlight = singleFlight;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void loadDiskIndex() throws IOException {
+        Path directory = properties.getCacheDirectory();
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.toString().endsWith(FILE_EXTENSION))
+                    .sorted(Comparator.comparing(SpeechAudioCache::lastModified))
+                    .toList();
+        }
+        synchronized (diskIndex) {
+            for (Path file : files) {
+                long size = Files.size(file);
+                diskIndex.put(keyOfFile(file), size);
+                diskBytes += size;
+            }
+            evictOverBudget();
+        }
+        log.info("Speech cache has {} files ({} bytes) in {}", diskIndex.size(), diskBytes, directory);
+    }
+
+    public SpeechAudio get(String languageCode, String voice, String text, Supplier<byte[]> synthesizer) {
+        String key = keyOf(languageCode, voice, text);
+
+        Optional<byte[]> cached = fromDisk(key);
+        if (cached.isPresent()) {
+            count(TIER_DISK, "hit");
+            return toAudio(cached.get());
+        }
+        count(TIER_DISK, "miss");
+        byte[] content = singleFlight.execute(
+                ApiProvider.GOOGLE_TTS,
+                languageCode + "/" + voice,
+                key,
+                () -> loadMissing(languageCode, key, synthesizer));
+        return toAudio(content);
+    }
+
+    private byte[] loadMissing(String languageCode, String key, Supplier<byte[]> synthesizer) {
+        String storagePath = STORAGE_PATH_TEMPLATE.formatted(languageCode.toLowerCase(Locale.ROOT), key);
+        Optional<byte[]> stored = fromStorage(storagePath);
+        if (stored.isPresent()) {
+            count(TIER_STORAGE, "hit");
+            toDisk(key, stored.get());
+            return stored.get();
+        }
+        count(TIER_STORAGE, "miss");
+
+        byte[] content = synthesizer.get();
+        toDisk(key, content);
+        virtualThreadExecutor.execute(() -> toStorage(storagePath, content));
+        return content;
+    }
+
+    private Optional<byte[]> fromDisk(String key) {
+        synchronized (diskIndex) {
+            if (diskIndex.get(key) == null) {
+                return Optional.empty();
+            }
+        }
+        Path file = fileOf(key);
+        try {
+            byte[] content = Files.readAllBytes(file);
+            // access time is what the LRU order is rebuilt from after a restart
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return Optional.of(content);
+        } catch (IOException e) {
+            log.warn("Dropping unreadable speech cache file {}", file, e);
+            forget(key);
+            return Optional.empty();
+        }
+    }
+
+    private void toDisk(String key, byte[] content) {
+        Path file = fileOf(key);
+        try {
+            Path temp = Files.createTempFile(properties.getCacheDirectory(), key, ".tmp");
+            Files.write(temp, content);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write speech cache file {}", file, e);
+            return;
+        }
+        synchronized (diskIndex) {
+            Long previous = diskIndex.put(key, (long) content.length);
+            diskBytes += content.length - (previous == null ? 0 : previous);
+            evictOverBudget();
+        }
+    }
+
+    private Optional<byte[]> fromStorage(String storagePath) {
+        if (!properties.isStorageEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            return storageService.findFile(storagePath);
+        } catch (RuntimeException e) {
+            log.warn("Speech storage lookup failed for {}: {}", storagePath, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void toStorage(String storagePath, byte[] content) {
+        if (!properties.isStorageEnabled()) {
+            return;
+        }
+        try {
+            storageService.upload(content, AUDIO_CONTENT_TYPE, storagePath);
+        } catch (RuntimeException e) {
+            log.warn("Failed to store speech audio at {}: {}", storagePath, e.getMessage());
+        }
+    }
+
+    // caller holds the diskIndex lock
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, Long>> eldest = diskIndex.entrySet().iterator();
+        while (diskBytes > properties.getMaxDiskSize().toBytes() && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            eldest.remove();
+            diskBytes -= entry.getValue();
+            deleteQuietly(fileOf(entry.getKey()));
+        }
+    }
+
+    private void forget(String key) {
+        synchronized (diskIndex) {
+            Long size = diskIndex.remove(key);
+            if (size != null) {
+                diskBytes -= size;
+            }
+        }
+        deleteQuietly(fileOf(key));
+    }
+
+    private void count(String tier, String result) {
+        meterRegistry.counter(LOOKUP_COUNTER, "tier", tier, "result", result).increment();
+    }
+
+    private Path fileOf(String key) {
+        return properties.getCacheDirectory().resolve(key + FILE_EXTENSION);
+    }
+
+    private static String keyOfFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - FILE_EXTENSION.length());
+    }
+
+    private static SpeechAudio toAudio(byte[] content) {
+        String etag = Hashing.sha256().hashBytes(content).toString().substring(0, 32);
+        return new SpeechAudio(etag, content);
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete speech cache file {}", file, e);
+        }
+    }
+
+    static String keyOf(String languageCode, String voice, String text) {
+        return Hashing.sha256()
+                .hashString(languageCode + '\u0000' + voice + '\u0000' + normalize(text), StandardCharsets.UTF_8)
+                .toString();
+    }
+
+    static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFC).strip().replaceAll("\\s+", " ");
+    }
+}
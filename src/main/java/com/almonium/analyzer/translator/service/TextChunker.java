@@ -0,0 +1,99 @@
+package com.almonium.analyzer.translator.service;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Splits long text into pieces no longer than a given size, preferring paragraph breaks, then sentence breaks,
+ * then whitespace. Pieces are contiguous, so concatenating them gives back the original text.
+ */
+@UtilityClass
+public class TextChunker {
+
+    public List<String> chunk(String text, int maxChars) {
+        if (maxChars <= 0) {
+            throw new IllegalArgumentException("maxChars must be positive");
+        }
+        List<String> chunks = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return chunks;
+        }
+
+        BreakIterator sentences = BreakIterator.getSentenceInstance(Locale.ROOT);
+        sentences.setText(text);
+
+        int start = 0;
+        while (start < text.length()) {
+            if (text.length() - start <= maxChars) {
+                chunks.add(text.substring(start));
+                break;
+            }
+            int limit = start + maxChars;
+            int end = paragraphBreak(text, start, limit);
+            if (end <= start) {
+                end = sentenceBreak(sentences, start, limit);
+            }
+            if (end <= start) {
+                end = whitespaceBreak(text, start, limit);
+            }
+            if (end <= start) {
+                end = safeLimit(text, limit);
+            }
+            chunks.add(text.substring(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Splits text into sentences. Like {@link #chunk}, the pieces are contiguous, each keeping the whitespace that
+     * follows it.
+     */
+    public List<String> sentences(String text) {
+        List<String> sentences = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return sentences;
+        }
+        BreakIterator iterator = BreakIterator.getSentenceInstance(Locale.ROOT);
+        iterator.setText(text);
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            sentences.add(text.substring(start, end));
+        }
+        return sentences;
+    }
+
+    private int paragraphBreak(String text, int start, int limit) {
+        int index = text.lastIndexOf("\n\n", limit - 2);
+        if (index < start) {
+            return -1;
+        }
+        int end = index + 2;
+        while (end < limit && text.charAt(end) == '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    private int sentenceBreak(BreakIterator sentences, int start, int limit) {
+        int boundary = sentences.preceding(limit + 1);
+        return boundary == BreakIterator.DONE ? -1 : boundary;
+    }
+
+    private int whitespaceBreak(String text, int start, int limit) {
+        for (int i = limit - 1; i > start; i--) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private int safeLimit(String text, int limit) {
+        // never cut a surrogate pair in half
+        return Character.isLowSurrogate(text.charAt(limit)) ? limit - 1 : limit;
+    }
+}
@@ -0,0 +1,214 @@
+package com.almonium.analyzer.translator.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.translator.model.entity.TranslationMemoryEntry;
+import com.almonium.analyzer.translator.model.enums.TranslationKind;
+import com.almonium.analyzer.translator.repository.TranslationMemoryRepository;
+import com.almonium.config.properties.AnalyzerProperties;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers translations already paid for, keyed by kind, language pair, provider and normalized source text, so
+ * the same entry or sentence is never sent to a provider twice. A size-bounded in-heap LRU sits in front of the
+ * {@code translation_memory} table; writes go to the table asynchronously and never fail the translation.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class TranslationMemory {
+    public static final String AUTO_DETECT = "AUTO";
+    static final String LOOKUP_COUNTER = "analyzer.translation.memory";
+    static final String TIER_MEMORY = "memory";
+    static final String TIER_DATABASE = "database";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    AnalyzerProperties.TranslationMemory properties;
+    TranslationMemoryRepository repository;
+    ExecutorService virtualThreadExecutor;
+    MeterRegistry meterRegistry;
+    Clock clock;
+    Cache<String, String> memory;
+
+    @Autowired
+    public TranslationMemory(
+            AnalyzerProperties analyzerProperties,
+            TranslationMemoryRepository repository,
+            ExecutorService virtualThreadExecutor,
+            MeterRegistry meterRegistry) {
+        this(
+                analyzerProperties.getTranslationMemory(),
+                repository,
+                virtualThreadExecutor,
+                meterRegistry,
+                Clock.systemUTC());
+    }
+
+    TranslationMemory(
+            AnalyzerProperties.TranslationMemory properties,
+            TranslationMemoryRepository repository,
+            ExecutorService virtualThreadExecutor,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.properties = properties;
+        this.repository = repository;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.memory =
+                CacheBuilder.newBuilder().maximumSize(properties.getMaxSize()).build();
+    }
+
+    public Optional<String> find(Key key) {
+        return Optional.ofNullable(findAll(List.of(key)).get(key));
+    }
+
+    /**
+     * Looks all keys up with at most one database query for those not held in memory. Keys without a remembered
+     * translation are absent from the result.
+     */
+    public Map<Key, String> findAll(Collection<Key> keys) {
+        Map<Key, String> found = new HashMap<>();
+        if (!properties.isEnabled() || keys.isEmpty()) {
+            return found;
+        }
+        Map<String, Key> missing = new LinkedHashMap<>();
+        for (Key key : keys) {
+            String translation = memory.getIfPresent(key.hash());
+            if (translation != null) {
+                found.put(key, translation);
+            } else {
+                missing.put(key.hash(), key);
+            }
+        }
+        count(TIER_MEMORY, found.size(), missing.size());
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        Map<String, String> stored = fromDatabase(missing.keySet());
+        stored.forEach((hash, translation) -> {
+            memory.put(hash, translation);
+            found.put(missing.get(hash), translation);
+        });
+        count(TIER_DATABASE, stored.size(), missing.size() - stored.size());
+        return found;
+    }
+
+    public void save(Key key, String translation) {
+        saveAll(Map.of(key, translation));
+    }
+
+    public void saveAll(Map<Key, String> translations) {
+        if (!properties.isEnabled() || translations.isEmpty()) {
+            return;
+        }
+        translations.forEach((key, translation) -> memory.put(key.hash(), translation));
+        virtualThreadExecutor.execute(() -> persist(translations));
+    }
+
+    private Map<String, String> fromDatabase(Set<String> hashes) {
+        try {
+            // a hash index has no uniqueness, so concurrent writers may have stored the same key twice
+            return repository.findAllByKeyHashIn(hashes).stream()
+                    .collect(Collectors.toMap(
+                            TranslationMemoryEntry::getKeyHash,
+                            TranslationMemoryEntry::getTranslation,
+                            (first, duplicate) -> first));
+        } catch (RuntimeException e) {
+            log.warn("Failed to read {} translations from memory", hashes.size(), e);
+            return Map.of();
+        }
+    }
+
+    private void persist(Map<Key, String> translations) {
+        try {
+            Map<String, Key> byHash = translations.keySet().stream()
+                    .collect(Collectors.toMap(Key::hash, Function.identity(), (a, b) -> a));
+            repository.findAllByKeyHashIn(byHash.keySet()).forEach(entry -> byHash.remove(entry.getKeyHash()));
+            if (byHash.isEmpty()) {
+                return;
+            }
+            repository.saveAll(byHash.values().stream()
+                    .map(key -> toEntry(key, translations.get(key)))
+                    .toList());
+        } catch (RuntimeException e) {
+            log.warn("Failed to persist {} translations", translations.size(), e);
+        }
+    }
+
+    private TranslationMemoryEntry toEntry(Key key, String translation) {
+        return TranslationMemoryEntry.builder()
+                .keyHash(key.hash())
+                .kind(key.kind())
+                .sourceLang(key.sourceLang())
+                .targetLang(key.targetLang())
+                .provider(key.provider())
+                .sourceText(key.text())
+                .translation(translation)
+                .createdAt(clock.instant())
+                .build();
+    }
+
+    private void count(String tier, int hits, int misses) {
+        meterRegistry.counter(LOOKUP_COUNTER, "tier", tier, "result", "hit").increment(hits);
+        meterRegistry.counter(LOOKUP_COUNTER, "tier", tier, "result", "miss").increment(misses);
+    }
+
+    /**
+     * NFC, trimmed, with runs of whitespace collapsed to a single space. Case is kept, since it changes translations.
+     */
+    static String normalize(String text) {
+        return WHITESPACE
+                .matcher(Normalizer.normalize(text, Normalizer.Form.NFC).strip())
+                .replaceAll(" ");
+    }
+
+    /**
+     * What a translation is remembered by. {@code sourceLang} is {@link #AUTO_DETECT} when the provider detected it.
+     */
+    public record Key(
+            TranslationKind kind, String sourceLang, String targetLang, String provider, String text, String hash) {
+
+        public static Key of(TranslationKind kind, String sourceLang, String targetLang, String provider, String text) {
+            String normalized = normalize(text);
+            String hash = Hashing.sha256()
+                    .hashString(
+                            String.join("\u0000", kind.name(), sourceLang, targetLang, provider, normalized),
+                            StandardCharsets.UTF_8)
+                    .toString();
+            return new Key(kind, sourceLang, targetLang, provider, normalized, hash);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && hash.equals(key.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash.hashCode();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.almonium.analyzer.translator.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.client.exception.UsageLimitExceededException;
+import com.almonium.analyzer.translator.dto.TranslationCardDto;
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.analyzer.translator.model.enums.TranslationKind;
+import com.almonium.config.properties.AnalyzerProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.gax.rpc.ResourceExhaustedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Picks translators for a language pair from the {@link TranslatorRoutingTable} and ranks them by observed latency
+ * and error rate. The best one is asked first; if it hasn't answered within {@code hedge-delay} the next one is asked
+ * too and the first useful answer wins. A failed or empty answer moves on to the next translator immediately.
+ * Translators with an open circuit (see {@link TranslatorHealth}) are skipped.
+ *
+ * <p>Before any translator is asked, the {@link TranslationMemory} is checked for a card one of the mapped translators
+ * already produced, in mapping priority order, and every fresh card is remembered.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class TranslationRouter {
+    static final String ATTEMPT_TIMER = "analyzer.translation.attempt";
+    static final String HEDGE_COUNTER = "analyzer.translation.hedged";
+    static final String OUTCOME_SUCCESS = "success";
+    static final String OUTCOME_EMPTY = "empty";
+    static final String OUTCOME_ERROR = "error";
+    static final String OUTCOME_QUOTA = "quota";
+
+    Map<String, TranslatorEngine> engines;
+    Map<String, TranslatorHealth> health = new ConcurrentHashMap<>();
+    TranslatorRoutingTable routingTable;
+    TranslationMemory translationMemory;
+    ObjectMapper objectMapper;
+    ExecutorService virtualThreadExecutor;
+    AnalyzerProperties.Translation properties;
+    MeterRegistry meterRegistry;
+    Clock clock;
+
+    @Autowired
+    public TranslationRouter(
+            List<TranslatorEngine> engines,
+            TranslatorRoutingTable routingTable,
+            TranslationMemory translationMemory,
+            ObjectMapper objectMapper,
+            ExecutorService virtualThreadExecutor,
+            AnalyzerProperties analyzerProperties,
+            MeterRegistry meterRegistry) {
+        this(
+                engines,
+                routingTable,
+                translationMemory,
+                objectMapper,
+                virtualThreadExecutor,
+                analyzerProperties.getTranslation(),
+                meterRegistry,
+                Clock.systemUTC());
+    }
+
+    TranslationRouter(
+            List<TranslatorEngine> engines,
+            TranslatorRoutingTable routingTable,
+            TranslationMemory translationMemory,
+            ObjectMapper objectMapper,
+            ExecutorService virtualThreadExecutor,
+            AnalyzerProperties.Translation properties,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.engines =
+                engines.stream().collect(Collectors.toUnmodifiableMap(TranslatorEngine::name, Function.identity()));
+        this.routingTable = routingTable;
+        this.translationMemory = translationMemory;
+        this.objectMapper = objectMapper;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    public TranslationCardDto translate(String entry, Language sourceLang, Language targetLang) {
+        return translate(entry, sourceLang, targetLang, () -> {});
+    }
+
+    /**
+     * Same as {@link #translate(String, Language, Language)}, but runs {@code beforeTranslators} on the calling thread
+     * once the memory has no card and a translator is about to be asked. An exception it throws aborts the translation.
+     */
+    public TranslationCardDto translate(
+            String entry, Language sourceLang, Language targetLang, Runnable beforeTranslators) {
+        List<TranslatorEngine> candidates = candidates(sourceLang, targetLang);
+        TranslationCardDto remembered = remembered(candidates, entry, sourceLang, targetLang);
+        if (remembered != null) {
+            return remembered;
+        }
+        List<TranslatorEngine> ranked = rank(candidates);
+        if (ranked.isEmpty()) {
+            log.debug("No translator available for {}-{}", sourceLang, targetLang);
+            return null;
+        }
+        beforeTranslators.run();
+        TranslationCardDto card = hedged(ranked, entry, sourceLang, targetLang);
+        if (card != null && card.getProvider() != null) {
+            remember(card, entry, sourceLang, targetLang);
+        }
+        return card;
+    }
+
+    private TranslationCardDto remembered(
+            List<TranslatorEngine> candidates, String entry, Language sourceLang, Language targetLang) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        // circuit state doesn't matter here, a remembered card costs nothing
+        List<TranslationMemory.Key> keys = candidates.stream()
+                .map(engine -> keyOf(engine.name(), entry, sourceLang, targetLang))
+                .toList();
+        Map<TranslationMemory.Key, String> found = translationMemory.findAll(keys);
+        for (TranslationMemory.Key key : keys) {
+            String json = found.get(key);
+            if (json == null) {
+                continue;
+            }
+            try {
+                return objectMapper.readValue(json, TranslationCardDto.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Ignoring unreadable remembered {} card for '{}'", key.provider(), entry, e);
+            }
+        }
+        return null;
+    }
+
+    private void remember(TranslationCardDto card, String entry, Language sourceLang, Language targetLang) {
+        try {
+            translationMemory.save(
+                    keyOf(card.getProvider(), entry, sourceLang, targetLang), objectMapper.writeValueAsString(card));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to remember {} card for '{}'", card.getProvider(), entry, e);
+        }
+    }
+
+    private static TranslationMemory.Key keyOf(
+            String provider, String entry, Language sourceLang, Language targetLang) {
+        return TranslationMemory.Key.of(TranslationKind.CARD, sourceLang.name(), targetLang.name(), provider, entry);
+    }
+
+    List<TranslatorEngine> candidates(Language sourceLang, Language targetLang) {
+        List<TranslatorEngine> candidates = new ArrayList<>();
+        for (String name : routingTable.translatorsFor(sourceLang, targetLang)) {
+            TranslatorEngine engine = engines.get(name);
+            if (engine == null) {
+                log.warn("Translator {} is mapped but has no engine", name);
+            } else {
+                candidates.add(engine);
+            }
+        }
+        return candidates;
+    }
+
+    private List<TranslatorEngine> rank(List<TranslatorEngine> candidates) {
+        // stable sort, so translators without observations keep their mapping priority
+        return candidates.stream()
+                .filter(engine -> healthOf(engine).isAvailable(clock.instant()))
+                .sorted(Comparator.comparingDouble(engine -> healthOf(engine).score()))
+                .toList();
+    }
+
+    private TranslationCardDto hedged(
+            List<TranslatorEngine> ranked, String entry, Language sourceLang, Language targetLang) {
+        BlockingQueue<Attempt> completed = new LinkedBlockingQueue<>();
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        int next = 0;
+        int running = 0;
+
+        launch(ranked.get(next++), entry, sourceLang, targetLang, completed);
+        running++;
+
+        while (running > 0) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                log.warn("Translation of '{}' to {} timed out", entry, targetLang);
+                return null;
+            }
+            long wait =
+                    next < ranked.size() ? Math.min(properties.getHedgeDelay().toNanos(), remaining) : remaining;
+            Attempt attempt;
+            try {
+                attempt = completed.poll(wait, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            if (attempt == null) {
+                if (next < ranked.size()) {
+                    meterRegistry.counter(HEDGE_COUNTER).increment();
+                    launch(ranked.get(next++), entry, sourceLang, targetLang, completed);
+                    running++;
+                }
+                continue;
+            }
+            running--;
+            if (attempt.card() != null) {
+                return attempt.card();
+            }
+            if (next < ranked.size()) {
+                launch(ranked.get(next++), entry, sourceLang, targetLang, completed);
+                running++;
+            }
+        }
+        return null;
+    }
+
+    private void launch(
+            TranslatorEngine engine,
+            String entry,
+            Language sourceLang,
+            Language targetLang,
+            BlockingQueue<Attempt> completed) {
+        long startedAt = System.nanoTime();
+        CompletableFuture.supplyAsync(() -> engine.translate(entry, sourceLang, targetLang), virtualThreadExecutor)
+                .whenComplete((card, ex) -> {
+                    long elapsed = System.nanoTime() - startedAt;
+                    Throwable error = ex instanceof CompletionException ? ex.getCause() : ex;
+                    String outcome = record(engine, elapsed, card, error);
+                    Timer.builder(ATTEMPT_TIMER)
+                            .tag("translator", engine.name())
+                            .tag("outcome", outcome)
+                            .register(meterRegistry)
+                            .record(elapsed, TimeUnit.NANOSECONDS);
+                    completed.offer(new Attempt(engine, error == null ? card : null));
+                });
+    }
+
+    private String record(TranslatorEngine engine, long elapsed, TranslationCardDto card, Throwable error) {
+        TranslatorHealth translatorHealth = healthOf(engine);
+        if (error == null) {
+            translatorHealth.recordSuccess(elapsed);
+            return card == null ? OUTCOME_EMPTY : OUTCOME_SUCCESS;
+        }
+        boolean quotaExceeded = isQuotaError(error);
+        translatorHealth.recordFailure(elapsed, quotaExceeded, clock.instant());
+        if (quotaExceeded) {
+            log.error(
+                    "{} quota exceeded, taking it out of rotation for {}",
+                    engine.name(),
+                    properties.getQuotaCooldown());
+            return OUTCOME_QUOTA;
+        }
+        log.warn("{} failed to translate: {}", engine.name(), error.getMessage());
+        return OUTCOME_ERROR;
+    }
+
+    private TranslatorHealth healthOf(TranslatorEngine engine) {
+        return health.computeIfAbsent(engine.name(), name -> new TranslatorHealth(properties));
+    }
+
+    static boolean isQuotaError(Throwable error) {
+        if (error instanceof HttpStatusCodeException httpError) {
+            int status = httpError.getStatusCode().value();
+            return status == HttpStatus.FORBIDDEN.value() || status == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        // our own daily budget running out is handled like the provider's quota running out
+        return error instanceof ResourceExhaustedException || error instanceof UsageLimitExceededException;
+    }
+
+    private record Attempt(TranslatorEngine engine, TranslationCardDto card) {}
+}
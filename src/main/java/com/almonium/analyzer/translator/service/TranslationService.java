@@ -1,9 +1,14 @@
 package com.almonium.analyzer.translator.service;
 
 import com.google.protobuf.ByteString;
+import java.util.List;
 
 public interface TranslationService {
     ByteString textToSpeech(String languageCode, String text);
 
     String bulkTranslateText(String text, String code);
+
+    List<String> bulkTranslateTexts(List<String> texts, String code);
+
+    String translateText(String text, String sourceCode, String targetCode);
 }
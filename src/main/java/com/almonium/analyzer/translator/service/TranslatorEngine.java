@@ -0,0 +1,13 @@
+package com.almonium.analyzer.translator.service;
+
+import com.almonium.analyzer.translator.dto.TranslationCardDto;
+import com.almonium.analyzer.translator.model.enums.Language;
+
+public interface TranslatorEngine {
+    /**
+     * Name of the engine, matches {@code Translator.name}.
+     */
+    String name();
+
+    TranslationCardDto translate(String entry, Language sourceLang, Language targetLang);
+}
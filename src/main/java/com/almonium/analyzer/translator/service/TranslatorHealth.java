@@ -0,0 +1,77 @@
+package com.almonium.analyzer.translator.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.config.properties.AnalyzerProperties;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Observed latency and error rate of one translator (exponentially weighted), plus its circuit breaker.
+ * A quota error opens the circuit for {@code quota-cooldown}; {@code failure-threshold} consecutive errors open it
+ * for {@code failure-cooldown}. Once the cooldown is over the translator is back in rotation, but the first
+ * failure reopens the circuit right away.
+ */
+@FieldDefaults(level = PRIVATE)
+class TranslatorHealth {
+    final AnalyzerProperties.Translation properties;
+
+    double latencyMillis;
+    double errorRate;
+    boolean measured;
+    int consecutiveFailures;
+    Instant openUntil;
+
+    TranslatorHealth(AnalyzerProperties.Translation properties) {
+        this.properties = properties;
+    }
+
+    synchronized boolean isAvailable(Instant now) {
+        return openUntil == null || !now.isBefore(openUntil);
+    }
+
+    synchronized double score() {
+        if (!measured) {
+            return 0;
+        }
+        return latencyMillis * (1 + properties.getErrorPenalty() * errorRate);
+    }
+
+    synchronized void recordSuccess(long elapsedNanos) {
+        record(elapsedNanos, 0);
+        consecutiveFailures = 0;
+        openUntil = null;
+    }
+
+    synchronized void recordFailure(long elapsedNanos, boolean quotaExceeded, Instant now) {
+        record(elapsedNanos, 1);
+        consecutiveFailures++;
+        boolean halfOpen = openUntil != null;
+        if (quotaExceeded) {
+            open(now, properties.getQuotaCooldown());
+        } else if (halfOpen || consecutiveFailures >= properties.getFailureThreshold()) {
+            open(now, properties.getFailureCooldown());
+        }
+    }
+
+    private void open(Instant now, Duration cooldown) {
+        Instant until = now.plus(cooldown);
+        if (openUntil == null || until.isAfter(openUntil)) {
+            openUntil = until;
+        }
+    }
+
+    private void record(long elapsedNanos, double error) {
+        double millis = elapsedNanos / 1_000_000.0;
+        double alpha = properties.getEwmaAlpha();
+        if (!measured) {
+            latencyMillis = millis;
+            errorRate = error;
+            measured = true;
+        } else {
+            latencyMillis += alpha * (millis - latencyMillis);
+            errorRate += alpha * (error - errorRate);
+        }
+    }
+}
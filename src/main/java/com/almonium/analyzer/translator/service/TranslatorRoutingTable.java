@@ -0,0 +1,74 @@
+package com.almonium.analyzer.translator.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.translator.model.entity.LangPairTranslatorMapping;
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.analyzer.translator.repository.LangPairTranslatorRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Immutable snapshot of {@code lang_pair_translator_mapping}, indexed by source and target language. Routing a
+ * translation is two array lookups; the snapshot is rebuilt in the background and swapped in only when the
+ * mappings have changed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class TranslatorRoutingTable {
+    LangPairTranslatorRepository langPairTranslatorRepository;
+    AtomicReference<Map<Language, Map<Language, List<String>>>> routes = new AtomicReference<>(Map.of());
+
+    /**
+     * Translator names for the pair, best priority first. Empty if the pair isn't supported.
+     */
+    public List<String> translatorsFor(Language sourceLang, Language targetLang) {
+        Map<Language, List<String>> byTarget = routes.get().get(sourceLang);
+        if (byTarget == null) {
+            return List.of();
+        }
+        return byTarget.getOrDefault(targetLang, List.of());
+    }
+
+    @PostConstruct
+    @Scheduled(
+            initialDelayString = "${analyzer.translation.routing-refresh:PT10M}",
+            fixedDelayString = "${analyzer.translation.routing-refresh:PT10M}")
+    public void refresh() {
+        Map<Language, Map<Language, List<String>>> loaded = build(langPairTranslatorRepository.findAllWithTranslator());
+        if (!loaded.equals(routes.get())) {
+            routes.set(loaded);
+            log.info("Loaded translator routes for {} source languages", loaded.size());
+        }
+    }
+
+    static Map<Language, Map<Language, List<String>>> build(List<LangPairTranslatorMapping> mappings) {
+        // mappings arrive ordered by priority, so appending keeps each list in routing order
+        Map<Language, Map<Language, List<String>>> mutable = new EnumMap<>(Language.class);
+        for (LangPairTranslatorMapping mapping : mappings) {
+            mutable.computeIfAbsent(mapping.getSourceLang(), lang -> new EnumMap<>(Language.class))
+                    .computeIfAbsent(mapping.getTargetLang(), lang -> new ArrayList<>())
+                    .add(mapping.getTranslator().getName());
+        }
+
+        Map<Language, Map<Language, List<String>>> snapshot = new EnumMap<>(Language.class);
+        mutable.forEach((source, byTarget) -> {
+            Map<Language, List<String>> frozen = new EnumMap<>(Language.class);
+            byTarget.forEach((target, names) -> frozen.put(target, List.copyOf(names)));
+            snapshot.put(source, Collections.unmodifiableMap(frozen));
+        });
+        return Collections.unmodifiableMap(snapshot);
+    }
+}
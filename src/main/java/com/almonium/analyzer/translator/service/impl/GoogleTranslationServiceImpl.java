@@ -2,6 +2,8 @@ package com.almonium.analyzer.translator.service.impl;
 
 import static lombok.AccessLevel.PRIVATE;
 
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.analyzer.client.usage.UsageMeter;
 import com.almonium.analyzer.translator.service.TranslationService;
 import com.google.cloud.texttospeech.v1.AudioConfig;
 import com.google.cloud.texttospeech.v1.AudioEncoding;
@@ -13,8 +15,10 @@ import com.google.cloud.texttospeech.v1.VoiceSelectionParams;
 import com.google.cloud.translate.v3.LocationName;
 import com.google.cloud.translate.v3.TranslateTextRequest;
 import com.google.cloud.translate.v3.TranslateTextResponse;
+import com.google.cloud.translate.v3.Translation;
 import com.google.cloud.translate.v3.TranslationServiceClient;
 import com.google.protobuf.ByteString;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.experimental.FieldDefaults;
@@ -24,13 +28,17 @@ import org.springframework.stereotype.Service;
 @AllArgsConstructor
 @FieldDefaults(level = PRIVATE)
 public class GoogleTranslationServiceImpl implements TranslationService {
+    public static final String VOICE = SsmlVoiceGender.NEUTRAL.name() + "/" + AudioEncoding.MP3.name();
+
     TranslationServiceClient translationClient;
     TextToSpeechClient textToSpeechClient;
     LocationName parent;
+    UsageMeter usageMeter;
 
     @SneakyThrows
     @Override
     public ByteString textToSpeech(String languageCode, String text) {
+        usageMeter.acquire(ApiProvider.GOOGLE_TTS, text.length());
         SynthesisInput input = SynthesisInput.newBuilder().setText(text).build();
         VoiceSelectionParams voice = VoiceSelectionParams.newBuilder()
                 .setLanguageCode(languageCode)
@@ -44,6 +52,7 @@ public class GoogleTranslationServiceImpl implements TranslationService {
 
     @Override
     public String bulkTranslateText(String text, String targetLanguage) {
+        usageMeter.acquire(ApiProvider.GOOGLE_TRANSLATE, text.length());
         TranslateTextRequest request = TranslateTextRequest.newBuilder()
                 .setParent(parent.toString())
                 .setMimeType("text/plain")
@@ -60,4 +69,49 @@ public class GoogleTranslationServiceImpl implements TranslationService {
         }
         return response.getTranslationsList().get(0).getTranslatedText();
     }
+
+    @Override
+    public List<String> bulkTranslateTexts(List<String> texts, String targetLanguage) {
+        if (texts.isEmpty()) {
+            return List.of();
+        }
+        usageMeter.acquire(
+                ApiProvider.GOOGLE_TRANSLATE,
+                texts.stream().mapToLong(String::length).sum());
+        TranslateTextRequest request = TranslateTextRequest.newBuilder()
+                .setParent(parent.toString())
+                .setMimeType("text/plain")
+                .setTargetLanguageCode(targetLanguage)
+                .addAllContents(texts)
+                .build();
+
+        TranslateTextResponse response = translationClient.translateText(request);
+
+        if (response.getTranslationsCount() != texts.size()) {
+            throw new IllegalStateException(
+                    "Expected " + texts.size() + " translations, got " + response.getTranslationsCount());
+        }
+        return response.getTranslationsList().stream()
+                .map(Translation::getTranslatedText)
+                .toList();
+    }
+
+    @Override
+    public String translateText(String text, String sourceLanguage, String targetLanguage) {
+        usageMeter.acquire(ApiProvider.GOOGLE_TRANSLATE, text.length());
+        TranslateTextRequest request = TranslateTextRequest.newBuilder()
+                .setParent(parent.toString())
+                .setMimeType("text/plain")
+                .setSourceLanguageCode(sourceLanguage)
+                .setTargetLanguageCode(targetLanguage)
+                .addContents(text)
+                .build();
+
+        TranslateTextResponse response = translationClient.translateText(request);
+
+        if (response.getTranslationsList().isEmpty()) {
+            return "";
+        }
+        return response.getTranslationsList().get(0).getTranslatedText();
+    }
 }
@@ -0,0 +1,46 @@
+package com.almonium.analyzer.translator.service.impl;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.translator.dto.DefinitionDto;
+import com.almonium.analyzer.translator.dto.TranslationCardDto;
+import com.almonium.analyzer.translator.dto.TranslationDto;
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.analyzer.translator.service.TranslationService;
+import com.almonium.analyzer.translator.service.TranslatorEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Service;
+
+/**
+ * Machine translation of a single entry. Google returns one translation and no dictionary data,
+ * so the card has a single definition with a single translation.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class GoogleTranslatorEngine implements TranslatorEngine {
+    public static final String NAME = "GOOGLE";
+
+    TranslationService googleService;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public TranslationCardDto translate(String entry, Language sourceLang, Language targetLang) {
+        String translated = googleService.translateText(entry, sourceLang.name(), targetLang.name());
+        if (translated.isEmpty()) {
+            return null;
+        }
+        DefinitionDto definition = DefinitionDto.builder()
+                .text(entry)
+                .translations(new TranslationDto[] {
+                    TranslationDto.builder().text(translated).build()
+                })
+                .build();
+        return new TranslationCardDto(NAME, new DefinitionDto[] {definition});
+    }
+}
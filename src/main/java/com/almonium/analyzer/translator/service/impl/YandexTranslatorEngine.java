@@ -0,0 +1,42 @@
+package com.almonium.analyzer.translator.service.impl;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.analyzer.mapper.DictionaryDtoMapper;
+import com.almonium.analyzer.client.yandex.YandexClient;
+import com.almonium.analyzer.client.yandex.dto.YandexDto;
+import com.almonium.analyzer.translator.dto.TranslationCardDto;
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.analyzer.translator.service.TranslatorEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.apache.commons.lang3.ArrayUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class YandexTranslatorEngine implements TranslatorEngine {
+    private static final String NAME = "YANDEX";
+
+    YandexClient yandexClient;
+    DictionaryDtoMapper dictionaryDtoMapper;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public TranslationCardDto translate(String entry, Language sourceLang, Language targetLang) {
+        ResponseEntity<YandexDto> response = yandexClient.translate(entry, sourceLang, targetLang);
+        TranslationCardDto card = dictionaryDtoMapper.yandexToGeneral(response.getBody());
+        // no dictionary entry, let the router ask the next translator
+        if (card == null || ArrayUtils.isEmpty(card.getDefinitions())) {
+            return null;
+        }
+        card.setProvider(NAME);
+        return card;
+    }
+}
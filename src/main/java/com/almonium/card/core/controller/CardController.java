@@ -7,15 +7,23 @@ import com.almonium.auth.common.annotation.Auth;
 import com.almonium.card.core.dto.request.CardCreationDto;
 import com.almonium.card.core.dto.request.CardUpdateDto;
 import com.almonium.card.core.dto.response.CardDto;
+import com.almonium.card.core.dto.response.CardImportJobDto;
+import com.almonium.card.core.dto.response.CardPageDto;
+import com.almonium.card.core.model.enums.CardImportFormat;
+import com.almonium.card.core.service.CardImportService;
 import com.almonium.card.core.service.CardService;
 import com.almonium.user.core.model.entity.User;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,7 +32,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Learning")
 @RestController
@@ -33,6 +44,7 @@ import org.springframework.web.bind.annotation.RestController;
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 public class CardController {
     CardService cardService;
+    CardImportService cardImportService;
 
     @PostMapping
     public ResponseEntity<Void> createCard(@Valid @RequestBody CardCreationDto dto, @Auth User user) {
@@ -51,6 +63,41 @@ public class CardController {
         return ResponseEntity.ok(cardService.getUsersCardsOfLang(user, lang));
     }
 
+    @GetMapping("/lang/{lang}/page")
+    public ResponseEntity<CardPageDto> getCardPageOfLang(
+            @PathVariable Language lang,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @Auth User user) {
+        return ResponseEntity.ok(cardService.getUsersCardsPage(user, lang, cursor, limit));
+    }
+
+    @GetMapping(value = "/lang/{lang}/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCardStackOfLang(@PathVariable Language lang, @Auth User user) {
+        return ResponseEntity.ok()
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment()
+                                .filename("cards-" + lang.name().toLowerCase(Locale.ROOT) + ".json")
+                                .build()
+                                .toString())
+                .body(out -> cardService.exportCards(user, lang, out));
+    }
+
+    @PostMapping(value = "/lang/{lang}/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<CardImportJobDto> importCardsOfLang(
+            @PathVariable Language lang,
+            @RequestParam CardImportFormat format,
+            @RequestParam MultipartFile file,
+            @Auth User user) {
+        return ResponseEntity.accepted().body(cardImportService.startImport(user, lang, format, file));
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<CardImportJobDto> getImport(@PathVariable UUID jobId, @Auth User user) {
+        return ResponseEntity.ok(cardImportService.getImport(user, jobId));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CardDto> getCard(@PathVariable UUID id) {
         return ResponseEntity.ok(cardService.getCardById(id));
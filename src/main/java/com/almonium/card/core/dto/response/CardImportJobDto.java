@@ -0,0 +1,20 @@
+package com.almonium.card.core.dto.response;
+
+import com.almonium.card.core.model.enums.CardImportFormat;
+import com.almonium.card.core.model.enums.CardImportStatus;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Progress of a card import. {@code skipped} counts rows that were malformed or duplicate an existing card;
+ * {@code error} is only set when the import {@code FAILED}, in which case the cards imported so far are kept.
+ */
+public record CardImportJobDto(
+        UUID id,
+        CardImportFormat format,
+        CardImportStatus status,
+        int imported,
+        int skipped,
+        String error,
+        Instant startedAt,
+        Instant finishedAt) {}
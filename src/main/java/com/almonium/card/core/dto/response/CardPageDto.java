@@ -0,0 +1,8 @@
+package com.almonium.card.core.dto.response;
+
+import java.util.List;
+
+/**
+ * One page of a learner's cards, most recently updated first. {@code nextCursor} is {@code null} on the last page.
+ */
+public record CardPageDto(List<CardDto> cards, String nextCursor) {}
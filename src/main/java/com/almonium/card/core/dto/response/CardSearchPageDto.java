@@ -0,0 +1,8 @@
+package com.almonium.card.core.dto.response;
+
+import java.util.List;
+
+/**
+ * One page of search results, best match first. {@code nextCursor} is {@code null} on the last page.
+ */
+public record CardSearchPageDto(List<CardDto> cards, String nextCursor) {}
@@ -16,6 +16,9 @@ public interface CardMapper {
     @Mapping(target = "id", expression = "java(null)")
     Card copyCardDtoToEntity(CardDto dto);
 
+    // translations and examples are matched by id against the card's own, see CardService.updateCard
+    @Mapping(target = "translations", ignore = true)
+    @Mapping(target = "examples", ignore = true)
     void update(CardUpdateDto dto, @MappingTarget Card card);
 
     @Mapping(target = "tags", source = "cardTags")
@@ -26,6 +26,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -40,6 +41,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @FieldDefaults(level = PRIVATE)
 @EntityListeners(AuditingEntityListener.class)
 public class Card {
+    // a page of cards initializes each collection with one select instead of one per card
+    public static final int ASSOCIATION_BATCH_SIZE = 100;
 
     @Id
     @UuidV7
@@ -65,14 +68,17 @@ public class Card {
 
     @Builder.Default
     @OneToMany(mappedBy = "card")
+    @BatchSize(size = ASSOCIATION_BATCH_SIZE)
     List<Example> examples = new ArrayList<>();
 
     @Builder.Default
     @OneToMany(mappedBy = "card")
+    @BatchSize(size = ASSOCIATION_BATCH_SIZE)
     List<Translation> translations = new ArrayList<>();
 
     @Builder.Default
     @OneToMany(mappedBy = "card")
+    @BatchSize(size = ASSOCIATION_BATCH_SIZE)
     Set<CardTag> cardTags = new HashSet<>();
 
     @Builder.Default
@@ -0,0 +1,9 @@
+package com.almonium.card.core.model.entity;
+
+import java.util.UUID;
+
+public interface CardSearchHit {
+    UUID getId();
+
+    float getRank();
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
@@ -18,6 +19,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.ColumnTransformer;
 
 @Entity
@@ -28,9 +30,9 @@ import org.hibernate.annotations.ColumnTransformer;
 @AllArgsConstructor
 @EqualsAndHashCode(of = {"id"})
 @FieldDefaults(level = PRIVATE)
+@BatchSize(size = Card.ASSOCIATION_BATCH_SIZE)
 public class Tag {
-    private static final String WHITESPACE_PATTERN = "\\s+";
-    private static final String CONNECTING_SYMBOL = "_";
+    private static final char CONNECTING_SYMBOL = '_';
 
     @Id
     @UuidV7
@@ -52,11 +54,58 @@ public class Tag {
         id = tagId;
     }
 
+    /**
+     * Trims the text, joins its words with {@code _} and lowercases it. Text that is already normalized is returned
+     * as is, without allocating.
+     */
     public static String normalizeText(String text) {
         if (text == null) {
             throw new IllegalArgumentException("Text cannot be null for normalization");
         }
-        return text.trim().replaceAll(WHITESPACE_PATTERN, CONNECTING_SYMBOL).toLowerCase();
+        String trimmed = text.trim();
+        int length = trimmed.length();
+        int first = 0;
+        while (first < length && isNormalized(trimmed.charAt(first))) {
+            first++;
+        }
+        if (first == length) {
+            return trimmed;
+        }
+
+        StringBuilder normalized = new StringBuilder(length).append(trimmed, 0, first);
+        boolean asciiOnly = true;
+        boolean inWhitespace = false;
+        for (int i = first; i < length; i++) {
+            char c = trimmed.charAt(i);
+            if (isWhitespace(c)) {
+                if (!inWhitespace) {
+                    normalized.append(CONNECTING_SYMBOL);
+                }
+                inWhitespace = true;
+                continue;
+            }
+            inWhitespace = false;
+            if (c >= 'A' && c <= 'Z') {
+                normalized.append((char) (c + ('a' - 'A')));
+            } else {
+                asciiOnly &= c < 0x80;
+                normalized.append(c);
+            }
+        }
+        // some non-ASCII letters lowercase to more than one char, which only String#toLowerCase gets right
+        return asciiOnly ? normalized.toString() : normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isNormalized(char c) {
+        if (c < 0x80) {
+            return !isWhitespace(c) && (c < 'A' || c > 'Z');
+        }
+        return !Character.isSurrogate(c) && Character.toLowerCase(c) == c;
+    }
+
+    // the characters of the regex \s
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
     }
 
     @PrePersist
@@ -0,0 +1,9 @@
+package com.almonium.card.core.model.entity;
+
+import java.util.UUID;
+
+public interface TagIdText {
+    UUID getId();
+
+    String getText();
+}
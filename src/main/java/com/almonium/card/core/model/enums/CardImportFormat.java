@@ -0,0 +1,13 @@
+package com.almonium.card.core.model.enums;
+
+public enum CardImportFormat {
+    /**
+     * Comma-separated, with a header row naming the {@code entry}, {@code translations}, {@code examples} and
+     * {@code tags} columns; the last three hold {@code ;}-separated values.
+     */
+    CSV,
+    /**
+     * Anki's "Notes in Plain Text" export: front, back and an optional example per note.
+     */
+    ANKI
+}
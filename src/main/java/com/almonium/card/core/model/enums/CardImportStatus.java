@@ -0,0 +1,7 @@
+package com.almonium.card.core.model.enums;
+
+public enum CardImportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -2,20 +2,82 @@ package com.almonium.card.core.repository;
 
 import com.almonium.analyzer.translator.model.enums.Language;
 import com.almonium.card.core.model.entity.Card;
+import com.almonium.card.core.model.entity.CardSearchHit;
 import com.almonium.user.core.model.entity.Learner;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface CardRepository extends JpaRepository<Card, UUID> {
     List<Card> findAllByOwner(Learner owner);
 
     List<Card> findAllByOwnerAndLanguage(Learner owner, Language language);
 
+    @Query("select c from Card c where c.owner = :owner order by c.updatedAt desc, c.id desc")
+    List<Card> findFirstPageByOwner(Learner owner, Limit limit);
+
+    @Query(
+            """
+            select c from Card c
+            where c.owner = :owner
+              and (c.updatedAt < :updatedAt or (c.updatedAt = :updatedAt and c.id < :id))
+            order by c.updatedAt desc, c.id desc
+            """)
+    List<Card> findPageByOwnerAfter(Learner owner, Instant updatedAt, UUID id, Limit limit);
+
+    /**
+     * Must be consumed inside a read-only transaction, which lets the driver fetch rows in batches from a cursor.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Card.ASSOCIATION_BATCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Card c where c.owner = :owner order by c.updatedAt desc, c.id desc")
+    Stream<Card> streamAllByOwner(Learner owner);
+
     void deleteAllByOwnerAndLanguage(Learner owner, Language language);
 
-    List<Card> findAllByOwnerAndEntryLikeIgnoreCase(Learner owner, String entry);
+    /**
+     * Cards of the owner whose entry contains or resembles {@code query}, or whose translations or examples contain
+     * its words, ranked by trigram similarity of the entry and keyset-paginated after {@code (afterRank, afterId)}.
+     * {@code query} must be lowercased, and {@code pattern} is it as a LIKE pattern with wildcards escaped.
+     */
+    @Query(
+            value =
+                    """
+            select m.id as id, m.rank as rank
+            from (
+                select c.id, similarity(lower(c.entry), :query) as rank
+                from {h-schema}card c
+                where c.owner_id = :ownerId
+                  and c.language = :language
+                  and (lower(c.entry) like :pattern escape '\\'
+                       or lower(c.entry) % :query
+                       or c.id in (select t.card_id from {h-schema}translation t
+                                   where to_tsvector('simple', t.translation) @@ plainto_tsquery('simple', :query))
+                       or c.id in (select e.card_id from {h-schema}example e
+                                   where to_tsvector('simple', e.example) @@ plainto_tsquery('simple', :query)))
+            ) m
+            where m.rank < :afterRank or (m.rank = :afterRank and m.id > :afterId)
+            order by m.rank desc, m.id
+            limit :limit
+            """,
+            nativeQuery = true)
+    List<CardSearchHit> search(
+            UUID ownerId, String language, String query, String pattern, float afterRank, UUID afterId, int limit);
+
+    @Query("select lower(c.entry) from Card c where c.owner.id = :ownerId and lower(c.entry) in :entries")
+    Set<String> findExistingEntries(UUID ownerId, Collection<String> entries);
 
     Optional<Card> getByPublicId(UUID id);
 }
@@ -4,8 +4,11 @@ import com.almonium.card.core.model.entity.Card;
 import com.almonium.card.core.model.entity.CardTag;
 import com.almonium.card.core.model.entity.pk.CardTagPK;
 import com.almonium.user.core.model.entity.Learner;
+import java.util.Collection;
 import java.util.Set;
+import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -13,6 +16,7 @@ public interface CardTagRepository extends JpaRepository<CardTag, CardTagPK> {
     @Query("select distinct c.tag.id from CardTag c where c.learner = :learner")
     Set<Long> getLearnersTags(@Param("learner") Learner learner);
 
-    @Query(value = "from CardTag CT where CT.card = :card and CT.tag.text = :text")
-    CardTag getByCardAndText(Card card, String text);
+    @Modifying
+    @Query("delete from CardTag ct where ct.card = :card and ct.tag.id in :tagIds")
+    int deleteAllByCardAndTagIdIn(Card card, Collection<UUID> tagIds);
 }
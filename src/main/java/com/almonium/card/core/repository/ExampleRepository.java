@@ -1,7 +1,15 @@
 package com.almonium.card.core.repository;
 
+import com.almonium.card.core.model.entity.Card;
 import com.almonium.card.core.model.entity.Example;
+import java.util.Collection;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
-public interface ExampleRepository extends JpaRepository<Example, UUID> {}
+public interface ExampleRepository extends JpaRepository<Example, UUID> {
+    @Modifying
+    @Query("delete from Example e where e.card = :card and e.id in :ids")
+    int deleteAllByCardAndIdIn(Card card, Collection<UUID> ids);
+}
@@ -1,14 +1,40 @@
 package com.almonium.card.core.repository;
 
 import com.almonium.card.core.model.entity.Tag;
-import java.util.Optional;
+import com.almonium.card.core.model.entity.TagIdText;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface TagRepository extends JpaRepository<Tag, UUID> {
-    Optional<Tag> findByText(String text);
+    List<Tag> findAllByTextIn(Collection<String> texts);
 
-    default Optional<Tag> findByTextWithNormalization(String text) {
-        return findByText(Tag.normalizeText(text));
-    }
+    @Query("select t.id as id, t.text as text from Tag t order by t.id desc")
+    List<TagIdText> findNewest(Limit limit);
+
+    /**
+     * Inserts the tags whose text doesn't exist yet and returns the id of every given text, in one statement.
+     * Texts another transaction inserted after this statement started are missing from the result.
+     */
+    @Query(
+            value =
+                    """
+            with input as (
+                select * from unnest(cast(:ids as uuid[]), cast(:texts as varchar[])) as i(id, text)
+            ),
+            inserted as (
+                insert into {h-schema}tag (id, text)
+                select id, text from input
+                on conflict (text) do nothing
+                returning id, text
+            )
+            select id, text from inserted
+            union all
+            select t.id, t.text from {h-schema}tag t join input i on t.text = i.text
+            """,
+            nativeQuery = true)
+    List<TagIdText> insertMissing(UUID[] ids, String[] texts);
 }
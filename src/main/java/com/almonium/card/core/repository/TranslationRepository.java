@@ -1,7 +1,15 @@
 package com.almonium.card.core.repository;
 
+import com.almonium.card.core.model.entity.Card;
 import com.almonium.card.core.model.entity.Translation;
+import java.util.Collection;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
-public interface TranslationRepository extends JpaRepository<Translation, UUID> {}
+public interface TranslationRepository extends JpaRepository<Translation, UUID> {
+    @Modifying
+    @Query("delete from Translation t where t.card = :card and t.id in :ids")
+    int deleteAllByCardAndIdIn(Card card, Collection<UUID> ids);
+}
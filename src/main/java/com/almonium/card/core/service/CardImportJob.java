@@ -0,0 +1,69 @@
+package com.almonium.card.core.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.card.core.dto.response.CardImportJobDto;
+import com.almonium.card.core.model.enums.CardImportFormat;
+import com.almonium.card.core.model.enums.CardImportStatus;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+/**
+ * Progress of one running import. Only the import's own thread writes it; requests polling for progress read it.
+ */
+@Getter
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+class CardImportJob {
+    UUID id = UUID.randomUUID();
+    UUID userId;
+    CardImportFormat format;
+    Instant startedAt = Instant.now();
+
+    @NonFinal
+    volatile CardImportStatus status = CardImportStatus.RUNNING;
+
+    @NonFinal
+    volatile int imported;
+
+    @NonFinal
+    volatile int skipped;
+
+    @NonFinal
+    volatile String error;
+
+    @NonFinal
+    volatile Instant finishedAt;
+
+    CardImportJob(UUID userId, CardImportFormat format) {
+        this.userId = userId;
+        this.format = format;
+    }
+
+    void progress(int imported, int skipped) {
+        this.imported = imported;
+        this.skipped = skipped;
+    }
+
+    void complete() {
+        finish(CardImportStatus.COMPLETED, null);
+    }
+
+    void fail(String error) {
+        finish(CardImportStatus.FAILED, error);
+    }
+
+    private void finish(CardImportStatus status, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        // written last, so a reader that sees the final status also sees the rest
+        this.status = status;
+    }
+
+    CardImportJobDto toDto() {
+        CardImportStatus currentStatus = status;
+        return new CardImportJobDto(id, format, currentStatus, imported, skipped, error, startedAt, finishedAt);
+    }
+}
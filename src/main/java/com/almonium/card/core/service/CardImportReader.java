@@ -0,0 +1,237 @@
+package com.almonium.card.core.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.card.core.model.enums.CardImportFormat;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.jsoup.Jsoup;
+
+/**
+ * Turns an uploaded CSV or Anki export into {@link ImportedCard}s, one record at a time, so a deck is never held in
+ * memory whole. Records without an entry or a translation, or with a value too long for its column, are skipped and
+ * counted.
+ */
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+final class CardImportReader implements Closeable {
+    static final int MAX_VALUE_LENGTH = 255;
+    private static final int ABSENT = -1;
+    private static final Pattern CSV_VALUE_SEPARATOR = Pattern.compile(";");
+    private static final Pattern ANKI_TAG_SEPARATOR = Pattern.compile("\\s+");
+    private static final char ANKI_HEADER = '#';
+
+    DelimitedRecordReader records;
+    Layout layout;
+
+    @NonFinal
+    int skipped;
+
+    private CardImportReader(DelimitedRecordReader records, Layout layout) {
+        this.records = records;
+        this.layout = layout;
+    }
+
+    static CardImportReader open(InputStream in, CardImportFormat format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return switch (format) {
+            case CSV -> {
+                DelimitedRecordReader records = new DelimitedRecordReader(reader, ',');
+                yield new CardImportReader(records, csvLayout(records.next()));
+            }
+            case ANKI -> {
+                DelimitedRecordReader records = new DelimitedRecordReader(reader, '\t');
+                yield new CardImportReader(records, ankiLayout(records));
+            }
+        };
+    }
+
+    /**
+     * Returns the next valid card, or {@code null} at the end of the input.
+     */
+    ImportedCard next() throws IOException {
+        List<String> fields;
+        while ((fields = records.next()) != null) {
+            if (fields.size() == 1 && fields.getFirst().isBlank()) {
+                continue;
+            }
+            ImportedCard card = layout.toCard(fields);
+            if (card != null) {
+                return card;
+            }
+            skipped++;
+        }
+        return null;
+    }
+
+    int skipped() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        records.close();
+    }
+
+    private static Layout csvLayout(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV file is empty");
+        }
+        List<String> columns = header.stream()
+                .map(column -> column.strip().toLowerCase(Locale.ROOT))
+                .toList();
+        int entry = columns.indexOf("entry");
+        int translations = columns.indexOf("translations");
+        if (entry == ABSENT || translations == ABSENT) {
+            throw new IllegalArgumentException("The CSV header must name the 'entry' and 'translations' columns");
+        }
+        return new Layout(
+                entry,
+                translations,
+                columns.indexOf("examples"),
+                columns.indexOf("tags"),
+                CSV_VALUE_SEPARATOR,
+                CSV_VALUE_SEPARATOR,
+                false);
+    }
+
+    /**
+     * Reads the {@code #key:value} header lines Anki writes before the notes. Columns Anki reserves for the note's
+     * guid, type, deck and tags aren't content; of the rest, the first is the entry, the second its translation and
+     * the third, if any, an example.
+     */
+    private static Layout ankiLayout(DelimitedRecordReader records) throws IOException {
+        boolean html = false;
+        int tags = ABSENT;
+        Set<Integer> reserved = new HashSet<>();
+        String header;
+        while ((header = records.nextLineStartingWith(ANKI_HEADER)) != null) {
+            int colon = header.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String key = header.substring(0, colon).strip();
+            String value = header.substring(colon + 1).strip();
+            switch (key) {
+                case "separator" -> records.setSeparator(ankiSeparator(value));
+                case "html" -> html = Boolean.parseBoolean(value);
+                case "tags column" -> {
+                    tags = ankiColumn(value);
+                    reserved.add(tags);
+                }
+                case "guid column", "notetype column", "deck column" -> reserved.add(ankiColumn(value));
+                default -> {}
+            }
+        }
+        // the first three columns that aren't reserved
+        int[] content = IntStream.range(0, reserved.size() + 3)
+                .filter(column -> !reserved.contains(column))
+                .limit(3)
+                .toArray();
+        return new Layout(content[0], content[1], content[2], tags, null, ANKI_TAG_SEPARATOR, html);
+    }
+
+    private static char ankiSeparator(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "tab" -> '\t';
+            case "comma" -> ',';
+            case "semicolon" -> ';';
+            case "space" -> ' ';
+            case "pipe" -> '|';
+            case "colon" -> ':';
+            default -> {
+                if (value.length() != 1) {
+                    throw new IllegalArgumentException("Unsupported Anki separator: " + value);
+                }
+                yield value.charAt(0);
+            }
+        };
+    }
+
+    private static int ankiColumn(String value) {
+        try {
+            // Anki counts columns from 1
+            return Integer.parseInt(value) - 1;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid Anki column: " + value);
+        }
+    }
+
+    /**
+     * Where a record's values are. A {@code null} separator means the column holds a single value.
+     */
+    private record Layout(
+            int entry,
+            int translations,
+            int examples,
+            int tags,
+            Pattern valueSeparator,
+            Pattern tagSeparator,
+            boolean html) {
+
+        ImportedCard toCard(List<String> fields) {
+            String entryValue = text(fields, entry);
+            List<String> translationValues = values(fields, translations, valueSeparator);
+            if (entryValue.isEmpty() || translationValues.isEmpty()) {
+                return null;
+            }
+            List<String> exampleValues = values(fields, examples, valueSeparator);
+            Set<String> tagValues = new LinkedHashSet<>(values(fields, tags, tagSeparator));
+            if (entryValue.length() > MAX_VALUE_LENGTH
+                    || tooLong(translationValues)
+                    || tooLong(exampleValues)
+                    || tooLong(tagValues)) {
+                return null;
+            }
+            return new ImportedCard(entryValue, translationValues, exampleValues, tagValues);
+        }
+
+        private List<String> values(List<String> fields, int column, Pattern separator) {
+            String value = text(fields, column);
+            if (value.isEmpty()) {
+                return List.of();
+            }
+            if (separator == null) {
+                return List.of(value);
+            }
+            List<String> values = new ArrayList<>();
+            for (String part : separator.split(value)) {
+                String stripped = part.strip();
+                if (!stripped.isEmpty()) {
+                    values.add(stripped);
+                }
+            }
+            return values;
+        }
+
+        private String text(List<String> fields, int column) {
+            if (column == ABSENT || column >= fields.size()) {
+                return "";
+            }
+            String value = fields.get(column);
+            return (html ? Jsoup.parse(value).text() : value).strip();
+        }
+
+        private static boolean tooLong(Iterable<String> values) {
+            for (String value : values) {
+                if (value.length() > MAX_VALUE_LENGTH) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
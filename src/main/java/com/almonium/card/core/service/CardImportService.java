@@ -0,0 +1,148 @@
+package com.almonium.card.core.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.card.core.dto.response.CardImportJobDto;
+import com.almonium.card.core.model.enums.CardImportFormat;
+import com.almonium.config.properties.AppProperties;
+import com.almonium.user.core.exception.BadUserRequestActionException;
+import com.almonium.user.core.model.entity.User;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Imports decks in the background: the upload is read a record at a time and written a chunk per transaction by
+ * {@link CardImportWriter}, while the caller polls the import's progress. Cards whose entry the learner already has,
+ * or which repeat an earlier entry of the file, are skipped. A failed import keeps the chunks committed before it.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class CardImportService {
+    LearnerFinder learnerFinder;
+    CardImportWriter cardImportWriter;
+    ExecutorService virtualThreadExecutor;
+    int chunkSize;
+    Cache<UUID, CardImportJob> jobs;
+
+    public CardImportService(
+            LearnerFinder learnerFinder,
+            CardImportWriter cardImportWriter,
+            ExecutorService virtualThreadExecutor,
+            AppProperties appProperties) {
+        this.learnerFinder = learnerFinder;
+        this.cardImportWriter = cardImportWriter;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        AppProperties.CardImport properties = appProperties.getCardImport();
+        this.chunkSize = properties.getChunkSize();
+        this.jobs = CacheBuilder.newBuilder()
+                .expireAfterWrite(properties.getJobRetention())
+                .build();
+    }
+
+    public CardImportJobDto startImport(User user, Language language, CardImportFormat format, MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new BadUserRequestActionException("The import file is empty");
+        }
+        UUID learnerId = learnerFinder.findLearner(user, language).getId();
+        // the multipart file is deleted once the request completes
+        Path upload = copyToTempFile(file);
+
+        CardImportJob job = new CardImportJob(user.getId(), format);
+        jobs.put(job.getId(), job);
+        virtualThreadExecutor.execute(() -> run(job, learnerId, language, upload));
+        log.info("Started card import {} of {} for user {}", job.getId(), format, user.getId());
+        return job.toDto();
+    }
+
+    public CardImportJobDto getImport(User user, UUID jobId) {
+        CardImportJob job = jobs.getIfPresent(jobId);
+        if (job == null || !job.getUserId().equals(user.getId())) {
+            throw new EntityNotFoundException("Card import not found: " + jobId);
+        }
+        return job.toDto();
+    }
+
+    private void run(CardImportJob job, UUID learnerId, Language language, Path upload) {
+        int imported = 0;
+        int duplicates = 0;
+        try (InputStream in = Files.newInputStream(upload);
+                CardImportReader reader = CardImportReader.open(in, job.getFormat())) {
+            Set<String> seenEntries = new HashSet<>();
+            List<ImportedCard> chunk = new ArrayList<>(chunkSize);
+            ImportedCard card;
+            while ((card = reader.next()) != null) {
+                if (!seenEntries.add(card.entry().toLowerCase(Locale.ROOT))) {
+                    duplicates++;
+                    continue;
+                }
+                chunk.add(card);
+                if (chunk.size() == chunkSize) {
+                    int written = cardImportWriter.write(learnerId, language, chunk);
+                    imported += written;
+                    duplicates += chunk.size() - written;
+                    job.progress(imported, duplicates + reader.skipped());
+                    retain(job);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                int written = cardImportWriter.write(learnerId, language, chunk);
+                imported += written;
+                duplicates += chunk.size() - written;
+            }
+            job.progress(imported, duplicates + reader.skipped());
+            job.complete();
+            retain(job);
+            log.info("Card import {} finished: {} imported, {} skipped", job.getId(), imported, job.getSkipped());
+        } catch (IOException | RuntimeException e) {
+            log.error("Card import {} failed after {} cards", job.getId(), imported, e);
+            job.fail(e.getMessage());
+            retain(job);
+        } finally {
+            deleteQuietly(upload);
+        }
+    }
+
+    // jobs expire a retention period after their last write, so a running import stays, and a finished one is kept
+    // for the full period after it finishes
+    private void retain(CardImportJob job) {
+        jobs.put(job.getId(), job);
+    }
+
+    private static Path copyToTempFile(MultipartFile file) {
+        try {
+            Path upload = Files.createTempFile("card-import-", ".tmp");
+            file.transferTo(upload);
+            return upload;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store the import file", e);
+        }
+    }
+
+    private static void deleteQuietly(Path upload) {
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            log.warn("Failed to delete import file {}", upload, e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.almonium.card.core.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.card.core.model.entity.Card;
+import com.almonium.card.core.model.entity.CardTag;
+import com.almonium.card.core.model.entity.Example;
+import com.almonium.card.core.model.entity.Tag;
+import com.almonium.card.core.model.entity.Translation;
+import com.almonium.card.core.model.entity.pk.CardTagPK;
+import com.almonium.card.core.repository.CardRepository;
+import com.almonium.user.core.model.entity.Learner;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes imported cards a chunk per transaction. A chunk's existing entries are looked up with one query and its tags
+ * resolved by the {@link TagDictionary} at once, and its rows are only sent on the final flush, where Hibernate groups
+ * them into JDBC batches per table.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+class CardImportWriter {
+    CardRepository cardRepository;
+    TagDictionary tagDictionary;
+    EntityManager entityManager;
+
+    /**
+     * Inserts the cards of {@code chunk} the learner doesn't have yet, with their translations, examples and tags,
+     * and returns how many were inserted.
+     */
+    @Transactional
+    int write(UUID learnerId, Language language, List<ImportedCard> chunk) {
+        Set<String> existing = cardRepository.findExistingEntries(
+                learnerId, chunk.stream().map(card -> lowerCase(card.entry())).toList());
+        List<ImportedCard> fresh = chunk.stream()
+                .filter(card -> !existing.contains(lowerCase(card.entry())))
+                .toList();
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, UUID> tagIds = tagDictionary.resolve(
+                fresh.stream().flatMap(card -> card.tags().stream()).toList());
+
+        Learner learner = entityManager.getReference(Learner.class, learnerId);
+        Instant now = Instant.now();
+        for (ImportedCard imported : fresh) {
+            Card card = Card.builder()
+                    .entry(imported.entry())
+                    .language(language)
+                    .owner(learner)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            entityManager.persist(card);
+            for (String translation : imported.translations()) {
+                entityManager.persist(Translation.builder()
+                        .card(card)
+                        .translation(translation)
+                        .build());
+            }
+            for (String example : imported.examples()) {
+                entityManager.persist(
+                        Example.builder().card(card).example(example).build());
+            }
+            Set<UUID> cardTagIds = new HashSet<>();
+            for (String tag : imported.tags()) {
+                UUID tagId = tagIds.get(Tag.normalizeText(tag));
+                if (cardTagIds.add(tagId)) {
+                    entityManager.persist(CardTag.builder()
+                            .id(new CardTagPK(card.getId(), tagId))
+                            .card(card)
+                            .tag(entityManager.getReference(Tag.class, tagId))
+                            .learner(learner)
+                            .build());
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return fresh.size();
+    }
+
+    private static String lowerCase(String entry) {
+        return entry.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,24 @@
+package com.almonium.card.core.service;
+
+import com.almonium.card.core.model.entity.Card;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Position after the last card of a listing page: its {@code updatedAt} and, to break ties, its id. Opaque to
+ * clients.
+ */
+record CardPageCursor(Instant updatedAt, UUID id) {
+
+    static CardPageCursor of(Card card) {
+        return new CardPageCursor(card.getUpdatedAt(), card.getId());
+    }
+
+    static CardPageCursor decode(String cursor) {
+        return CursorCodec.decode(cursor, (updatedAt, id) -> new CardPageCursor(Instant.parse(updatedAt), id));
+    }
+
+    String encode() {
+        return CursorCodec.encode(updatedAt, id);
+    }
+}
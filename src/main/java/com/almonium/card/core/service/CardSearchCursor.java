@@ -0,0 +1,19 @@
+package com.almonium.card.core.service;
+
+import java.util.UUID;
+
+/**
+ * Position after the last card of a search page: its rank and, to break ties, its id. Opaque to clients.
+ */
+record CardSearchCursor(float rank, UUID id) {
+    // similarity never exceeds 1, so every card ranks below the start
+    static final CardSearchCursor START = new CardSearchCursor(2f, new UUID(0, 0));
+
+    static CardSearchCursor decode(String cursor) {
+        return CursorCodec.decode(cursor, (rank, id) -> new CardSearchCursor(Float.parseFloat(rank), id));
+    }
+
+    String encode() {
+        return CursorCodec.encode(rank, id);
+    }
+}
@@ -3,12 +3,17 @@ package com.almonium.card.core.service;
 import static lombok.AccessLevel.PRIVATE;
 
 import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.card.core.dto.ExampleDto;
 import com.almonium.card.core.dto.TagDto;
+import com.almonium.card.core.dto.TranslationDto;
 import com.almonium.card.core.dto.request.CardCreationDto;
 import com.almonium.card.core.dto.request.CardUpdateDto;
 import com.almonium.card.core.dto.response.CardDto;
+import com.almonium.card.core.dto.response.CardPageDto;
+import com.almonium.card.core.dto.response.CardSearchPageDto;
 import com.almonium.card.core.mapper.CardMapper;
 import com.almonium.card.core.model.entity.Card;
+import com.almonium.card.core.model.entity.CardSearchHit;
 import com.almonium.card.core.model.entity.CardTag;
 import com.almonium.card.core.model.entity.Example;
 import com.almonium.card.core.model.entity.Tag;
@@ -17,24 +22,37 @@ import com.almonium.card.core.model.entity.pk.CardTagPK;
 import com.almonium.card.core.repository.CardRepository;
 import com.almonium.card.core.repository.CardTagRepository;
 import com.almonium.card.core.repository.ExampleRepository;
-import com.almonium.card.core.repository.TagRepository;
 import com.almonium.card.core.repository.TranslationRepository;
+import com.almonium.subscription.constant.AppLimits;
 import com.almonium.user.core.model.entity.Learner;
 import com.almonium.user.core.model.entity.User;
 import com.almonium.user.core.repository.LearnerRepository;
-import com.google.common.collect.Sets;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Iterators;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -48,12 +66,14 @@ public class CardService {
 
     CardRepository cardRepository;
     CardTagRepository cardTagRepository;
-    TagRepository tagRepository;
     ExampleRepository exampleRepository;
     TranslationRepository translationRepository;
     LearnerRepository learnerRepository;
+    TagDictionary tagDictionary;
 
     CardMapper cardMapper;
+    ObjectMapper objectMapper;
+    EntityManager entityManager;
 
     public CardDto getCardById(UUID id) {
         return cardMapper.cardEntityToDto(cardRepository.findById(id).orElseThrow());
@@ -71,16 +91,93 @@ public class CardService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional
-    public List<CardDto> searchByEntry(String entry, Language language, User user) {
+    /**
+     * Lists the learner's cards of {@code language}, most recently updated first. Pass the previous page's
+     * {@code nextCursor} to continue; {@code limit} is capped at {@link AppLimits#MAX_CARD_PAGE_SIZE}.
+     */
+    public CardPageDto getUsersCardsPage(User user, Language language, String cursor, int limit) {
+        Learner learner = learnerFinder.findLearner(user, language);
+        int pageSize = Math.clamp(limit, 1, AppLimits.MAX_CARD_PAGE_SIZE);
+
+        // one extra card tells whether there is a next page
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<Card> cards;
+        if (cursor == null || cursor.isBlank()) {
+            cards = cardRepository.findFirstPageByOwner(learner, fetchLimit);
+        } else {
+            CardPageCursor after = CardPageCursor.decode(cursor);
+            cards = cardRepository.findPageByOwnerAfter(learner, after.updatedAt(), after.id(), fetchLimit);
+        }
+        boolean hasNext = cards.size() > pageSize;
+        List<Card> page = hasNext ? cards.subList(0, pageSize) : cards;
+
+        String nextCursor = hasNext ? CardPageCursor.of(page.getLast()).encode() : null;
+        return new CardPageDto(page.stream().map(cardMapper::cardEntityToDto).toList(), nextCursor);
+    }
+
+    /**
+     * Writes all the learner's cards of {@code language} to {@code out} as one JSON array, most recently updated
+     * first. Cards are read from a database cursor and written a chunk at a time, each chunk's associations loaded
+     * together and then evicted from the persistence context, so memory doesn't grow with the deck.
+     */
+    public void exportCards(User user, Language language, OutputStream out) throws IOException {
         Learner learner = learnerFinder.findLearner(user, language);
+        try (Stream<Card> cards = cardRepository.streamAllByOwner(learner);
+                JsonGenerator generator = objectMapper.createGenerator(out)) {
+            // a failed export must not end in a well-formed array that looks complete
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.writeStartArray();
+            Iterator<List<Card>> chunks = Iterators.partition(cards.iterator(), Card.ASSOCIATION_BATCH_SIZE);
+            while (chunks.hasNext()) {
+                for (Card card : chunks.next()) {
+                    generator.writeObject(cardMapper.cardEntityToDto(card));
+                }
+                generator.flush();
+                entityManager.clear();
+            }
+            generator.writeEndArray();
+        }
+    }
 
-        return cardRepository
-                .findAllByOwnerAndEntryLikeIgnoreCase(
-                        learner, '%' + entry.trim().toLowerCase() + '%')
+    /**
+     * Searches the learner's cards of {@code language}, best match first. Pass the previous page's
+     * {@code nextCursor} to continue; {@code limit} is capped at {@link AppLimits#MAX_CARD_SEARCH_PAGE_SIZE}.
+     */
+    public CardSearchPageDto searchByEntry(String entry, Language language, User user, String cursor, int limit) {
+        String query = entry.strip().toLowerCase(Locale.ROOT);
+        if (query.isEmpty()) {
+            return new CardSearchPageDto(List.of(), null);
+        }
+        Learner learner = learnerFinder.findLearner(user, language);
+        CardSearchCursor after =
+                cursor == null || cursor.isBlank() ? CardSearchCursor.START : CardSearchCursor.decode(cursor);
+        int pageSize = Math.clamp(limit, 1, AppLimits.MAX_CARD_SEARCH_PAGE_SIZE);
+
+        // one extra hit tells whether there is a next page
+        List<CardSearchHit> hits = cardRepository.search(
+                learner.getId(),
+                language.name(),
+                query,
+                '%' + escapeLike(query) + '%',
+                after.rank(),
+                after.id(),
+                pageSize + 1);
+        boolean hasNext = hits.size() > pageSize;
+        List<CardSearchHit> page = hasNext ? hits.subList(0, pageSize) : hits;
+
+        Map<UUID, Card> cards = cardRepository
+                .findAllById(page.stream().map(CardSearchHit::getId).toList())
                 .stream()
+                .collect(Collectors.toMap(Card::getId, Function.identity()));
+        List<CardDto> dtos = page.stream()
+                .map(hit -> cards.get(hit.getId()))
+                .filter(Objects::nonNull)
                 .map(cardMapper::cardEntityToDto)
-                .collect(Collectors.toList());
+                .toList();
+
+        CardSearchHit last = page.isEmpty() ? null : page.getLast();
+        String nextCursor = hasNext ? new CardSearchCursor(last.getRank(), last.getId()).encode() : null;
+        return new CardSearchPageDto(dtos, nextCursor);
     }
 
     @Transactional
@@ -93,12 +190,19 @@ public class CardService {
         log.info("Created card {} for user {}", card, learner);
     }
 
+    /**
+     * Applies {@code dto} to the card with set-based statements: deletions go out as one {@code delete} per kind,
+     * each kind of child is loaded once and matched by id, new tags are resolved with one statement, and the remaining
+     * inserts and updates are sent as JDBC batches on flush. The number of statements doesn't grow with the card.
+     */
     @Transactional
     public void updateCard(User user, CardUpdateDto dto) {
         Language language = dto.getLanguage();
         Learner learner = learnerFinder.findLearner(user, language);
         Card entity = cardRepository.findById(dto.getId()).orElseThrow();
-        updateCardDetails(entity, dto);
+        cardMapper.update(dto, entity);
+        updateTranslations(entity, dto.getTranslations(), dto.getDeletedTranslationsIds());
+        updateExamples(entity, dto.getExamples(), dto.getDeletedExamplesIds());
         updateTags(entity, dto.getTags(), learner);
         entity.setUpdatedAt(Instant.now());
         cardRepository.save(entity);
@@ -113,6 +217,10 @@ public class CardService {
         cardRepository.deleteAllByOwnerAndLanguage(learner, code);
     }
 
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     private Card initializeCard(Learner learner, CardCreationDto dto) {
         Card card = cardMapper.cardDtoToEntity(dto);
         card.setCreatedAt(Instant.now());
@@ -122,25 +230,19 @@ public class CardService {
     }
 
     private List<CardTag> createCardTags(Card card, TagDto[] tagDtos) {
+        Map<String, UUID> tagIds = tagDictionary.resolve(
+                Arrays.stream(tagDtos).map(TagDto::getText).toList());
         List<CardTag> cardTags = new ArrayList<>();
-        for (TagDto tagDto : tagDtos) {
+        for (UUID tagId : new LinkedHashSet<>(tagIds.values())) {
             CardTag cardTag = new CardTag();
             cardTag.setCard(card);
             cardTag.setLearner(card.getOwner());
-            cardTag.setTag(findOrCreateTag(tagDto.getText()));
+            cardTag.setTag(entityManager.getReference(Tag.class, tagId));
             cardTags.add(cardTag);
         }
         return cardTags;
     }
 
-    private Tag findOrCreateTag(String text) {
-        return tagRepository.findByTextWithNormalization(text).orElseGet(() -> {
-            Tag tag = new Tag(text);
-            tagRepository.save(tag);
-            return tag;
-        });
-    }
-
     private void saveEntities(
             Card card,
             List<Translation> translations,
@@ -154,83 +256,115 @@ public class CardService {
         learnerRepository.save(learner);
     }
 
-    private void updateCardDetails(Card entity, CardUpdateDto dto) {
-        cardMapper.update(dto, entity);
+    private void updateTranslations(Card card, TranslationDto[] dtos, UUID[] deletedIds) {
+        Set<UUID> deleted = idSet(deletedIds);
+        if (!deleted.isEmpty()) {
+            translationRepository.deleteAllByCardAndIdIn(card, deleted);
+            card.getTranslations().removeIf(translation -> deleted.contains(translation.getId()));
+        }
+        if (dtos == null || dtos.length == 0) {
+            return;
+        }
+
+        Map<UUID, Translation> existing =
+                card.getTranslations().stream().collect(Collectors.toMap(Translation::getId, Function.identity()));
+        List<Translation> upserts = new ArrayList<>(dtos.length);
+        for (TranslationDto dto : dtos) {
+            Translation translation;
+            if (dto.getId() == null) {
+                translation = Translation.builder().card(card).build();
+                card.getTranslations().add(translation);
+            } else if (deleted.contains(dto.getId())) {
+                continue;
+            } else {
+                translation = childOf(existing, dto.getId(), "Translation");
+            }
+            translation.setTranslation(dto.getTranslation());
+            upserts.add(translation);
+        }
+        translationRepository.saveAll(upserts);
+    }
+
+    private void updateExamples(Card card, ExampleDto[] dtos, UUID[] deletedIds) {
+        Set<UUID> deleted = idSet(deletedIds);
+        if (!deleted.isEmpty()) {
+            exampleRepository.deleteAllByCardAndIdIn(card, deleted);
+            card.getExamples().removeIf(example -> deleted.contains(example.getId()));
+        }
+        if (dtos == null || dtos.length == 0) {
+            return;
+        }
 
-        Optional.ofNullable(dto.getDeletedTranslationsIds())
-                .ifPresent(ids -> Arrays.stream(ids).forEach(translationRepository::deleteById));
-
-        Optional.ofNullable(dto.getDeletedExamplesIds())
-                .ifPresent(ids -> Arrays.stream(ids).forEach(exampleRepository::deleteById));
-
-        Optional.ofNullable(dto.getTranslations())
-                .ifPresent(ids -> Arrays.stream(ids).forEach(translationDto -> {
-                    UUID id = translationDto.getId();
-                    if (id != null) {
-                        Translation translation =
-                                translationRepository.findById(id).orElseThrow();
-                        translation.setTranslation(translationDto.getTranslation());
-                        translationRepository.save(translation);
-                    } else {
-                        translationRepository.save(Translation.builder()
-                                .card(entity)
-                                .translation(translationDto.getTranslation())
-                                .build());
-                    }
-                }));
-
-        Optional.ofNullable(dto.getExamples())
-                .ifPresent(ids -> Arrays.stream(ids).forEach(exampleDto -> {
-                    UUID id = exampleDto.getId();
-                    if (id != null) {
-                        Example example = exampleRepository.findById(id).orElseThrow();
-                        example.setExample(exampleDto.getExample());
-                        example.setTranslation(exampleDto.getTranslation());
-                        exampleRepository.save(example);
-                    } else {
-                        exampleRepository.save(Example.builder()
-                                .card(entity)
-                                .example(exampleDto.getExample())
-                                .translation(exampleDto.getTranslation())
-                                .build());
-                    }
-                }));
-    }
-
-    private void updateTags(Card entity, TagDto[] tagDtos, Learner learner) {
-        HashSet<String> dtoTagSet = Optional.ofNullable(tagDtos)
-                .map(tags -> Arrays.stream(tags).map(TagDto::getText).collect(Collectors.toCollection(HashSet::new)))
-                .orElseGet(HashSet::new);
-
-        HashSet<String> cardTagSet = entity.getCardTags().stream()
-                .map(cardTag -> cardTag.getTag().getText())
-                .collect(Collectors.toCollection(HashSet::new));
-
-        Set<String> added = Sets.difference(dtoTagSet, cardTagSet);
-        Set<String> deleted = Sets.difference(cardTagSet, dtoTagSet);
-
-        for (String tagText : deleted) {
-            CardTag cardTag = cardTagRepository.getByCardAndText(entity, tagText);
-            cardTagRepository.delete(cardTag);
-            entity.removeCardTag(cardTag);
+        Map<UUID, Example> existing =
+                card.getExamples().stream().collect(Collectors.toMap(Example::getId, Function.identity()));
+        List<Example> upserts = new ArrayList<>(dtos.length);
+        for (ExampleDto dto : dtos) {
+            Example example;
+            if (dto.getId() == null) {
+                example = Example.builder().card(card).build();
+                card.getExamples().add(example);
+            } else if (deleted.contains(dto.getId())) {
+                continue;
+            } else {
+                example = childOf(existing, dto.getId(), "Example");
+            }
+            example.setExample(dto.getExample());
+            example.setTranslation(dto.getTranslation());
+            upserts.add(example);
         }
+        exampleRepository.saveAll(upserts);
+    }
 
-        for (String tagText : added) {
-            Optional<Tag> tagOptional = tagRepository.findByText(tagText);
+    private void updateTags(Card card, TagDto[] tagDtos, Learner learner) {
+        Set<String> wanted = tagDtos == null
+                ? Set.of()
+                : Arrays.stream(tagDtos)
+                        .map(tagDto -> Tag.normalizeText(tagDto.getText()))
+                        .collect(Collectors.toSet());
+        Map<String, CardTag> current = card.getCardTags().stream()
+                .collect(Collectors.toMap(
+                        cardTag -> cardTag.getTag().getText(), Function.identity(), (first, second) -> first));
 
-            Tag tag = tagOptional.orElseGet(() -> {
-                Tag createdTag = new Tag(tagText);
-                tagRepository.save(createdTag);
-                return createdTag;
-            });
+        List<CardTag> removed = current.entrySet().stream()
+                .filter(entry -> !wanted.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+        if (!removed.isEmpty()) {
+            cardTagRepository.deleteAllByCardAndTagIdIn(
+                    card,
+                    removed.stream().map(cardTag -> cardTag.getTag().getId()).toList());
+            removed.forEach(card::removeCardTag);
+        }
 
+        List<String> added =
+                wanted.stream().filter(text -> !current.containsKey(text)).toList();
+        if (added.isEmpty()) {
+            return;
+        }
+        Map<String, UUID> tagIds = tagDictionary.resolve(added);
+        for (String text : added) {
+            UUID tagId = tagIds.get(text);
             CardTag cardTag = CardTag.builder()
                     .learner(learner)
-                    .tag(tag)
-                    .card(entity)
-                    .id(new CardTagPK(entity.getId(), tag.getId()))
+                    .tag(entityManager.getReference(Tag.class, tagId))
+                    .card(card)
+                    .id(new CardTagPK(card.getId(), tagId))
                     .build();
-            cardTagRepository.save(cardTag);
+            // save() would take the preset id for an existing row and select it first
+            entityManager.persist(cardTag);
+            card.getCardTags().add(cardTag);
+        }
+    }
+
+    private static Set<UUID> idSet(UUID[] ids) {
+        return ids == null ? Set.of() : new HashSet<>(Arrays.asList(ids));
+    }
+
+    private static <T> T childOf(Map<UUID, T> children, UUID id, String kind) {
+        T child = children.get(id);
+        if (child == null) {
+            throw new EntityNotFoundException(kind + " not found on this card: " + id);
         }
+        return child;
     }
 }
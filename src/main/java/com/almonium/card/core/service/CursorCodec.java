@@ -0,0 +1,34 @@
+package com.almonium.card.core.service;
+
+import com.almonium.card.core.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Turns keyset positions into opaque cursors and back: the sort key and the id that breaks its ties, joined with
+ * {@code |} and Base64url-encoded.
+ */
+final class CursorCodec {
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {}
+
+    static String encode(Object key, UUID id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static <T> T decode(String cursor, BiFunction<String, UUID, T> position) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return position.apply(decoded.substring(0, separator), UUID.fromString(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.almonium.card.core.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+/**
+ * Reads delimiter-separated records one at a time, RFC 4180 style: fields may be wrapped in double quotes, inside
+ * which separators and line breaks are literal and {@code ""} stands for a quote. A leading byte order mark is skipped.
+ */
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+final class DelimitedRecordReader implements Closeable {
+    private static final char QUOTE = '"';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    PushbackReader reader;
+
+    @NonFinal
+    char separator;
+
+    DelimitedRecordReader(Reader reader, char separator) throws IOException {
+        this.reader = new PushbackReader(reader);
+        this.separator = separator;
+        int first = this.reader.read();
+        if (first != -1 && first != BYTE_ORDER_MARK) {
+            this.reader.unread(first);
+        }
+    }
+
+    void setSeparator(char separator) {
+        this.separator = separator;
+    }
+
+    /**
+     * Returns the rest of the current line if it starts with {@code marker}, without the marker, or {@code null}
+     * otherwise, leaving the line for {@link #next()}.
+     */
+    String nextLineStartingWith(char marker) throws IOException {
+        int c = reader.read();
+        if (c != marker) {
+            unread(c);
+            return null;
+        }
+        StringBuilder line = new StringBuilder();
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Returns the fields of the next record, or {@code null} at the end of the input.
+     */
+    List<String> next() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+        for (; c != -1; c = reader.read()) {
+            if (quoted) {
+                if (c != QUOTE) {
+                    field.append((char) c);
+                    continue;
+                }
+                int following = reader.read();
+                if (following == QUOTE) {
+                    field.append(QUOTE);
+                } else {
+                    quoted = false;
+                    unread(following);
+                }
+            } else if (c == QUOTE && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int following = reader.read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                break;
+            } else {
+                field.append((char) c);
+                fieldStart = false;
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void unread(int c) throws IOException {
+        if (c != -1) {
+            reader.unread(c);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,9 @@
+package com.almonium.card.core.service;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A card read from an import file, before it is known whether the learner already has it.
+ */
+record ImportedCard(String entry, List<String> translations, List<String> examples, Set<String> tags) {}
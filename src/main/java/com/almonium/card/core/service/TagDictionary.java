@@ -0,0 +1,123 @@
+package com.almonium.card.core.service;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.card.core.model.entity.Tag;
+import com.almonium.card.core.model.entity.TagIdText;
+import com.almonium.card.core.repository.TagRepository;
+import com.almonium.config.properties.AppProperties;
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maps normalized tag texts to tag ids. Ids are kept in memory, up to {@code app.tag-dictionary.max-size} of them;
+ * texts that aren't are looked up, and the missing tags created, with a single statement whose
+ * {@code on conflict do nothing} lets concurrent callers create the same tag without failing. Tags are never
+ * deleted, so a cached id can't go stale.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class TagDictionary {
+    TagRepository tagRepository;
+    ExecutorService virtualThreadExecutor;
+    AppProperties.TagDictionary properties;
+    Cache<String, UUID> ids;
+
+    public TagDictionary(
+            TagRepository tagRepository, ExecutorService virtualThreadExecutor, AppProperties appProperties) {
+        this.tagRepository = tagRepository;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.properties = appProperties.getTagDictionary();
+        this.ids =
+                CacheBuilder.newBuilder().maximumSize(properties.getMaxSize()).build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isWarmUp()) {
+            return;
+        }
+        virtualThreadExecutor.execute(() -> {
+            long startedAt = System.nanoTime();
+            List<TagIdText> tags = tagRepository.findNewest(Limit.of(properties.getMaxSize()));
+            tags.forEach(tag -> ids.put(tag.getText(), tag.getId()));
+            log.info(
+                    "Tag dictionary warmed up with {} tags in {} ms",
+                    tags.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        });
+    }
+
+    /**
+     * Returns the ids of the tags with the given texts, keyed by normalized text, creating the tags that don't exist.
+     * Ids resolved inside a transaction are only remembered once it commits, as the tags it created may roll back.
+     */
+    @Transactional
+    public Map<String, UUID> resolve(Collection<String> texts) {
+        Map<String, UUID> resolved = new HashMap<>();
+        // sorted, so concurrent callers insert overlapping tags in the same order and can't deadlock on them
+        Set<String> missing = new TreeSet<>();
+        for (String text : texts) {
+            String normalized = Tag.normalizeText(text);
+            UUID id = ids.getIfPresent(normalized);
+            if (id != null) {
+                resolved.put(normalized, id);
+            } else {
+                missing.add(normalized);
+            }
+        }
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+
+        Map<String, UUID> fetched = new HashMap<>();
+        UUID[] newIds =
+                missing.stream().map(text -> UuidCreator.getTimeOrderedEpoch()).toArray(UUID[]::new);
+        for (TagIdText tag : tagRepository.insertMissing(newIds, missing.toArray(String[]::new))) {
+            fetched.put(tag.getText(), tag.getId());
+        }
+        if (fetched.size() < missing.size()) {
+            // inserted by a transaction that committed while the upsert ran, so this statement's snapshot missed them
+            List<String> raced =
+                    missing.stream().filter(text -> !fetched.containsKey(text)).toList();
+            tagRepository.findAllByTextIn(raced).forEach(tag -> fetched.put(tag.getText(), tag.getId()));
+        }
+
+        remember(fetched);
+        resolved.putAll(fetched);
+        return resolved;
+    }
+
+    private void remember(Map<String, UUID> fetched) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.putAll(fetched);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.putAll(fetched);
+            }
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package com.almonium.config
 
 import com.almonium.config.properties.AiProperties
+import com.almonium.config.properties.AnalyzerProperties
 import com.almonium.config.properties.AppProperties
 import com.almonium.config.properties.AppleOAuthProperties
 import com.almonium.config.properties.AppleOAuthProviderProperties
@@ -21,6 +22,7 @@ import org.springframework.scheduling.annotation.EnableScheduling
 @EnableScheduling
 @EnableConfigurationProperties(
     AiProperties::class,
+    AnalyzerProperties::class,
     AppProperties::class,
     AppleOAuthProperties::class,
     AppleOAuthProviderProperties::class,
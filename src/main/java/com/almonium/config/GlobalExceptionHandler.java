@@ -1,5 +1,6 @@
 package com.almonium.config;
 
+import com.almonium.analyzer.client.exception.UsageLimitExceededException;
 import com.almonium.auth.common.exception.AuthMethodNotFoundException;
 import com.almonium.auth.common.exception.BadAuthActionRequest;
 import com.almonium.auth.common.exception.LastAuthMethodException;
@@ -10,6 +11,7 @@ import com.almonium.auth.local.exception.EmailNotVerifiedException;
 import com.almonium.auth.local.exception.InvalidVerificationTokenException;
 import com.almonium.auth.local.exception.ReauthException;
 import com.almonium.auth.local.exception.UserAlreadyExistsException;
+import com.almonium.card.core.exception.InvalidCursorException;
 import com.almonium.infra.email.exception.EmailConfigurationException;
 import com.almonium.infra.qr.exception.QRCodeGenerationException;
 import com.almonium.subscription.exception.PlanSubscriptionException;
@@ -24,11 +26,14 @@ import com.almonium.user.core.exception.StreamIntegrationException;
 import com.almonium.user.relationship.exception.RelationshipException;
 import com.almonium.util.dto.ApiResponse;
 import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.MessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -173,6 +178,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED).body(new ApiResponse(false, ex.getMessage())); // 402
     }
 
+    @ExceptionHandler(UsageLimitExceededException.class)
+    public ResponseEntity<ApiResponse> handleUsageLimitExceededException(UsageLimitExceededException ex) {
+        long retryAfter =
+                Math.max(0, Duration.between(Instant.now(), ex.getResetAt()).toSeconds());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body(new ApiResponse(false, ex.getMessage()));
+    }
+
     // basic exceptions
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ApiResponse> handleEntityNotFoundException(EntityNotFoundException ex) {
@@ -246,6 +260,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse(false, ex.getMessage()));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse> handleInvalidCursorException(InvalidCursorException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(false, ex.getMessage()));
+    }
+
     @ExceptionHandler(EmailMismatchException.class)
     public ResponseEntity<Object> handleEmailMismatchException(EmailMismatchException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(false, ex.getMessage()));
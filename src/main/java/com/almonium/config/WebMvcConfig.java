@@ -1,11 +1,13 @@
 package com.almonium.config;
 
+import com.almonium.analyzer.analyzer.model.enums.ReportSection;
 import com.almonium.config.resolver.AuthIdArgumentResolver;
 import com.almonium.config.resolver.AuthUserArgumentResolver;
 import com.almonium.user.core.repository.UserRepository;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -19,4 +21,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
         resolvers.add(new AuthIdArgumentResolver());
         resolvers.add(new AuthUserArgumentResolver(userRepository));
     }
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, ReportSection.class, ReportSection::fromValue);
+    }
 }
@@ -3,10 +3,12 @@ package com.almonium.config.properties
 import jakarta.validation.Valid
 import jakarta.validation.constraints.NotBlank
 import jakarta.validation.constraints.NotNull
+import jakarta.validation.constraints.Positive
 import org.hibernate.validator.constraints.URL
 import org.springframework.boot.context.properties.ConfigurationProperties
 import org.springframework.boot.context.properties.NestedConfigurationProperty
 import org.springframework.validation.annotation.Validated
+import java.time.Duration
 
 @ConfigurationProperties(prefix = "ai")
 @Validated
@@ -19,6 +21,10 @@ data class AiProperties(
     @field:Valid
     @NestedConfigurationProperty
     val gemini: GeminiProperties = GeminiProperties(),
+    @field:NotNull
+    @field:Valid
+    @NestedConfigurationProperty
+    val gateway: LlmGatewayProperties = LlmGatewayProperties(),
 )
 
 data class GptProperties(
@@ -40,3 +46,14 @@ data class GeminiProperties(
     @field:NotBlank
     val key: String = "",
 )
+
+data class LlmGatewayProperties(
+    /** Most small generation tasks sent to the model in one prompt. */
+    @field:Positive
+    val maxBatchSize: Int = 8,
+    /** How long the first task of a batch waits for others to join it. */
+    @field:NotNull
+    val maxBatchDelay: Duration = Duration.ofMillis(50),
+    @field:NotNull
+    val timeout: Duration = Duration.ofSeconds(60),
+)
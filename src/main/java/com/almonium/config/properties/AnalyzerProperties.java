@@ -0,0 +1,225 @@
+package com.almonium.config.properties;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.analyzer.model.enums.ReportSection;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "analyzer")
+@FieldDefaults(level = PRIVATE)
+public class AnalyzerProperties {
+
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    Report report = new Report();
+
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    Nlp nlp = new Nlp();
+
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    Frequency frequency = new Frequency();
+
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    Lexicon lexicon = new Lexicon();
+
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    Translation translation = new Translation();
+
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    TranslationMemory translationMemory = new TranslationMemory();
+
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    BulkTranslation bulkTranslation = new BulkTranslation();
+
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    Speech speech = new Speech();
+
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    RandomWords randomWords = new RandomWords();
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class Report {
+        @NotNull
+        Duration defaultTimeout = Duration.ofSeconds(2);
+
+        @NotNull
+        Map<ReportSection, Duration> timeouts = new EnumMap<>(ReportSection.class);
+
+        @NotNull
+        Duration streamTimeout = Duration.ofMinutes(2);
+
+        /**
+         * Most entries of a batch analyzed at once, each fanning out to every provider.
+         */
+        @Positive
+        int batchConcurrency = 4;
+
+        public Duration timeoutOf(ReportSection section) {
+            return timeouts.getOrDefault(section, defaultTimeout);
+        }
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class Nlp {
+        @Positive
+        int poolSize = 2;
+
+        @NotNull
+        Duration acquireTimeout = Duration.ofSeconds(5);
+
+        boolean warmUp;
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class Frequency {
+        Path indexDirectory;
+
+        /**
+         * Most Ngrams requests in flight at once, across all batch lookups.
+         */
+        @Positive
+        int remoteConcurrency = 8;
+
+        /**
+         * Longest a batch lookup waits for Ngrams. Words not resolved by then are returned without a frequency.
+         */
+        @NotNull
+        Duration batchTimeout = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class Lexicon {
+        Path directory;
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class Translation {
+        @NotNull
+        Duration timeout = Duration.ofMillis(2500);
+
+        @NotNull
+        Duration hedgeDelay = Duration.ofMillis(300);
+
+        @Positive
+        int failureThreshold = 5;
+
+        @NotNull
+        Duration failureCooldown = Duration.ofSeconds(30);
+
+        @NotNull
+        Duration quotaCooldown = Duration.ofMinutes(15);
+
+        @Positive
+        double ewmaAlpha = 0.2;
+
+        @PositiveOrZero
+        double errorPenalty = 4;
+
+        @NotNull
+        Duration routingRefresh = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class TranslationMemory {
+        boolean enabled = true;
+
+        @Positive
+        long maxSize = 50_000;
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class BulkTranslation {
+        // Google recommends keeping a single request under 5k code points
+        @Positive
+        int chunkSize = 4500;
+
+        @Positive
+        int maxConcurrency = 4;
+
+        @NotNull
+        Duration chunkTimeout = Duration.ofSeconds(30);
+
+        @NotNull
+        Duration streamTimeout = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class Speech {
+        @NotNull
+        Path cacheDirectory = Path.of("data/speech");
+
+        @NotNull
+        DataSize maxDiskSize = DataSize.ofMegabytes(512);
+
+        boolean storageEnabled = true;
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class RandomWords {
+        @Positive
+        int capacity = 50;
+
+        @PositiveOrZero
+        int lowWaterMark = 10;
+
+        @Positive
+        int refillConcurrency = 4;
+
+        @NotNull
+        Duration failureBackoff = Duration.ofSeconds(30);
+
+        boolean warmUp;
+    }
+}
@@ -7,6 +7,8 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
 import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
@@ -41,6 +43,16 @@ public class AppProperties {
     @NestedConfigurationProperty
     Auth auth = new Auth();
 
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    CardImport cardImport = new CardImport();
+
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    TagDictionary tagDictionary = new TagDictionary();
+
     @Getter
     @Setter
     @FieldDefaults(level = PRIVATE)
@@ -60,6 +72,36 @@ public class AppProperties {
         String fromName;
     }
 
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class CardImport {
+        /**
+         * Cards written per transaction.
+         */
+        @Positive
+        int chunkSize = 500;
+
+        /**
+         * How long an import's progress can be looked up after it finishes.
+         */
+        @NotNull
+        Duration jobRetention = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class TagDictionary {
+        /**
+         * Most tag ids kept in memory; the newest tags are loaded on startup when {@code warmUp} is set.
+         */
+        @Positive
+        int maxSize = 100_000;
+
+        boolean warmUp;
+    }
+
     @Getter
     @Setter
     @FieldDefaults(level = PRIVATE)
@@ -2,11 +2,20 @@ package com.almonium.config.properties;
 
 import static lombok.AccessLevel.PRIVATE;
 
+import com.almonium.analyzer.client.ApiProvider;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.FieldDefaults;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
@@ -29,6 +38,26 @@ public class ExternalApiProperties {
     @NestedConfigurationProperty
     ApiKeys key = new ApiKeys();
 
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    Cache cache = new Cache();
+
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    Coalescing coalescing = new Coalescing();
+
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    Http http = new Http();
+
+    @NotNull
+    @Valid
+    @NestedConfigurationProperty
+    Usage usage = new Usage();
+
     @Getter
     @Setter
     @FieldDefaults(level = PRIVATE)
@@ -53,4 +82,97 @@ public class ExternalApiProperties {
         @NotBlank
         String words;
     }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class Cache {
+        @Positive
+        long maxSizePerProvider = 10_000;
+
+        @NotNull
+        Duration ttl = Duration.ofDays(7);
+
+        @NotNull
+        Duration negativeTtl = Duration.ofHours(6);
+
+        boolean persistent = true;
+
+        @NotNull
+        Map<ApiProvider, Duration> providerTtl = new EnumMap<>(ApiProvider.class);
+
+        public Duration ttlOf(ApiProvider provider) {
+            return providerTtl.getOrDefault(provider, ttl);
+        }
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class Coalescing {
+        @NotNull
+        Duration maxWait = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class Http {
+        @NotNull
+        HttpSettings defaults =
+                new HttpSettings(Duration.ofSeconds(2), Duration.ofSeconds(5), 20, Duration.ofMillis(100), true);
+
+        /**
+         * Per-provider overrides, unset values fall back to {@link #defaults}.
+         */
+        @NotNull
+        Map<ApiProvider, HttpSettings> providers = new EnumMap<>(ApiProvider.class);
+
+        public HttpSettings settingsOf(ApiProvider provider) {
+            HttpSettings override = providers.get(provider);
+            if (override == null) {
+                return defaults;
+            }
+            return new HttpSettings(
+                    Objects.requireNonNullElse(override.getConnectTimeout(), defaults.getConnectTimeout()),
+                    Objects.requireNonNullElse(override.getReadTimeout(), defaults.getReadTimeout()),
+                    Objects.requireNonNullElse(
+                            override.getMaxConcurrentRequests(), defaults.getMaxConcurrentRequests()),
+                    Objects.requireNonNullElse(override.getBulkheadWait(), defaults.getBulkheadWait()),
+                    Objects.requireNonNullElse(override.getHttp2(), defaults.getHttp2()));
+        }
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = PRIVATE)
+    public static class Usage {
+        /**
+         * What the app may consume per provider and UTC day, in the unit the provider bills: characters for
+         * Google Translate and TTS, lookups for Yandex, tokens for LLMs. Providers without a budget are unmetered.
+         * Keep these below the provider's own quota, so requests are shed here rather than failing there.
+         */
+        @NotNull
+        Map<ApiProvider, Long> dailyBudgets = new EnumMap<>(ApiProvider.class);
+
+        @NotNull
+        Duration planLimitsTtl = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = PRIVATE)
+    public static class HttpSettings {
+        Duration connectTimeout;
+        Duration readTimeout;
+
+        @Positive
+        Integer maxConcurrentRequests;
+
+        Duration bulkheadWait;
+        Boolean http2;
+    }
 }
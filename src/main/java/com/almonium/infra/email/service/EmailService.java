@@ -2,9 +2,11 @@ package com.almonium.infra.email.service;
 
 import static lombok.AccessLevel.PRIVATE;
 
+import com.almonium.analyzer.client.ApiProvider;
 import com.almonium.config.properties.AppProperties;
 import com.almonium.infra.email.dto.EmailDto;
 import com.almonium.infra.email.exception.EmailConfigurationException;
+import com.almonium.infra.http.ProviderHttpTransport;
 import com.almonium.util.HtmlFileWriter;
 import java.util.List;
 import java.util.Map;
@@ -19,14 +21,13 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 public class EmailService {
-    RestTemplate restTemplate = new RestTemplate();
+    ProviderHttpTransport httpTransport;
     HtmlFileWriter htmlFileWriter;
     AppProperties appProperties;
 
@@ -45,8 +46,9 @@ public class EmailService {
             headers.set("Authorization", "Zoho-enczapikey " + emailProps.getApiKey());
 
             HttpEntity<Map<String, Object>> request = getMapHttpEntity(emailDto, emailProps, headers);
-            ResponseEntity<String> response =
-                    restTemplate.exchange(emailProps.getApiUrl(), HttpMethod.POST, request, String.class);
+            ResponseEntity<String> response = httpTransport
+                    .restTemplate(ApiProvider.ZEPTOMAIL)
+                    .exchange(emailProps.getApiUrl(), HttpMethod.POST, request, String.class);
 
             log.debug("ZeptoMail response: {}", response.getBody());
         } catch (RestClientException e) {
@@ -55,7 +57,8 @@ public class EmailService {
         }
     }
 
-    private @NonNull HttpEntity<Map<String, Object>> getMapHttpEntity(EmailDto emailDto, AppProperties.Email emailProps, HttpHeaders headers) {
+    private @NonNull HttpEntity<Map<String, Object>> getMapHttpEntity(
+            EmailDto emailDto, AppProperties.Email emailProps, HttpHeaders headers) {
         Map<String, Object> body = Map.of(
                 "from",
                         Map.of(
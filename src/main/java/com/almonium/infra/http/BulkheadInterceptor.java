@@ -0,0 +1,118 @@
+package com.almonium.infra.http;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.infra.http.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Caps the number of concurrent requests to one provider. A permit is held until the response is closed,
+ * so slow body reads count too. Callers that can't get a permit within the configured wait fail fast
+ * with {@link BulkheadFullException} instead of piling up on a slow provider.
+ */
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class BulkheadInterceptor implements ClientHttpRequestInterceptor {
+    static final String IN_FLIGHT_GAUGE = "http.client.bulkhead.in.flight";
+    static final String REJECTION_COUNTER = "http.client.bulkhead.rejections";
+
+    ApiProvider provider;
+    int maxConcurrentRequests;
+    Duration maxWait;
+    Semaphore permits;
+    Counter rejections;
+
+    public BulkheadInterceptor(
+            ApiProvider provider, int maxConcurrentRequests, Duration maxWait, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.rejections = Counter.builder(REJECTION_COUNTER)
+                .tag("provider", provider.name())
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_GAUGE, permits, p -> maxConcurrentRequests - p.availablePermits())
+                .tag("provider", provider.name())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        acquire();
+        try {
+            return new PermitReleasingResponse(execution.execute(request, body));
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejections.increment();
+                throw new BulkheadFullException(
+                        provider + " already has " + maxConcurrentRequests + " requests in flight");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException("Interrupted while waiting for a " + provider + " request slot");
+        }
+    }
+
+    private class PermitReleasingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.almonium.infra.http;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.config.properties.ExternalApiProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.http.HttpClient;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * One {@link RestTemplate} per outbound provider, each on its own pooled JDK {@link HttpClient}
+ * (keep-alive, HTTP/2 negotiated where the provider supports it) with the provider's timeouts and bulkhead.
+ * Templates are built from Boot's {@link RestTemplateBuilder}, so requests are recorded in
+ * {@code http.client.requests} per host and URI template.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class ProviderHttpTransport {
+    Map<ApiProvider, RestTemplate> restTemplates = new EnumMap<>(ApiProvider.class);
+
+    public ProviderHttpTransport(
+            ExternalApiProperties externalApiProperties,
+            RestTemplateBuilder restTemplateBuilder,
+            ExecutorService virtualThreadExecutor,
+            MeterRegistry meterRegistry) {
+        for (ApiProvider provider : ApiProvider.values()) {
+            ExternalApiProperties.HttpSettings settings =
+                    externalApiProperties.getHttp().settingsOf(provider);
+            restTemplates.put(
+                    provider, build(provider, settings, restTemplateBuilder, virtualThreadExecutor, meterRegistry));
+        }
+    }
+
+    public RestTemplate restTemplate(ApiProvider provider) {
+        return restTemplates.get(provider);
+    }
+
+    private static RestTemplate build(
+            ApiProvider provider,
+            ExternalApiProperties.HttpSettings settings,
+            RestTemplateBuilder restTemplateBuilder,
+            ExecutorService virtualThreadExecutor,
+            MeterRegistry meterRegistry) {
+        HttpClient.Version version = settings.getHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+        log.debug("Building {} HTTP client: {}, {}", provider, version, settings);
+
+        return restTemplateBuilder
+                .requestFactoryBuilder(
+                        ClientHttpRequestFactoryBuilder.jdk().withHttpClientCustomizer(client -> client.version(version)
+                                .executor(virtualThreadExecutor)))
+                .connectTimeout(settings.getConnectTimeout())
+                .readTimeout(settings.getReadTimeout())
+                .additionalInterceptors(new BulkheadInterceptor(
+                        provider, settings.getMaxConcurrentRequests(), settings.getBulkheadWait(), meterRegistry))
+                .build();
+    }
+}
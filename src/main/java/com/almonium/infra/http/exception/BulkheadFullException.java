@@ -0,0 +1,9 @@
+package com.almonium.infra.http.exception;
+
+import org.springframework.web.client.RestClientException;
+
+public class BulkheadFullException extends RestClientException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,69 @@
+package com.almonium.infra.sse;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Runs a producer on a virtual thread and forwards everything it emits as server-sent events of one name,
+ * followed by a single {@code done} event. A client that goes away makes the next send throw, which stops the
+ * producer instead of letting it finish work nobody will read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class SseStreamer {
+    public static final String DONE_EVENT = "done";
+
+    ExecutorService virtualThreadExecutor;
+
+    public <T> SseEmitter stream(String event, Duration timeout, Consumer<Consumer<T>> producer) {
+        return streamEvents(timeout, sink -> {
+            producer.accept(item -> sink.send(event, item));
+            sink.send(DONE_EVENT, "");
+        });
+    }
+
+    /**
+     * Like {@link #stream}, but the producer names every event itself and is expected to send its own last event.
+     */
+    public SseEmitter streamEvents(Duration timeout, Consumer<EventSink> producer) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        virtualThreadExecutor.execute(() -> {
+            try {
+                producer.accept((event, data) -> send(emitter, event, data));
+                emitter.complete();
+            } catch (Exception e) {
+                log.warn("Event stream aborted: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, String event, Object data) {
+        // SseEmitter isn't safe for concurrent sends
+        synchronized (emitter) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface EventSink {
+        void send(String event, Object data);
+    }
+}
@@ -14,6 +14,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
@@ -77,6 +78,25 @@ public class FirebaseStorageService {
         log.info("File deleted: {}", filePath);
     }
 
+    /**
+     * Downloads a file if it exists.
+     *
+     * @param filePath The file path
+     * @return The file content, or empty if there is no such file.
+     * @throws FirebaseIntegrationException if the storage call fails.
+     */
+    public Optional<byte[]> findFile(String filePath) {
+        String bucketName = googleProperties.getFirebase().getStorage().getBucket();
+        try {
+            return Optional.of(storage.readAllBytes(BlobId.of(bucketName, filePath)));
+        } catch (StorageException e) {
+            if (e.getCode() == 404) {
+                return Optional.empty();
+            }
+            throw new FirebaseIntegrationException("Failed to download file from Firebase Storage", e);
+        }
+    }
+
     public byte[] getParallelText(Long bookId, Long secondId) {
         String path = bookId < secondId
                 ? PARALLEL_BOOK_CONTENT_PATH_TEMPLATE.formatted(bookId, secondId)
@@ -4,4 +4,8 @@ public class AppLimits {
     public static final int MAX_FLUENT_LANGS = 3;
     public static final int MAX_USERNAME_LENGTH = 20;
     public static final int MIN_USERNAME_LENGTH = 3;
+    public static final int MAX_BATCH_ANALYSIS_ENTRIES = 200;
+    public static final int MAX_BATCH_FREQUENCY_WORDS = 5000;
+    public static final int MAX_CARD_SEARCH_PAGE_SIZE = 100;
+    public static final int MAX_CARD_PAGE_SIZE = 100;
 }
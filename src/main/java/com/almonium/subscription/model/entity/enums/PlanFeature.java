@@ -2,4 +2,7 @@ package com.almonium.subscription.model.entity.enums;
 
 public enum PlanFeature {
     MAX_TARGET_LANGS,
+    DAILY_TRANSLATION_CHARACTERS,
+    DAILY_SPEECH_CHARACTERS,
+    DAILY_DICTIONARY_LOOKUPS,
 }
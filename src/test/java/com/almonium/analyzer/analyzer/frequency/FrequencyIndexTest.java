@@ -0,0 +1,66 @@
+package com.almonium.analyzer.analyzer.frequency;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalDouble;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@FieldDefaults(level = PRIVATE)
+class FrequencyIndexTest {
+    @TempDir
+    Path dir;
+
+    Path corpus;
+    Path indexFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        corpus = dir.resolve("en.tsv");
+        indexFile = dir.resolve("en.idx");
+        Files.writeString(
+                corpus,
+                """
+                # word\tcount
+                the\t600
+                The\t100
+                cat\t200
+                café\t50
+                zebra\t50
+                broken line
+                dog	many
+                """);
+        FrequencyIndexBuilder.build(corpus, indexFile);
+    }
+
+    @DisplayName("Should return relative frequency of a word, merging counts of equal normalized forms")
+    @Test
+    void givenIndexedWord_whenFind_thenRelativeFrequencyReturned() throws IOException {
+        FrequencyIndex index = FrequencyIndex.open(indexFile);
+
+        assertThat(index.getSize()).isEqualTo(4);
+        assertThat(index.find("the").getAsDouble()).isCloseTo(0.7, within(1e-12));
+        assertThat(index.find("  CAT ").getAsDouble()).isCloseTo(0.2, within(1e-12));
+        assertThat(index.find("Café").getAsDouble()).isCloseTo(0.05, within(1e-12));
+        assertThat(index.find("zebra").getAsDouble()).isCloseTo(0.05, within(1e-12));
+    }
+
+    @DisplayName("Should report a miss for words that are not in the corpus")
+    @Test
+    void givenUnknownWord_whenFind_thenEmpty() throws IOException {
+        FrequencyIndex index = FrequencyIndex.open(indexFile);
+
+        assertThat(index.find("dog")).isEqualTo(OptionalDouble.empty());
+        assertThat(index.find("ca")).isEqualTo(OptionalDouble.empty());
+        assertThat(index.find("")).isEqualTo(OptionalDouble.empty());
+        assertThat(index.find(null)).isEqualTo(OptionalDouble.empty());
+    }
+}
@@ -0,0 +1,74 @@
+package com.almonium.analyzer.analyzer.lexicon;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.almonium.analyzer.analyzer.model.enums.POS;
+import com.almonium.analyzer.analyzer.model.record.NlpAnnotation;
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.config.properties.AnalyzerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import lombok.SneakyThrows;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@FieldDefaults(level = PRIVATE)
+class LexiconRegistryTest {
+    @TempDir
+    Path directory;
+
+    SimpleMeterRegistry meterRegistry;
+    LexiconRegistry registry;
+
+    @BeforeEach
+    @SneakyThrows
+    void setUp() {
+        Files.writeString(
+                directory.resolve("en.tsv"),
+                """
+                # form\tlemma\ttag
+                cats\tcat\tNNS
+                went\tgo\tVBD
+                Paris\tParis\tNNP
+                run\trun\tVB
+                run\trun\tNN
+                """);
+        AnalyzerProperties properties = new AnalyzerProperties();
+        properties.getLexicon().setDirectory(directory);
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new LexiconRegistry(properties, meterRegistry);
+        registry.load();
+    }
+
+    @DisplayName("Should resolve an unambiguous single word from the lexicon")
+    @Test
+    void givenKnownWord_whenAnnotate_thenLemmaAndPosFromLexicon() {
+        Optional<NlpAnnotation> annotation = registry.annotate(Language.EN, " went ");
+
+        assertThat(annotation)
+                .contains(new NlpAnnotation(List.of("went"), List.of(POS.VERB_PAST_TENSE), List.of("go")));
+    }
+
+    @DisplayName("Should leave ambiguous, unknown and multi-word input to CoreNLP")
+    @Test
+    void givenInputNeedingContext_whenAnnotate_thenEmpty() {
+        assertThat(registry.annotate(Language.EN, "run")).isEmpty();
+        assertThat(registry.annotate(Language.EN, "paris")).isEmpty();
+        assertThat(registry.annotate(Language.EN, "cats and dogs")).isEmpty();
+        assertThat(registry.annotate(Language.DE, "cats")).isEmpty();
+
+        assertThat(meterRegistry
+                        .get(LexiconRegistry.LOOKUP_COUNTER)
+                        .tag("result", LexiconRegistry.RESULT_AMBIGUOUS)
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,128 @@
+package com.almonium.analyzer.analyzer.service;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.almonium.analyzer.analyzer.model.enums.POS;
+import com.almonium.analyzer.analyzer.model.record.NlpAnnotation;
+import com.almonium.config.properties.AnalyzerProperties;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.SneakyThrows;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+@Slf4j
+@FieldDefaults(level = PRIVATE)
+class CoreNLPServiceTest {
+    static StanfordCoreNLP sharedPipeline;
+
+    ExecutorService executor;
+    AtomicInteger pipelinesBuilt;
+    AnalyzerProperties.Nlp nlpProperties;
+    CoreNLPService coreNLPService;
+
+    @BeforeAll
+    static void loadModels() {
+        Properties props = new Properties();
+        props.put("annotators", "tokenize, ssplit, pos, lemma");
+        sharedPipeline = new StanfordCoreNLP(props);
+    }
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        pipelinesBuilt = new AtomicInteger();
+        nlpProperties = new AnalyzerProperties.Nlp();
+        nlpProperties.setPoolSize(2);
+        coreNLPService = new CoreNLPService(
+                nlpProperties,
+                () -> {
+                    pipelinesBuilt.incrementAndGet();
+                    return sharedPipeline;
+                },
+                executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @DisplayName("Should return tokens, POS tags and lemmas from one pass")
+    @Test
+    void givenText_whenAnnotate_thenTokensTagsAndLemmasAligned() {
+        NlpAnnotation annotation = coreNLPService.annotate("to run");
+
+        assertThat(annotation.tokens()).containsExactly("to", "run");
+        assertThat(annotation.posTags()).containsExactly(POS.TO, POS.VERB);
+        assertThat(annotation.lemmas()).containsExactly("to", "run");
+    }
+
+    @DisplayName("Should reuse pipelines instead of building one per call")
+    @Test
+    void givenSequentialCalls_whenAnnotate_thenPipelineBuiltOnce() {
+        coreNLPService.annotate("cats");
+        coreNLPService.annotate("dogs");
+        coreNLPService.annotate("mice");
+
+        assertThat(pipelinesBuilt).hasValue(1);
+    }
+
+    @DisplayName("Should never build more pipelines than the pool size")
+    @Test
+    @SneakyThrows
+    void givenConcurrentCalls_whenAnnotate_thenPoolSizeRespected() {
+        List<Future<NlpAnnotation>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(executor.submit(() -> coreNLPService.annotate("running quickly")));
+        }
+        for (Future<NlpAnnotation> future : futures) {
+            assertThat(future.get().lemmas()).containsExactly("run", "quickly");
+        }
+
+        assertThat(pipelinesBuilt.get()).isBetween(1, nlpProperties.getPoolSize());
+    }
+
+    @DisplayName("Benchmark: annotations per second through the pool")
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @SneakyThrows
+    void benchmarkAnnotateThroughput() {
+        int warmUpCalls = 200;
+        int measuredCalls = 5_000;
+        for (int i = 0; i < warmUpCalls; i++) {
+            coreNLPService.annotate("warming up");
+        }
+
+        long startedAt = System.nanoTime();
+        List<Future<NlpAnnotation>> futures = new ArrayList<>(measuredCalls);
+        for (int i = 0; i < measuredCalls; i++) {
+            futures.add(executor.submit(() -> coreNLPService.annotate("the children were running home")));
+        }
+        for (Future<NlpAnnotation> future : futures) {
+            future.get();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        log.info(
+                "{} annotations in {} ms ({} ops/s) with pool size {}",
+                measuredCalls,
+                elapsedMillis,
+                measuredCalls * 1000L / Math.max(elapsedMillis, 1),
+                nlpProperties.getPoolSize());
+    }
+}
@@ -0,0 +1,87 @@
+package com.almonium.analyzer.analyzer.service;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.almonium.analyzer.analyzer.frequency.FrequencyIndexRegistry;
+import com.almonium.analyzer.client.ngrams.adapter.NgramsAdapter;
+import com.almonium.analyzer.translator.model.enums.Language;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = PRIVATE)
+class FrequencyServiceTest {
+    @InjectMocks
+    FrequencyService frequencyService;
+
+    @Mock
+    FrequencyIndexRegistry frequencyIndexRegistry;
+
+    @Mock
+    NgramsAdapter ngramsAdapter;
+
+    @DisplayName("Should answer from the local index without calling Ngrams")
+    @Test
+    void givenIndexedWord_whenGetFrequency_thenNgramsNotCalled() {
+        when(frequencyIndexRegistry.find(Language.EN, "cat")).thenReturn(OptionalDouble.of(1e-5));
+
+        Optional<Integer> frequency = frequencyService.getFrequency(Language.EN, "cat");
+
+        assertThat(frequency).contains(52);
+        verify(ngramsAdapter, never()).getRelativeFrequency(any(), any());
+    }
+
+    @DisplayName("Should fall back to Ngrams when the word is not in the local index")
+    @Test
+    void givenMissingWord_whenGetFrequency_thenNgramsUsed() {
+        when(frequencyIndexRegistry.find(Language.EN, "cat")).thenReturn(OptionalDouble.empty());
+        when(ngramsAdapter.getRelativeFrequency("cat", Language.EN)).thenReturn(Optional.of(1e-5));
+
+        Optional<Integer> frequency = frequencyService.getFrequency(Language.EN, "cat");
+
+        assertThat(frequency).contains(52);
+    }
+
+    @DisplayName("Should normalize and deduplicate a batch and look up only index misses remotely")
+    @Test
+    void givenBatchWithIndexedAndMissingWords_whenGetFrequencies_thenOnlyMissesSentToNgrams() {
+        when(ngramsAdapter.supports(Language.EN)).thenReturn(true);
+        when(frequencyIndexRegistry.find(eq(Language.EN), any())).thenReturn(OptionalDouble.empty());
+        when(frequencyIndexRegistry.find(Language.EN, "cat")).thenReturn(OptionalDouble.of(1e-5));
+        when(ngramsAdapter.getRelativeFrequencies(List.of("dog", "qwzx"), Language.EN))
+                .thenReturn(Map.of("dog", 1e-5));
+
+        Map<String, Integer> frequencies =
+                frequencyService.getFrequencies(Language.EN, List.of("Cat", " cat ", "dog", "DOG", "qwzx", " "));
+
+        assertThat(frequencies).containsExactly(Map.entry("cat", 52), Map.entry("dog", 52));
+    }
+
+    @DisplayName("Should keep local scores and skip Ngrams when the language has no Ngrams corpus")
+    @Test
+    void givenUnsupportedLanguageBatch_whenGetFrequencies_thenLocalScoresReturned() {
+        when(frequencyIndexRegistry.find(Language.FR, "chat")).thenReturn(OptionalDouble.of(1e-5));
+        when(frequencyIndexRegistry.find(Language.FR, "chien")).thenReturn(OptionalDouble.empty());
+        when(ngramsAdapter.supports(Language.FR)).thenReturn(false);
+
+        Map<String, Integer> frequencies = frequencyService.getFrequencies(Language.FR, List.of("chat", "chien"));
+
+        assertThat(frequencies).containsExactly(Map.entry("chat", 52));
+        verify(ngramsAdapter, never()).getRelativeFrequencies(any(), any());
+    }
+}
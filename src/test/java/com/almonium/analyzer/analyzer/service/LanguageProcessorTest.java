@@ -0,0 +1,183 @@
+package com.almonium.analyzer.analyzer.service;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.almonium.analyzer.analyzer.dto.response.AnalysisDto;
+import com.almonium.analyzer.analyzer.dto.response.WordAnalysisDto;
+import com.almonium.analyzer.analyzer.lexicon.LexiconRegistry;
+import com.almonium.analyzer.analyzer.model.enums.POS;
+import com.almonium.analyzer.analyzer.model.enums.ReportSection;
+import com.almonium.analyzer.analyzer.model.record.NlpAnnotation;
+import com.almonium.analyzer.client.google.GoogleClient;
+import com.almonium.analyzer.client.google.dto.GoogleDto;
+import com.almonium.analyzer.client.usage.UsageMeter;
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.card.core.service.LearnerFinder;
+import com.almonium.config.properties.AnalyzerProperties;
+import com.almonium.user.core.model.entity.Learner;
+import com.almonium.user.core.model.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = PRIVATE)
+class LanguageProcessorTest {
+    static final NlpAnnotation PHRASE =
+            new NlpAnnotation(List.of("a", "b", "c"), List.of(POS.NOUN, POS.NOUN, POS.NOUN), List.of("a", "b", "c"));
+
+    @Mock
+    CoreNLPService coreNLPService;
+
+    @Mock
+    LearnerFinder learnerFinder;
+
+    @Mock
+    GoogleClient googleClient;
+
+    @Mock
+    UsageMeter usageMeter;
+
+    ExecutorService executor;
+    SimpleMeterRegistry meterRegistry;
+    User user;
+    LanguageProcessor languageProcessor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        AnalyzerProperties properties = new AnalyzerProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        ReportFanOutEngine fanOutEngine = new ReportFanOutEngine(executor, properties, meterRegistry);
+        languageProcessor = new LanguageProcessor(
+                coreNLPService,
+                new LexiconRegistry(properties, meterRegistry),
+                fanOutEngine,
+                null,
+                learnerFinder,
+                null,
+                googleClient,
+                null,
+                null,
+                null,
+                null,
+                null,
+                executor,
+                null,
+                usageMeter,
+                properties);
+
+        user = new User();
+        user.setFluentLangs(Set.of(Language.DE));
+        when(learnerFinder.findLearner(user, Language.EN))
+                .thenReturn(Learner.builder().user(user).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @DisplayName("Should analyze each distinct entry once with one NLP pass and one frequency request")
+    @Test
+    void givenDuplicateEntries_whenStreamReports_thenEachDistinctEntryReportedOnce() {
+        when(coreNLPService.annotateAll(List.of("break a leg", "piece of cake")))
+                .thenReturn(List.of(PHRASE, PHRASE));
+        when(googleClient.getAll(List.of("break a leg", "piece of cake"), Language.EN))
+                .thenReturn(ResponseEntity.ok(List.of(
+                        GoogleDto.builder()
+                                .ngram("break a leg (All)")
+                                .timeseries(new String[] {"1e-7"})
+                                .build(),
+                        GoogleDto.builder()
+                                .ngram("Break a leg")
+                                .timeseries(new String[] {"1e-9"})
+                                .build())));
+        ConcurrentLinkedQueue<WordAnalysisDto> reports = new ConcurrentLinkedQueue<>();
+
+        languageProcessor.streamReports(
+                List.of("break a leg", " Break a leg", "piece of cake"), Language.EN, user, Set.of(), reports::add);
+
+        Map<String, WordAnalysisDto> byEntry =
+                reports.stream().collect(Collectors.toMap(WordAnalysisDto::entry, report -> report));
+        assertThat(byEntry).containsOnlyKeys("break a leg", "piece of cake");
+        assertThat(byEntry.get("break a leg").analysis().getFrequency()).isNotNull();
+        assertThat(byEntry.get("piece of cake").analysis().getFrequency()).isNull();
+        assertThat(byEntry.get("piece of cake").analysis().getLemmas()).containsExactly("a", "b", "c");
+        assertThat(byEntry.get("piece of cake").analysis().getMissingSections()).isEqualTo(Collections.emptySet());
+        verify(coreNLPService, times(1)).annotateAll(any());
+        verify(googleClient, times(1)).getAll(any(), any());
+    }
+
+    @DisplayName("Should report an entry whose analysis fails with its unresolved sections missing")
+    @Test
+    void givenFailingEntry_whenStreamReports_thenOtherEntriesUnaffected() {
+        when(coreNLPService.annotateAll(List.of("better", "cat")))
+                .thenReturn(List.of(
+                        new NlpAnnotation(List.of("better"), List.of(POS.ADJECTIVE_COMPARATIVE), List.of("good")),
+                        new NlpAnnotation(List.of("cat"), List.of(POS.NOUN), List.of("cat"))));
+        ConcurrentLinkedQueue<WordAnalysisDto> reports = new ConcurrentLinkedQueue<>();
+
+        languageProcessor.streamReports(
+                List.of("better", "cat"),
+                Language.EN,
+                user,
+                Set.of(ReportSection.LEMMAS, ReportSection.NOUNS),
+                reports::add);
+
+        Map<String, WordAnalysisDto> byEntry =
+                reports.stream().collect(Collectors.toMap(WordAnalysisDto::entry, report -> report));
+        assertThat(byEntry.get("better").analysis().getLemmas()).containsExactly("good");
+        assertThat(byEntry.get("better").analysis().getMissingSections()).containsExactly(ReportSection.NOUNS);
+        assertThat(byEntry.get("cat").analysis().getMissingSections()).isEmpty();
+    }
+
+    @DisplayName("Should skip NLP and unrequested providers when only frequency is requested")
+    @Test
+    void givenFrequencyOnly_whenGetReport_thenNlpSkipped() {
+        when(googleClient.get("cat", Language.EN))
+                .thenReturn(ResponseEntity.ok(List.of(
+                        GoogleDto.builder().timeseries(new String[] {"1e-5"}).build(),
+                        GoogleDto.builder().timeseries(new String[] {"1e-6"}).build())));
+
+        AnalysisDto report = languageProcessor.getReport("cat", Language.EN, user, Set.of(ReportSection.FREQUENCY));
+
+        assertThat(report.getFrequency()).isNotNull();
+        assertThat(report.getLemmas()).isNull();
+        assertThat(report.getTranslationCards()).isNull();
+        verifyNoInteractions(coreNLPService);
+        assertThat(meterRegistry
+                        .get(ReportFanOutEngine.SKIPPED_COUNTER)
+                        .tag("section", ReportSection.TRANSLATIONS.name())
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+        assertThat(meterRegistry
+                        .get(ReportFanOutEngine.SKIPPED_COUNTER)
+                        .tag("section", ReportSection.LEMMAS.name())
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+    }
+}
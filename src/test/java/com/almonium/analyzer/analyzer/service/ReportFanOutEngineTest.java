@@ -0,0 +1,160 @@
+package com.almonium.analyzer.analyzer.service;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.almonium.analyzer.analyzer.dto.response.AnalysisDto;
+import com.almonium.analyzer.analyzer.model.enums.ReportSection;
+import com.almonium.config.properties.AnalyzerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@FieldDefaults(level = PRIVATE)
+class ReportFanOutEngineTest {
+    ExecutorService executor;
+    SimpleMeterRegistry meterRegistry;
+    ReportFanOutEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+
+        AnalyzerProperties properties = new AnalyzerProperties();
+        properties.getReport().setDefaultTimeout(Duration.ofMillis(200));
+        properties.getReport().getTimeouts().put(ReportSection.TRANSLATIONS, Duration.ofMillis(50));
+
+        engine = new ReportFanOutEngine(executor, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @DisplayName("Should apply results of lookups that finish within their deadline")
+    @Test
+    void givenFastLookups_whenJoin_thenAllSectionsApplied() {
+        ReportFanOut fanOut = engine.start(new AnalysisDto());
+
+        fanOut.fork(ReportSection.FREQUENCY, () -> 4.2, AnalysisDto::setFrequency);
+        fanOut.fork(ReportSection.HOMOPHONES, () -> new String[] {"there"}, AnalysisDto::setHomophones);
+
+        AnalysisDto result = fanOut.join();
+
+        assertThat(result.getFrequency()).isEqualTo(4.2);
+        assertThat(result.getHomophones()).containsExactly("there");
+        assertThat(result.getMissingSections()).isEmpty();
+    }
+
+    @DisplayName("Should return a partial report listing the sections that timed out")
+    @Test
+    void givenSlowLookup_whenJoin_thenSectionMarkedMissing() {
+        ReportFanOut fanOut = engine.start(new AnalysisDto());
+
+        fanOut.fork(ReportSection.FREQUENCY, () -> 1.0, AnalysisDto::setFrequency);
+        fanOut.fork(
+                ReportSection.TRANSLATIONS,
+                () -> {
+                    sleep(Duration.ofMillis(500));
+                    return null;
+                },
+                AnalysisDto::setTranslationCards);
+
+        AnalysisDto result = fanOut.join();
+
+        assertThat(result.getFrequency()).isEqualTo(1.0);
+        assertThat(result.getMissingSections()).containsExactly(ReportSection.TRANSLATIONS);
+        assertThat(meterRegistry
+                        .get(ReportFanOutEngine.SECTION_TIMER)
+                        .tag("section", ReportSection.TRANSLATIONS.name())
+                        .tag("outcome", ReportFanOutEngine.OUTCOME_TIMEOUT)
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @DisplayName("Should mark a section missing when its provider fails")
+    @Test
+    void givenFailingLookup_whenJoin_thenSectionMarkedMissing() {
+        ReportFanOut fanOut = engine.start(new AnalysisDto());
+
+        fanOut.fork(
+                ReportSection.HOMOPHONES,
+                () -> {
+                    throw new IllegalStateException("provider down");
+                },
+                AnalysisDto::setHomophones);
+
+        AnalysisDto result = fanOut.join();
+
+        assertThat(result.getHomophones()).isNull();
+        assertThat(result.getMissingSections()).containsExactly(ReportSection.HOMOPHONES);
+    }
+
+    @DisplayName("Should hand each section to the listener as soon as it resolves")
+    @Test
+    void givenListener_whenSectionsResolve_thenListenerGetsEachSectionOnce() {
+        List<ReportSection> delivered = new CopyOnWriteArrayList<>();
+        List<AnalysisDto> partials = new CopyOnWriteArrayList<>();
+        ReportFanOut fanOut = engine.start(new AnalysisDto()).onSection((section, partial) -> {
+            delivered.add(section);
+            partials.add(partial);
+        });
+
+        fanOut.apply(ReportSection.LEMMAS, dto -> dto.setLemmas(new String[] {"cat"}));
+        fanOut.fork(
+                ReportSection.FREQUENCY,
+                () -> {
+                    sleep(Duration.ofMillis(30));
+                    return 4.2;
+                },
+                AnalysisDto::setFrequency);
+        fanOut.fork(
+                ReportSection.TRANSLATIONS,
+                () -> {
+                    sleep(Duration.ofMillis(500));
+                    return null;
+                },
+                AnalysisDto::setTranslationCards);
+
+        AnalysisDto result = fanOut.join();
+
+        assertThat(delivered).containsExactly(ReportSection.LEMMAS, ReportSection.FREQUENCY);
+        assertThat(partials.get(1).getFrequency()).isEqualTo(4.2);
+        assertThat(partials.get(1).getLemmas()).isNull();
+        assertThat(result.getMissingSections()).containsExactly(ReportSection.TRANSLATIONS);
+    }
+
+    @DisplayName("Should not return from join before the listener got every resolved section")
+    @Test
+    void givenSlowListener_whenJoin_thenSectionDeliveredBeforeJoinReturns() {
+        List<ReportSection> delivered = new CopyOnWriteArrayList<>();
+        ReportFanOut fanOut = engine.start(new AnalysisDto()).onSection((section, partial) -> {
+            sleep(Duration.ofMillis(100));
+            delivered.add(section);
+        });
+
+        fanOut.fork(ReportSection.FREQUENCY, () -> 4.2, AnalysisDto::setFrequency);
+        fanOut.join();
+
+        assertThat(delivered).containsExactly(ReportSection.FREQUENCY);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
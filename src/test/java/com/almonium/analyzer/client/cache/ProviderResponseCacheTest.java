@@ -0,0 +1,147 @@
+package com.almonium.analyzer.client.cache;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.analyzer.client.cache.model.entity.CachedProviderResponse;
+import com.almonium.analyzer.client.cache.repository.CachedProviderResponseRepository;
+import com.almonium.config.properties.ExternalApiProperties;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = PRIVATE)
+class ProviderResponseCacheTest {
+    static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    CachedProviderResponseRepository repository;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    SimpleMeterRegistry meterRegistry;
+    ExternalApiProperties.Cache properties;
+    ProviderResponseCache cache;
+    JavaType listOfStrings;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ExternalApiProperties.Cache();
+        cache = new ProviderResponseCache(
+                properties,
+                repository,
+                objectMapper,
+                new SingleFlight(Duration.ofSeconds(1), meterRegistry),
+                meterRegistry,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        listOfStrings = objectMapper.getTypeFactory().constructCollectionType(List.class, String.class);
+    }
+
+    @DisplayName("Should call the provider once and serve repeated lookups from memory")
+    @Test
+    void givenRepeatedLookup_whenGet_thenProviderCalledOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<ResponseEntity<List<String>>> loader = () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.ok(List.of("hair", "hare"));
+        };
+
+        ResponseEntity<List<String>> first = cache.get(ApiProvider.DATAMUSE, "rel_hom", "hair", listOfStrings, loader);
+        ResponseEntity<List<String>> second = cache.get(ApiProvider.DATAMUSE, "rel_hom", "hair", listOfStrings, loader);
+
+        assertThat(calls).hasValue(1);
+        assertThat(second.getBody()).isEqualTo(first.getBody()).containsExactly("hair", "hare");
+        assertThat(lookups(ApiProvider.DATAMUSE, ProviderResponseCache.TIER_MEMORY, "hit"))
+                .isEqualTo(1);
+        verify(repository).save(any(CachedProviderResponse.class));
+    }
+
+    @DisplayName("Should serve a response persisted by another node without calling the provider")
+    @Test
+    void givenPersistedResponse_whenGet_thenServedFromDatabase() {
+        String key = ProviderResponseCache.keyOf(ApiProvider.DATAMUSE, "rel_hom", "hair");
+        when(repository.findByCacheKeyAndExpiresAtAfter(key, NOW))
+                .thenReturn(Optional.of(new CachedProviderResponse(
+                        key, ApiProvider.DATAMUSE, 200, "[\"hare\"]", NOW, NOW.plus(1, ChronoUnit.DAYS))));
+
+        ResponseEntity<List<String>> response =
+                cache.get(ApiProvider.DATAMUSE, "rel_hom", "hair", listOfStrings, () -> {
+                    throw new AssertionError("provider must not be called");
+                });
+
+        assertThat(response.getBody()).containsExactly("hare");
+        assertThat(lookups(ApiProvider.DATAMUSE, ProviderResponseCache.TIER_DATABASE, "hit"))
+                .isEqualTo(1);
+    }
+
+    @DisplayName("Should cache a 404 with the negative TTL and rethrow it on later lookups")
+    @Test
+    void givenNotFound_whenGet_thenNegativeResultCached() {
+        when(repository.findByCacheKeyAndExpiresAtAfter(anyString(), any())).thenReturn(Optional.empty());
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<ResponseEntity<List<String>>> loader = () -> {
+            calls.incrementAndGet();
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+        };
+
+        assertThatThrownBy(() -> cache.get(ApiProvider.FREE_DICTIONARY, "/entries", "qwzx", listOfStrings, loader))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+        assertThatThrownBy(() -> cache.get(ApiProvider.FREE_DICTIONARY, "/entries", "qwzx", listOfStrings, loader))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+
+        assertThat(calls).hasValue(1);
+        ArgumentCaptor<CachedProviderResponse> saved = ArgumentCaptor.forClass(CachedProviderResponse.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getStatusCode()).isEqualTo(404);
+        assertThat(saved.getValue().getExpiresAt()).isEqualTo(NOW.plus(properties.getNegativeTtl()));
+    }
+
+    @DisplayName("Should keep everything in memory when the persistent tier is disabled")
+    @Test
+    void givenPersistenceDisabled_whenGet_thenRepositoryUntouched() {
+        properties.setPersistent(false);
+
+        cache.get(ApiProvider.URBAN, "/define", "rizz", listOfStrings, () -> ResponseEntity.ok(List.of("charm")));
+
+        verify(repository, never()).findByCacheKeyAndExpiresAtAfter(anyString(), any());
+        verify(repository, never()).save(any());
+    }
+
+    private double lookups(ApiProvider provider, String tier, String result) {
+        return meterRegistry
+                .get(ProviderResponseCache.LOOKUP_COUNTER)
+                .tag("provider", provider.name())
+                .tag("tier", tier)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
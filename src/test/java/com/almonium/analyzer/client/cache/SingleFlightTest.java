@@ -0,0 +1,139 @@
+package com.almonium.analyzer.client.cache;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.analyzer.client.exception.ApiIntegrationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import lombok.SneakyThrows;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@FieldDefaults(level = PRIVATE)
+class SingleFlightTest {
+    ExecutorService executor;
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @DisplayName("Should share one upstream call between concurrent identical lookups")
+    @Test
+    @SneakyThrows
+    void givenConcurrentIdenticalLookups_whenExecute_thenOneUpstreamCall() {
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(5), meterRegistry);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(ApiProvider.DATAMUSE, "rel_hom", "hair ", () -> {
+                upstreamCalls.incrementAndGet();
+                await(release);
+                return "hare";
+            })));
+        }
+        waitUntil(() -> meterRegistry
+                        .counter(SingleFlight.COALESCED_COUNTER, "provider", "DATAMUSE")
+                        .count()
+                == 19);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get()).isEqualTo("hare");
+        }
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @DisplayName("Should stop waiting for a slow in-flight lookup after the max wait")
+    @Test
+    @SneakyThrows
+    void givenSlowLeader_whenWaitExceeded_thenFollowerFails() {
+        SingleFlight singleFlight = new SingleFlight(Duration.ofMillis(50), meterRegistry);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(ApiProvider.YANDEX, "en-ru", "cat", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "кот";
+        }));
+        leaderStarted.await();
+
+        assertThatThrownBy(() -> singleFlight.execute(ApiProvider.YANDEX, "en-ru", "cat", () -> "unexpected"))
+                .isInstanceOf(ApiIntegrationException.class)
+                .hasMessageContaining("Timed out");
+
+        release.countDown();
+        assertThat(leader.get()).isEqualTo("кот");
+    }
+
+    @DisplayName("Should let a follower take over when the leader is cancelled")
+    @Test
+    @SneakyThrows
+    void givenCancelledLeader_whenFollowerWaiting_thenFollowerRetriesCall() {
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(ApiProvider.NGRAMS, "eng", "cat", () -> {
+            leaderStarted.countDown();
+            try {
+                Thread.sleep(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("cancelled", e);
+            }
+            return "leader";
+        }));
+        leaderStarted.await();
+        Future<String> follower =
+                executor.submit(() -> singleFlight.execute(ApiProvider.NGRAMS, "eng", "cat", () -> "follower"));
+        waitUntil(() -> meterRegistry
+                        .counter(SingleFlight.COALESCED_COUNTER, "provider", "NGRAMS")
+                        .count()
+                == 1);
+
+        leader.cancel(true);
+
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("follower");
+        assertThatThrownBy(leader::get).isInstanceOf(CancellationException.class);
+    }
+
+    @SneakyThrows
+    private static void await(CountDownLatch latch) {
+        latch.await();
+    }
+
+    @SneakyThrows
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.almonium.analyzer.client.llm;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@FieldDefaults(level = PRIVATE)
+class LlmBatcherTest {
+    final ObjectMapper objectMapper = new ObjectMapper();
+    ExecutorService executor;
+    List<String> batchPrompts;
+    AtomicInteger singleCalls;
+    List<Integer> batchSizes;
+    AtomicInteger splitFailures;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        batchPrompts = new CopyOnWriteArrayList<>();
+        singleCalls = new AtomicInteger();
+        batchSizes = new CopyOnWriteArrayList<>();
+        splitFailures = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @DisplayName("Should send a full batch as one prompt and hand each caller its own answer")
+    @Test
+    void givenFullBatch_whenSubmitted_thenOneCallSplitPerCaller() throws Exception {
+        LlmBatcher batcher = batcher(3, Duration.ofMinutes(1), prompt -> "{\"answers\": [\"a1\", \"a2\", \"a3\"]}");
+
+        CompletableFuture<String> first = batcher.submit("task 1");
+        CompletableFuture<String> second = batcher.submit("task 2");
+        CompletableFuture<String> third = batcher.submit("task 3");
+
+        assertThat(List.of(get(first), get(second), get(third))).containsExactly("a1", "a2", "a3");
+        assertThat(batchPrompts).singleElement().asString().contains("[\"task 1\",\"task 2\",\"task 3\"]");
+        assertThat(singleCalls).hasValue(0);
+        assertThat(batchSizes).containsExactly(3);
+    }
+
+    @DisplayName("Should send a partial batch after the delay, and a lone task as a plain prompt")
+    @Test
+    void givenLoneTask_whenDelayPasses_thenSentAlone() throws Exception {
+        LlmBatcher batcher = batcher(3, Duration.ofMillis(10), prompt -> "unused");
+
+        assertThat(get(batcher.submit("task"))).isEqualTo("single:task");
+        assertThat(batchPrompts).isEmpty();
+        assertThat(batchSizes).containsExactly(1);
+    }
+
+    @DisplayName("Should retry each task alone when the batch answer can't be split")
+    @Test
+    void givenMalformedAnswer_whenFlushed_thenEachTaskRetriedAlone() throws Exception {
+        LlmBatcher batcher = batcher(2, Duration.ofMinutes(1), prompt -> "```json\n{\"answers\": [\"only one\"]}\n```");
+
+        CompletableFuture<String> first = batcher.submit("task 1");
+        CompletableFuture<String> second = batcher.submit("task 2");
+
+        assertThat(List.of(get(first), get(second))).containsExactly("single:task 1", "single:task 2");
+        assertThat(singleCalls).hasValue(2);
+        assertThat(splitFailures).hasValue(1);
+    }
+
+    @DisplayName("Should fail every task of the batch when the call fails")
+    @Test
+    void givenFailingCall_whenFlushed_thenAllTasksFail() {
+        LlmBatcher batcher = batcher(2, Duration.ofMinutes(1), prompt -> {
+            throw new IllegalStateException("quota");
+        });
+
+        CompletableFuture<String> first = batcher.submit("task 1");
+        CompletableFuture<String> second = batcher.submit("task 2");
+
+        assertThatThrownBy(() -> get(first)).hasRootCauseMessage("quota");
+        assertThatThrownBy(() -> get(second)).hasRootCauseMessage("quota");
+    }
+
+    @DisplayName("Should read answers wrapped in a code fence")
+    @Test
+    void givenFencedAnswer_whenSplit_thenAnswersRead() {
+        LlmBatcher batcher = batcher(2, Duration.ofMinutes(1), prompt -> "unused");
+
+        assertThat(batcher.split("```json\n{\"answers\": [\"a\", \"b\"]}\n```", 2))
+                .containsExactly("a", "b");
+        assertThat(batcher.split("not json", 2)).isNull();
+    }
+
+    private LlmBatcher batcher(int maxBatchSize, Duration maxDelay, UnaryOperator<String> batchCall) {
+        return new LlmBatcher(
+                maxBatchSize,
+                maxDelay,
+                prompt -> {
+                    batchPrompts.add(prompt);
+                    return batchCall.apply(prompt);
+                },
+                prompt -> {
+                    singleCalls.incrementAndGet();
+                    return "single:" + prompt;
+                },
+                executor,
+                objectMapper,
+                new LlmBatcher.BatchListener() {
+                    @Override
+                    public void onBatch(int size) {
+                        batchSizes.add(size);
+                    }
+
+                    @Override
+                    public void onSplitFailure(int size) {
+                        splitFailures.incrementAndGet();
+                    }
+                });
+    }
+
+    private static String get(CompletableFuture<String> answer) throws ExecutionException, InterruptedException {
+        try {
+            return answer.get(5, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new AssertionError("No answer in time", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.almonium.analyzer.client.llm;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.analyzer.client.cache.ProviderResponseCache;
+import com.almonium.analyzer.client.chatgpt.service.GptService;
+import com.almonium.analyzer.client.gemini.service.GeminiService;
+import com.almonium.config.properties.AiProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.ExecutorService;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+@FieldDefaults(level = PRIVATE)
+class LlmGatewayTest {
+    GptService gptService;
+    GeminiService geminiService;
+    SimpleMeterRegistry meterRegistry;
+    LlmGateway llmGateway;
+
+    @BeforeEach
+    void setUp() {
+        gptService = mock(GptService.class);
+        geminiService = mock(GeminiService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        llmGateway = new LlmGateway(
+                gptService,
+                geminiService,
+                mock(ProviderResponseCache.class),
+                new AiProperties(),
+                mock(ExecutorService.class),
+                new ObjectMapper(),
+                meterRegistry);
+    }
+
+    @DisplayName("Should stream the normalized prompt's answer and time the first token once")
+    @Test
+    void givenStreamedAnswer_whenStream_thenTokensPassedAndFirstTokenTimed() {
+        when(gptService.streamChatResponse("what is a word")).thenReturn(Flux.just("A word ", "is ", "a unit."));
+
+        Flux<String> answer = llmGateway.stream(ApiProvider.OPENAI, "  what is\n a   word ");
+
+        verifyNoInteractions(gptService);
+        assertThat(answer.collectList().block()).containsExactly("A word ", "is ", "a unit.");
+        verify(gptService).streamChatResponse("what is a word");
+        assertThat(meterRegistry
+                        .get(LlmGateway.TIME_TO_FIRST_TOKEN)
+                        .tag("provider", "OPENAI")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,133 @@
+package com.almonium.analyzer.client.usage;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.analyzer.client.exception.UsageLimitExceededException;
+import com.almonium.config.properties.ExternalApiProperties;
+import com.almonium.subscription.model.entity.Plan;
+import com.almonium.subscription.model.entity.enums.PlanFeature;
+import com.almonium.subscription.service.PlanSubscriptionService;
+import com.almonium.user.core.model.entity.User;
+import com.almonium.user.core.service.PlanService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = PRIVATE)
+class UsageMeterTest {
+    @Mock
+    PlanSubscriptionService planSubscriptionService;
+
+    @Mock
+    PlanService planService;
+
+    MutableClock clock;
+    SimpleMeterRegistry meterRegistry;
+    UsageMeter usageMeter;
+
+    @BeforeEach
+    void setUp() {
+        ExternalApiProperties.Usage properties = new ExternalApiProperties.Usage();
+        properties.getDailyBudgets().put(ApiProvider.GOOGLE_TRANSLATE, 100L);
+        clock = new MutableClock(Instant.parse("2025-01-01T23:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        usageMeter = new UsageMeter(properties, planSubscriptionService, planService, meterRegistry, clock);
+    }
+
+    @DisplayName("Should reject a provider call that would exceed the daily budget and export what was used")
+    @Test
+    void givenBudgetAlmostUsed_whenAcquire_thenRejected() {
+        usageMeter.acquire(ApiProvider.GOOGLE_TRANSLATE, 90);
+
+        assertThatThrownBy(() -> usageMeter.acquire(ApiProvider.GOOGLE_TRANSLATE, 20))
+                .isInstanceOf(UsageLimitExceededException.class)
+                .extracting("resetAt")
+                .isEqualTo(Instant.parse("2025-01-02T00:00:00Z"));
+        assertThat(usageMeter.used(ApiProvider.GOOGLE_TRANSLATE)).isEqualTo(90);
+        assertThat(meterRegistry
+                        .get(UsageMeter.DAILY_GAUGE)
+                        .tag("provider", "GOOGLE_TRANSLATE")
+                        .gauge()
+                        .value())
+                .isEqualTo(90);
+    }
+
+    @DisplayName("Should leave providers without a budget unmetered")
+    @Test
+    void givenNoBudget_whenAcquire_thenAlwaysAllowed() {
+        usageMeter.acquire(ApiProvider.YANDEX, 1_000_000);
+
+        assertThat(usageMeter.used(ApiProvider.YANDEX)).isEqualTo(1_000_000);
+    }
+
+    @DisplayName("Should start from zero on the next UTC day")
+    @Test
+    void givenExhaustedBudget_whenDayChanges_thenBudgetRenewed() {
+        usageMeter.acquire(ApiProvider.GOOGLE_TRANSLATE, 100);
+        clock.instant = Instant.parse("2025-01-02T00:00:01Z");
+
+        usageMeter.acquire(ApiProvider.GOOGLE_TRANSLATE, 100);
+
+        assertThat(usageMeter.used(ApiProvider.GOOGLE_TRANSLATE)).isEqualTo(100);
+    }
+
+    @DisplayName("Should enforce the limit of the user's plan and look the plan up once")
+    @Test
+    void givenPlanLimit_whenChargedPastIt_thenRejected() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        when(planSubscriptionService.getActivePlan(user))
+                .thenReturn(Plan.builder().id(1L).build());
+        when(planService.getPlanLimits(1L)).thenReturn(Map.of(PlanFeature.DAILY_SPEECH_CHARACTERS, 10));
+
+        usageMeter.charge(user, PlanFeature.DAILY_SPEECH_CHARACTERS, 6);
+        usageMeter.charge(user, PlanFeature.DAILY_TRANSLATION_CHARACTERS, 1_000);
+
+        assertThatThrownBy(() -> usageMeter.charge(user, PlanFeature.DAILY_SPEECH_CHARACTERS, 6))
+                .isInstanceOf(UsageLimitExceededException.class);
+        assertThat(usageMeter.used(user.getId(), PlanFeature.DAILY_SPEECH_CHARACTERS))
+                .isEqualTo(6);
+        verify(planSubscriptionService, times(1)).getActivePlan(user);
+    }
+
+    private static class MutableClock extends Clock {
+        Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.almonium.analyzer.client.words;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.almonium.analyzer.client.words.dto.WordsReportDto;
+import com.almonium.config.properties.AnalyzerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@FieldDefaults(level = PRIVATE)
+class RandomWordBufferTest {
+    ExecutorService executor;
+    SimpleMeterRegistry meterRegistry;
+    AtomicInteger fetched;
+    volatile boolean failing;
+    RandomWordBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+        fetched = new AtomicInteger();
+        AnalyzerProperties.RandomWords properties = new AnalyzerProperties.RandomWords();
+        properties.setCapacity(5);
+        properties.setLowWaterMark(2);
+        properties.setRefillConcurrency(2);
+        properties.setFailureBackoff(Duration.ofMinutes(1));
+        buffer = new RandomWordBuffer(
+                properties,
+                () -> {
+                    if (failing) {
+                        throw new IllegalStateException("words api down");
+                    }
+                    WordsReportDto word = new WordsReportDto();
+                    word.setWord("word" + fetched.incrementAndGet());
+                    return word;
+                },
+                executor,
+                meterRegistry,
+                Clock.systemUTC());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @DisplayName("Should fetch directly when empty and fill the buffer up to capacity in the background")
+    @Test
+    void givenEmptyBuffer_whenNext_thenServedDirectlyAndRefilled() {
+        assertThat(buffer.next()).isNotNull();
+
+        waitUntil(() -> buffer.size() == 5);
+        assertThat(meterRegistry.get(RandomWordBuffer.DEPTH_GAUGE).gauge().value())
+                .isEqualTo(5);
+    }
+
+    @DisplayName("Should serve from the buffer and refill only below the low-water mark")
+    @Test
+    void givenFullBuffer_whenNext_thenServedFromMemory() {
+        buffer.refillAsync();
+        waitUntil(() -> buffer.size() == 5);
+        int fetchedBefore = fetched.get();
+
+        buffer.next();
+        buffer.next();
+
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(fetched).hasValue(fetchedBefore);
+        assertThat(meterRegistry
+                        .counter(RandomWordBuffer.SERVED_COUNTER, "source", "buffer")
+                        .count())
+                .isEqualTo(2);
+    }
+
+    @DisplayName("Should not retry a failed refill before the backoff elapses")
+    @Test
+    void givenFailingApi_whenRefillFails_thenNoRefillDuringBackoff() {
+        failing = true;
+        buffer.refillAsync();
+        waitUntil(() -> meterRegistry.timer(RandomWordBuffer.REFILL_TIMER).count() == 1);
+        failing = false;
+
+        buffer.refillAsync();
+
+        assertThat(buffer.size()).isZero();
+        assertThat(meterRegistry.timer(RandomWordBuffer.REFILL_TIMER).count()).isEqualTo(1);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.almonium.analyzer.translator.service;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.almonium.analyzer.client.exception.ApiIntegrationException;
+import com.almonium.analyzer.translator.dto.TranslatedChunkDto;
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.analyzer.translator.repository.TranslationMemoryRepository;
+import com.almonium.config.properties.AnalyzerProperties;
+import com.almonium.infra.sse.SseStreamer;
+import com.google.protobuf.ByteString;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@FieldDefaults(level = PRIVATE)
+class BulkTranslationServiceTest {
+    ExecutorService executor;
+    AnalyzerProperties properties;
+    FakeTranslationService translationService;
+    BulkTranslationService bulkTranslationService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        properties = new AnalyzerProperties();
+        properties.getBulkTranslation().setChunkSize(20);
+        properties.getBulkTranslation().setMaxConcurrency(2);
+        translationService = new FakeTranslationService();
+        TranslationMemory translationMemory = new TranslationMemory(
+                properties.getTranslationMemory(),
+                mock(TranslationMemoryRepository.class),
+                executor,
+                new SimpleMeterRegistry(),
+                Clock.systemUTC());
+        bulkTranslationService = new BulkTranslationService(
+                translationService, translationMemory, executor, properties, new SseStreamer(executor));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @DisplayName("Should emit chunks in order even when later chunks finish first")
+    @Test
+    void givenSlowFirstChunk_whenStream_thenChunksInOrder() {
+        String text = "Slow first one. Fast second. Fast third.";
+        List<TranslatedChunkDto> received = new ArrayList<>();
+
+        bulkTranslationService.stream(text, Language.DE, received::add);
+
+        assertThat(received).extracting(TranslatedChunkDto::index).containsExactly(0, 1, 2);
+        assertThat(received)
+                .extracting(TranslatedChunkDto::text)
+                .containsExactly("SLOW FIRST ONE. ", "FAST SECOND. ", "FAST THIRD.");
+        assertThat(translationService.maxInFlight).hasValueLessThanOrEqualTo(2);
+    }
+
+    @DisplayName("Should join translated chunks keeping the original separators")
+    @Test
+    void givenParagraphs_whenTranslate_thenSeparatorsKept() {
+        String translated = bulkTranslationService.translate("First paragraph.\n\nSecond one.", Language.DE);
+
+        assertThat(translated).isEqualTo("FIRST PARAGRAPH.\n\nSECOND ONE.");
+    }
+
+    @DisplayName("Should stop the stream when a chunk fails")
+    @Test
+    void givenFailingChunk_whenStream_thenApiIntegrationException() {
+        List<TranslatedChunkDto> received = new ArrayList<>();
+
+        assertThatThrownBy(() -> bulkTranslationService.stream("Fine chunk. Broken chunk.", Language.DE, received::add))
+                .isInstanceOf(ApiIntegrationException.class);
+        assertThat(received).hasSize(1);
+    }
+
+    @DisplayName("Should send a repeated sentence to the provider once and reuse it from memory afterwards")
+    @Test
+    void givenRepeatedSentences_whenTranslate_thenEachSentenceTranslatedOnce() {
+        String text = "Hello there. Bye now. Hello there.";
+
+        String first = bulkTranslationService.translate(text, Language.DE);
+        String second = bulkTranslationService.translate(text, Language.DE);
+
+        assertThat(first).isEqualTo("HELLO THERE. BYE NOW. HELLO THERE.");
+        assertThat(second).isEqualTo(first);
+        assertThat(translationService.translated).containsExactlyInAnyOrder("Hello there.", "Bye now.");
+    }
+
+    private static class FakeTranslationService implements TranslationService {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final List<String> translated = new CopyOnWriteArrayList<>();
+
+        @Override
+        public List<String> bulkTranslateTexts(List<String> texts, String code) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (texts.getFirst().startsWith("Slow")) {
+                    Thread.sleep(200);
+                }
+                if (texts.getFirst().startsWith("Broken")) {
+                    throw new IllegalStateException("quota");
+                }
+                translated.addAll(texts);
+                return texts.stream().map(text -> text.toUpperCase(Locale.ROOT)).toList();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return List.of();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public String bulkTranslateText(String text, String code) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ByteString textToSpeech(String languageCode, String text) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String translateText(String text, String sourceCode, String targetCode) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
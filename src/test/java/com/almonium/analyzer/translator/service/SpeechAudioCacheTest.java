@@ -0,0 +1,136 @@
+package com.almonium.analyzer.translator.service;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.almonium.analyzer.client.cache.SingleFlight;
+import com.almonium.analyzer.translator.model.record.SpeechAudio;
+import com.almonium.config.properties.AnalyzerProperties;
+import com.almonium.config.properties.ExternalApiProperties;
+import com.almonium.infra.storage.service.FirebaseStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.SneakyThrows;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = PRIVATE)
+class SpeechAudioCacheTest {
+    static final String VOICE = "NEUTRAL/MP3";
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Mock
+    FirebaseStorageService storageService;
+
+    ExecutorService executor;
+    AnalyzerProperties properties;
+    AtomicInteger synthesized;
+    SpeechAudioCache cache;
+
+    @BeforeEach
+    @SneakyThrows
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        properties = new AnalyzerProperties();
+        properties.getSpeech().setCacheDirectory(cacheDirectory);
+        synthesized = new AtomicInteger();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cache = new SpeechAudioCache(
+                properties,
+                storageService,
+                new SingleFlight(new ExternalApiProperties(), meterRegistry),
+                executor,
+                meterRegistry);
+        cache.loadDiskIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @DisplayName("Should synthesize once and serve repeats from disk")
+    @Test
+    void givenRepeatedText_whenGet_thenSynthesizedOnce() {
+        SpeechAudio first = cache.get("en-US", VOICE, "hello", synthesizer("audio"));
+        SpeechAudio second = cache.get("en-US", VOICE, "  hello ", synthesizer("audio"));
+
+        assertThat(synthesized).hasValue(1);
+        assertThat(second.content()).isEqualTo(first.content());
+        assertThat(second.etag()).isEqualTo(first.etag());
+        verify(storageService, timeout(1000)).upload(any(), eq("audio/mpeg"), anyString());
+    }
+
+    @DisplayName("Should use audio from storage instead of synthesizing it")
+    @Test
+    void givenAudioInStorage_whenGet_thenNotSynthesized() {
+        when(storageService.findFile(anyString())).thenReturn(Optional.of(bytes("stored")));
+
+        SpeechAudio audio = cache.get("de-DE", VOICE, "Hallo", synthesizer("fresh"));
+
+        assertThat(audio.content()).isEqualTo(bytes("stored"));
+        assertThat(synthesized).hasValue(0);
+        verify(storageService, never()).upload(any(), anyString(), anyString());
+    }
+
+    @DisplayName("Should evict the least recently used file when the disk budget is exceeded")
+    @Test
+    @SneakyThrows
+    void givenDiskBudgetExceeded_whenGet_thenLeastRecentlyUsedEvicted() {
+        properties.getSpeech().setMaxDiskSize(DataSize.ofBytes(10));
+
+        cache.get("en-US", VOICE, "one", synthesizer("11111"));
+        cache.get("en-US", VOICE, "two", synthesizer("22222"));
+        cache.get("en-US", VOICE, "one", synthesizer("11111"));
+        cache.get("en-US", VOICE, "three", synthesizer("33333"));
+
+        assertThat(Files.exists(cacheDirectory.resolve(SpeechAudioCache.keyOf("en-US", VOICE, "one") + ".mp3")))
+                .isTrue();
+        assertThat(Files.exists(cacheDirectory.resolve(SpeechAudioCache.keyOf("en-US", VOICE, "two") + ".mp3")))
+                .isFalse();
+    }
+
+    @DisplayName("Should key audio by language and voice as well as text")
+    @Test
+    void givenDifferentLanguage_whenKeyOf_thenDifferentKey() {
+        assertThat(SpeechAudioCache.keyOf("en-US", VOICE, "gift"))
+                .isNotEqualTo(SpeechAudioCache.keyOf("de-DE", VOICE, "gift"))
+                .isEqualTo(SpeechAudioCache.keyOf("en-US", VOICE, "gift\n"));
+    }
+
+    private Supplier<byte[]> synthesizer(String content) {
+        return () -> {
+            synthesized.incrementAndGet();
+            return bytes(content);
+        };
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
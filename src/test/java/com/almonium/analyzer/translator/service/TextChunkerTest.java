@@ -0,0 +1,47 @@
+package com.almonium.analyzer.translator.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TextChunkerTest {
+
+    @DisplayName("Should keep short text in a single chunk")
+    @Test
+    void givenShortText_whenChunk_thenSingleChunk() {
+        assertThat(TextChunker.chunk("One sentence.", 100)).containsExactly("One sentence.");
+    }
+
+    @DisplayName("Should split on paragraph breaks before sentence breaks")
+    @Test
+    void givenParagraphs_whenChunk_thenSplitAtParagraph() {
+        String text = "First one. Second one.\n\nThird paragraph here.";
+
+        List<String> chunks = TextChunker.chunk(text, 30);
+
+        assertThat(chunks).containsExactly("First one. Second one.\n\n", "Third paragraph here.");
+    }
+
+    @DisplayName("Should split a long paragraph on sentence boundaries")
+    @Test
+    void givenLongParagraph_whenChunk_thenSplitAtSentence() {
+        String text = "The cat sat. The dog ran away. The bird flew.";
+
+        List<String> chunks = TextChunker.chunk(text, 20);
+
+        assertThat(chunks).containsExactly("The cat sat. ", "The dog ran away. ", "The bird flew.");
+    }
+
+    @DisplayName("Should fall back to whitespace and hard cuts and never lose text")
+    @Test
+    void givenNoSentenceBreaks_whenChunk_thenEveryChunkWithinLimit() {
+        String text = "word ".repeat(50) + "x".repeat(40);
+
+        List<String> chunks = TextChunker.chunk(text, 16);
+
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.length()).isLessThanOrEqualTo(16));
+        assertThat(String.join("", chunks)).isEqualTo(text);
+    }
+}
@@ -0,0 +1,122 @@
+package com.almonium.analyzer.translator.service;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.almonium.analyzer.translator.model.entity.TranslationMemoryEntry;
+import com.almonium.analyzer.translator.model.enums.TranslationKind;
+import com.almonium.analyzer.translator.repository.TranslationMemoryRepository;
+import com.almonium.config.properties.AnalyzerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = PRIVATE)
+class TranslationMemoryTest {
+    private static final TranslationMemory.Key KEY =
+            TranslationMemory.Key.of(TranslationKind.TEXT, TranslationMemory.AUTO_DETECT, "DE", "GOOGLE", "Hello.");
+
+    @Mock
+    TranslationMemoryRepository repository;
+
+    TranslationMemory translationMemory;
+
+    @BeforeEach
+    void setUp() {
+        // run persistence inline, so it can be verified right away
+        ExecutorService directExecutor = mock(ExecutorService.class, invocation -> {
+            if (invocation.getMethod().getName().equals("execute")) {
+                ((Runnable) invocation.getArgument(0)).run();
+            }
+            return null;
+        });
+        translationMemory = new TranslationMemory(
+                new AnalyzerProperties.TranslationMemory(),
+                repository,
+                directExecutor,
+                new SimpleMeterRegistry(),
+                Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @DisplayName("Should treat texts differing only in surrounding and repeated whitespace as the same key")
+    @Test
+    void givenWhitespaceVariants_whenKeyOf_thenSameHash() {
+        TranslationMemory.Key variant = TranslationMemory.Key.of(
+                TranslationKind.TEXT, TranslationMemory.AUTO_DETECT, "DE", "GOOGLE", "  Hello.\n");
+
+        assertThat(variant.hash()).isEqualTo(KEY.hash());
+        assertThat(TranslationMemory.Key.of(
+                                TranslationKind.TEXT, TranslationMemory.AUTO_DETECT, "DE", "GOOGLE", "hello.")
+                        .hash())
+                .isNotEqualTo(KEY.hash());
+    }
+
+    @DisplayName("Should load a stored translation once and serve it from memory afterwards")
+    @Test
+    void givenStoredTranslation_whenFindTwice_thenDatabaseQueriedOnce() {
+        when(repository.findAllByKeyHashIn(anyCollection()))
+                .thenReturn(List.of(TranslationMemoryEntry.builder()
+                        .keyHash(KEY.hash())
+                        .translation("Hallo.")
+                        .build()));
+
+        assertThat(translationMemory.find(KEY)).contains("Hallo.");
+        assertThat(translationMemory.find(KEY)).contains("Hallo.");
+
+        verify(repository, times(1)).findAllByKeyHashIn(anyCollection());
+    }
+
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should persist only translations the table doesn't hold yet")
+    @Test
+    void givenAlreadyStoredKey_whenSaveAll_thenOnlyNewOnesPersisted() {
+        TranslationMemory.Key fresh =
+                TranslationMemory.Key.of(TranslationKind.TEXT, TranslationMemory.AUTO_DETECT, "DE", "GOOGLE", "Bye.");
+        when(repository.findAllByKeyHashIn(anyCollection()))
+                .thenReturn(List.of(
+                        TranslationMemoryEntry.builder().keyHash(KEY.hash()).build()));
+
+        translationMemory.saveAll(Map.of(KEY, "Hallo.", fresh, "Tschüss."));
+
+        ArgumentCaptor<List<TranslationMemoryEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(entry -> {
+            assertThat(entry.getSourceText()).isEqualTo("Bye.");
+            assertThat(entry.getTranslation()).isEqualTo("Tschüss.");
+        });
+        assertThat(translationMemory.find(fresh)).contains("Tschüss.");
+    }
+
+    @DisplayName("Should neither read nor write when disabled")
+    @Test
+    void givenDisabled_whenFindAndSave_thenRepositoryUntouched() {
+        AnalyzerProperties.TranslationMemory properties = new AnalyzerProperties.TranslationMemory();
+        properties.setEnabled(false);
+        TranslationMemory disabled =
+                new TranslationMemory(properties, repository, null, new SimpleMeterRegistry(), Clock.systemUTC());
+
+        disabled.save(KEY, "Hallo.");
+
+        assertThat(disabled.find(KEY)).isEmpty();
+        verify(repository, never()).findAllByKeyHashIn(anyCollection());
+    }
+}
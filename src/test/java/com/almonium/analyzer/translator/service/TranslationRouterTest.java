@@ -0,0 +1,226 @@
+package com.almonium.analyzer.translator.service;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.almonium.analyzer.translator.dto.TranslationCardDto;
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.analyzer.translator.model.enums.TranslationKind;
+import com.almonium.config.properties.AnalyzerProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = PRIVATE)
+class TranslationRouterTest {
+    @Mock
+    TranslatorRoutingTable routingTable;
+
+    @Mock
+    TranslationMemory translationMemory;
+
+    ExecutorService executor;
+    SimpleMeterRegistry meterRegistry;
+    AnalyzerProperties.Translation properties;
+    FakeEngine yandex;
+    FakeEngine google;
+    TranslationRouter router;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new AnalyzerProperties.Translation();
+        properties.setHedgeDelay(Duration.ofMillis(50));
+        properties.setTimeout(Duration.ofSeconds(2));
+        yandex = new FakeEngine("YANDEX");
+        google = new FakeEngine("GOOGLE");
+        router = new TranslationRouter(
+                List.of(yandex, google),
+                routingTable,
+                translationMemory,
+                new ObjectMapper(),
+                executor,
+                properties,
+                meterRegistry,
+                Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC));
+
+        when(routingTable.translatorsFor(Language.EN, Language.RU)).thenReturn(List.of("YANDEX", "GOOGLE"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @DisplayName("Should use the first translator by priority when it answers quickly")
+    @Test
+    void givenFastPrimary_whenTranslate_thenNoHedge() {
+        TranslationCardDto card = router.translate("cat", Language.EN, Language.RU);
+
+        assertThat(card.getProvider()).isEqualTo("YANDEX");
+        assertThat(google.calls).hasValue(0);
+    }
+
+    @DisplayName("Should answer from translation memory without asking any translator")
+    @Test
+    void givenRememberedCard_whenTranslate_thenNoTranslatorCalled() {
+        TranslationMemory.Key key = TranslationMemory.Key.of(TranslationKind.CARD, "EN", "RU", "GOOGLE", " cat ");
+        when(translationMemory.findAll(anyCollection())).thenReturn(Map.of(key, "{\"provider\":\"GOOGLE\"}"));
+
+        TranslationCardDto card = router.translate("cat", Language.EN, Language.RU);
+
+        assertThat(card.getProvider()).isEqualTo("GOOGLE");
+        assertThat(yandex.calls).hasValue(0);
+        assertThat(google.calls).hasValue(0);
+    }
+
+    @DisplayName("Should run the callback only when a translator is asked, not for a remembered card")
+    @Test
+    void givenRememberedAndFreshEntries_whenTranslate_thenCallbackRunsOnlyForFresh() {
+        TranslationMemory.Key key = TranslationMemory.Key.of(TranslationKind.CARD, "EN", "RU", "GOOGLE", "cat");
+        when(translationMemory.findAll(anyCollection()))
+                .thenAnswer(invocation -> invocation
+                                .<Collection<TranslationMemory.Key>>getArgument(0)
+                                .contains(key)
+                        ? Map.of(key, "{\"provider\":\"GOOGLE\"}")
+                        : Map.of());
+        AtomicInteger charged = new AtomicInteger();
+
+        router.translate("cat", Language.EN, Language.RU, charged::incrementAndGet);
+        router.translate("dog", Language.EN, Language.RU, charged::incrementAndGet);
+
+        assertThat(charged).hasValue(1);
+        assertThat(yandex.calls).hasValue(1);
+    }
+
+    @DisplayName("Should remember a fresh card under the translator that produced it")
+    @Test
+    void givenFreshCard_whenTranslate_thenRemembered() {
+        router.translate("cat", Language.EN, Language.RU);
+
+        verify(translationMemory)
+                .save(
+                        TranslationMemory.Key.of(TranslationKind.CARD, "EN", "RU", "YANDEX", "cat"),
+                        "{\"provider\":\"YANDEX\",\"definitions\":null}");
+    }
+
+    @DisplayName("Should ask the next translator and remember only its card when the first one has no answer")
+    @Test
+    void givenEmptyPrimaryAnswer_whenTranslate_thenNextTranslatorUsed() {
+        yandex.empty = true;
+
+        TranslationCardDto card = router.translate("cat", Language.EN, Language.RU);
+
+        assertThat(card.getProvider()).isEqualTo("GOOGLE");
+        verify(translationMemory)
+                .save(
+                        TranslationMemory.Key.of(TranslationKind.CARD, "EN", "RU", "GOOGLE", "cat"),
+                        "{\"provider\":\"GOOGLE\",\"definitions\":null}");
+        verify(translationMemory, never())
+                .save(eq(TranslationMemory.Key.of(TranslationKind.CARD, "EN", "RU", "YANDEX", "cat")), any());
+    }
+
+    @DisplayName("Should send a hedged request to the next translator when the first one is slow")
+    @Test
+    void givenSlowPrimary_whenTranslate_thenHedgedAnswerWins() {
+        yandex.delay = Duration.ofMillis(500);
+
+        TranslationCardDto card = router.translate("cat", Language.EN, Language.RU);
+
+        assertThat(card.getProvider()).isEqualTo("GOOGLE");
+        assertThat(meterRegistry.counter(TranslationRouter.HEDGE_COUNTER).count())
+                .isEqualTo(1);
+    }
+
+    @DisplayName("Should take a translator out of rotation after a quota error")
+    @Test
+    void givenQuotaError_whenTranslate_thenCircuitOpens() {
+        yandex.failure = HttpClientErrorException.create(HttpStatus.FORBIDDEN, "Forbidden", null, null, null);
+
+        assertThat(router.translate("cat", Language.EN, Language.RU).getProvider())
+                .isEqualTo("GOOGLE");
+        assertThat(router.translate("dog", Language.EN, Language.RU).getProvider())
+                .isEqualTo("GOOGLE");
+
+        assertThat(yandex.calls).hasValue(1);
+    }
+
+    @DisplayName("Should prefer the translator with lower observed latency")
+    @Test
+    void givenObservedLatency_whenTranslate_thenFasterTranslatorRankedFirst() {
+        properties.setHedgeDelay(Duration.ofSeconds(1));
+        yandex.delay = Duration.ofMillis(100);
+        router.translate("cat", Language.EN, Language.RU);
+        yandex.failure = HttpClientErrorException.create(HttpStatus.INTERNAL_SERVER_ERROR, "boom", null, null, null);
+        router.translate("cat", Language.EN, Language.RU);
+        int googleCallsBefore = google.calls.get();
+        yandex.failure = null;
+
+        TranslationCardDto card = router.translate("cat", Language.EN, Language.RU);
+
+        assertThat(card.getProvider()).isEqualTo("GOOGLE");
+        assertThat(google.calls.get()).isEqualTo(googleCallsBefore + 1);
+    }
+
+    @FieldDefaults(level = PRIVATE)
+    private static class FakeEngine implements TranslatorEngine {
+        final String name;
+        final AtomicInteger calls = new AtomicInteger();
+        volatile Duration delay = Duration.ZERO;
+        volatile RuntimeException failure;
+        volatile boolean empty;
+
+        FakeEngine(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public TranslationCardDto translate(String entry, Language sourceLang, Language targetLang) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            if (empty) {
+                return null;
+            }
+            return TranslationCardDto.builder().provider(name).build();
+        }
+    }
+}
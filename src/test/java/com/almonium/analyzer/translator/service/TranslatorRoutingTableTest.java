@@ -0,0 +1,67 @@
+package com.almonium.analyzer.translator.service;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.almonium.analyzer.translator.model.entity.LangPairTranslatorMapping;
+import com.almonium.analyzer.translator.model.entity.Translator;
+import com.almonium.analyzer.translator.model.enums.Language;
+import com.almonium.analyzer.translator.repository.LangPairTranslatorRepository;
+import java.util.List;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = PRIVATE)
+class TranslatorRoutingTableTest {
+    static final Translator GOOGLE = new Translator(1L, "GOOGLE");
+    static final Translator YANDEX = new Translator(3L, "YANDEX");
+
+    @Mock
+    LangPairTranslatorRepository langPairTranslatorRepository;
+
+    @InjectMocks
+    TranslatorRoutingTable routingTable;
+
+    @DisplayName("Should route a language pair to its translators in priority order")
+    @Test
+    void givenMappings_whenTranslatorsFor_thenOrderedByPriority() {
+        when(langPairTranslatorRepository.findAllWithTranslator())
+                .thenReturn(List.of(
+                        mapping(Language.EN, Language.RU, YANDEX, 1),
+                        mapping(Language.EN, Language.RU, GOOGLE, 2),
+                        mapping(Language.EN, Language.DE, GOOGLE, 1)));
+
+        routingTable.refresh();
+
+        assertThat(routingTable.translatorsFor(Language.EN, Language.RU)).containsExactly("YANDEX", "GOOGLE");
+        assertThat(routingTable.translatorsFor(Language.EN, Language.DE)).containsExactly("GOOGLE");
+        assertThat(routingTable.translatorsFor(Language.RU, Language.EN)).isEmpty();
+    }
+
+    @DisplayName("Should serve the new routes after the mappings change")
+    @Test
+    void givenChangedMappings_whenRefresh_thenRoutesSwapped() {
+        when(langPairTranslatorRepository.findAllWithTranslator())
+                .thenReturn(List.of(mapping(Language.EN, Language.RU, YANDEX, 1)))
+                .thenReturn(List.of(mapping(Language.EN, Language.RU, GOOGLE, 1)));
+
+        routingTable.refresh();
+        List<String> before = routingTable.translatorsFor(Language.EN, Language.RU);
+        routingTable.refresh();
+
+        assertThat(before).containsExactly("YANDEX");
+        assertThat(routingTable.translatorsFor(Language.EN, Language.RU)).containsExactly("GOOGLE");
+    }
+
+    private static LangPairTranslatorMapping mapping(
+            Language source, Language target, Translator translator, int priority) {
+        return new LangPairTranslatorMapping(source, target, translator.getId(), translator, priority);
+    }
+}
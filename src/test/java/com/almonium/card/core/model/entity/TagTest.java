@@ -0,0 +1,40 @@
+package com.almonium.card.core.model.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TagTest {
+
+    @DisplayName("Should normalize text the way the whitespace regex did")
+    @Test
+    void givenTexts_whenNormalizeText_thenSameAsRegex() {
+        String[] texts = {
+            "",
+            "   ",
+            "verbs",
+            " Phrasal  Verbs ",
+            "a\tb\nc\u000Bd\fe\r\nf",
+            "Ünïcode Straße",
+            "İstanbul",
+            "ǅemal",
+            "x__y"
+        };
+
+        for (String text : texts) {
+            assertThat(Tag.normalizeText(text))
+                    .as(text)
+                    .isEqualTo(text.trim().replaceAll("\\s+", "_").toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @DisplayName("Should return already normalized text as is")
+    @Test
+    void givenNormalizedText_whenNormalizeText_thenSameInstance() {
+        String text = "phrasal_verbs";
+
+        assertThat(Tag.normalizeText(text)).isSameAs(text);
+    }
+}
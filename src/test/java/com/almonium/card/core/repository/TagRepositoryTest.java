@@ -1,10 +1,13 @@
 package com.almonium.card.core.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import com.almonium.card.core.model.entity.Tag;
+import com.almonium.card.core.model.entity.TagIdText;
 import com.almonium.config.PostgresContainer;
-import java.util.Optional;
+import java.util.List;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -26,25 +29,29 @@ class TagRepositoryTest {
 
     @BeforeEach
     void setup() {
-        // Create and persist a Tag entity
         managedTag = new Tag("Sample_Tag");
         entityManager.persist(managedTag);
         entityManager.flush();
     }
 
-    @DisplayName("Should find tag by text ignoring case and space")
+    @DisplayName("Should insert only the missing tags and return the ids of all given texts")
     @Test
-    void whenFindByTextNormalized_thenShouldReturnTag() {
-        Optional<Tag> foundTag = tagRepository.findByTextWithNormalization(" sample tag ");
-        assertThat(foundTag).isPresent();
-        assertThat(foundTag.get().getText()).isEqualTo(managedTag.getText());
+    void givenExistingAndNewTexts_whenInsertMissing_thenExistingIdKept() {
+        UUID newId = UUID.randomUUID();
+
+        List<TagIdText> tags = tagRepository.insertMissing(
+                new UUID[] {UUID.randomUUID(), newId}, new String[] {"sample_tag", "new_tag"});
+
+        assertThat(tags)
+                .extracting(TagIdText::getText, TagIdText::getId)
+                .containsExactlyInAnyOrder(tuple("sample_tag", managedTag.getId()), tuple("new_tag", newId));
     }
 
-    @DisplayName("Should find tag by exact text")
+    @DisplayName("Should find tags by exact text")
     @Test
-    void whenFindByText_thenShouldReturnTag() {
-        Optional<Tag> foundTag = tagRepository.findByText("sample_tag");
-        assertThat(foundTag).isPresent();
-        assertThat(foundTag.get().getText()).isEqualTo(managedTag.getText());
+    void whenFindAllByTextIn_thenShouldReturnTag() {
+        List<Tag> found = tagRepository.findAllByTextIn(List.of("sample_tag", "other_tag"));
+
+        assertThat(found).extracting(Tag::getId).containsExactly(managedTag.getId());
     }
 }
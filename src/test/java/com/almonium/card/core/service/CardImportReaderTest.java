@@ -0,0 +1,77 @@
+package com.almonium.card.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.almonium.card.core.model.enums.CardImportFormat;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CardImportReaderTest {
+
+    @DisplayName("Should read CSV cards by header, with quoted fields and ;-separated values")
+    @Test
+    void givenCsv_whenRead_thenCardsFromNamedColumns() throws IOException {
+        String csv = "\uFEFFtags,Entry,translations,examples\r\n"
+                + "verbs;common,run,\"бежать; бегать\",\"I run, you run\"\r\n"
+                + ",\"say \"\"hi\"\"\",сказать привет,\n"
+                + "\n"
+                + "nouns,,дом,\n";
+
+        try (CardImportReader reader = open(csv, CardImportFormat.CSV)) {
+            assertThat(readAll(reader))
+                    .containsExactly(
+                            new ImportedCard(
+                                    "run",
+                                    List.of("бежать", "бегать"),
+                                    List.of("I run, you run"),
+                                    Set.of("verbs", "common")),
+                            new ImportedCard("say \"hi\"", List.of("сказать привет"), List.of(), Set.of()));
+            assertThat(reader.skipped()).isEqualTo(1);
+        }
+    }
+
+    @DisplayName("Should reject a CSV file without the required columns")
+    @Test
+    void givenCsvWithoutTranslations_whenOpened_thenRejected() {
+        assertThatThrownBy(() -> open("entry,examples\nrun,I run\n", CardImportFormat.CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("Should read Anki notes past the reserved columns, stripping HTML")
+    @Test
+    void givenAnkiExport_whenRead_thenContentColumnsAndTagsRead() throws IOException {
+        String anki = "#separator:tab\n"
+                + "#html:true\n"
+                + "#guid column:1\n"
+                + "#tags column:5\n"
+                + "abc\tthe <b>house</b>\tdas Haus\tThe house&nbsp;is big.\tnouns a1\n"
+                + "def\tthe tree\t\t\tnouns\n";
+
+        try (CardImportReader reader = open(anki, CardImportFormat.ANKI)) {
+            assertThat(readAll(reader))
+                    .containsExactly(new ImportedCard(
+                            "the house", List.of("das Haus"), List.of("The house is big."), Set.of("nouns", "a1")));
+            assertThat(reader.skipped()).isEqualTo(1);
+        }
+    }
+
+    private static CardImportReader open(String content, CardImportFormat format) throws IOException {
+        return CardImportReader.open(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    private static List<ImportedCard> readAll(CardImportReader reader) throws IOException {
+        List<ImportedCard> cards = new ArrayList<>();
+        ImportedCard card;
+        while ((card = reader.next()) != null) {
+            cards.add(card);
+        }
+        return cards;
+    }
+}
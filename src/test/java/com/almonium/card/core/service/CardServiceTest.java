@@ -3,9 +3,9 @@ package com.almonium.card.core.service;
 import static lombok.AccessLevel.PRIVATE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -17,8 +17,12 @@ import com.almonium.card.core.dto.TagDto;
 import com.almonium.card.core.dto.TranslationDto;
 import com.almonium.card.core.dto.request.CardUpdateDto;
 import com.almonium.card.core.dto.response.CardDto;
+import com.almonium.card.core.dto.response.CardPageDto;
+import com.almonium.card.core.dto.response.CardSearchPageDto;
+import com.almonium.card.core.exception.InvalidCursorException;
 import com.almonium.card.core.mapper.CardMapper;
 import com.almonium.card.core.model.entity.Card;
+import com.almonium.card.core.model.entity.CardSearchHit;
 import com.almonium.card.core.model.entity.CardTag;
 import com.almonium.card.core.model.entity.Example;
 import com.almonium.card.core.model.entity.Tag;
@@ -33,12 +37,15 @@ import com.almonium.user.core.model.entity.Learner;
 import com.almonium.user.core.model.entity.User;
 import com.almonium.user.core.repository.LearnerRepository;
 import com.google.common.collect.Sets;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
@@ -52,6 +59,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 /**
  * Refactored test class for the new CardService method signatures
@@ -89,12 +97,24 @@ class CardServiceTest {
     @InjectMocks
     CardService cardService;
 
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    TagDictionary tagDictionary;
+
     @Captor
     ArgumentCaptor<List<CardTag>> captor;
 
-    @DisplayName("Should return a list of CardDto that match the search entry")
+    @Captor
+    ArgumentCaptor<List<Translation>> translationsCaptor;
+
+    @Captor
+    ArgumentCaptor<List<Example>> examplesCaptor;
+
+    @DisplayName("Should return ranked matches of the search entry with a cursor to the next page")
     @Test
-    void givenSearchEntryAndUser_whenSearchByEntry_thenReturnMatchingCards() {
+    void givenSearchEntryAndUser_whenSearchByEntry_thenReturnMatchingCardsInRankOrder() {
         // Arrange
         Language language = Language.EN;
 
@@ -107,13 +127,13 @@ class CardServiceTest {
 
         UUID cardId1 = UUID.randomUUID();
         UUID cardId2 = UUID.randomUUID();
-        Card card1 = Card.builder().id(cardId1).entry("test1").build();
-        Card card2 = Card.builder().id(cardId2).entry("test2").build();
-        List<Card> cards = Arrays.asList(card1, card2);
-        String entry = "test";
+        UUID cardId3 = UUID.randomUUID();
+        Card card1 = Card.builder().id(cardId1).entry("test").build();
+        Card card2 = Card.builder().id(cardId2).entry("test_1").build();
 
-        when(cardRepository.findAllByOwnerAndEntryLikeIgnoreCase(learner, "%test%"))
-                .thenReturn(cards);
+        when(cardRepository.search(learnerId, "EN", "test_", "%test\\_%", 2f, new UUID(0, 0), 3))
+                .thenReturn(List.of(hit(cardId1, 0.8f), hit(cardId2, 0.5f), hit(cardId3, 0.2f)));
+        when(cardRepository.findAllById(List.of(cardId1, cardId2))).thenReturn(List.of(card2, card1));
 
         when(cardMapper.cardEntityToDto(card1))
                 .thenReturn(CardDto.builder().id(cardId1).build());
@@ -121,13 +141,67 @@ class CardServiceTest {
                 .thenReturn(CardDto.builder().id(cardId2).build());
 
         // Act
-        List<CardDto> result = cardService.searchByEntry(entry, language, user);
+        CardSearchPageDto result = cardService.searchByEntry(" Test_ ", language, user, null, 2);
 
         // Assert
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getId()).isEqualTo(cardId1);
-        assertThat(result.get(1).getId()).isEqualTo(cardId2);
+        assertThat(result.cards()).extracting(CardDto::getId).containsExactly(cardId1, cardId2);
+        assertThat(CardSearchCursor.decode(result.nextCursor())).isEqualTo(new CardSearchCursor(0.5f, cardId2));
+    }
+
+    @DisplayName("Should return a page of cards with a cursor that continues after its last card")
+    @Test
+    void givenMoreCardsThanLimit_whenGetUsersCardsPage_thenReturnPageAndCursor() {
+        // Arrange
+        Language language = Language.EN;
+        User user = User.builder().id(UUID.randomUUID()).build();
+        Learner learner =
+                Learner.builder().id(UUID.randomUUID()).language(language).build();
+        when(learnerFinder.findLearner(user, language)).thenReturn(learner);
+
+        Instant updatedAt = Instant.parse("2026-10-01T10:15:30.123456Z");
+        Card card1 = Card.builder().id(UUID.randomUUID()).updatedAt(updatedAt).build();
+        Card card2 = Card.builder().id(UUID.randomUUID()).updatedAt(updatedAt).build();
+        Card card3 = Card.builder().id(UUID.randomUUID()).updatedAt(updatedAt).build();
+        when(cardRepository.findFirstPageByOwner(learner, Limit.of(3))).thenReturn(List.of(card1, card2, card3));
+        when(cardMapper.cardEntityToDto(any(Card.class))).thenAnswer(invocation -> CardDto.builder()
+                .id(invocation.<Card>getArgument(0).getId())
+                .build());
+
+        // Act
+        CardPageDto firstPage = cardService.getUsersCardsPage(user, language, null, 2);
+        when(cardRepository.findPageByOwnerAfter(learner, updatedAt, card2.getId(), Limit.of(3)))
+                .thenReturn(List.of(card3));
+        CardPageDto lastPage = cardService.getUsersCardsPage(user, language, firstPage.nextCursor(), 2);
+
+        // Assert
+        assertThat(firstPage.cards()).extracting(CardDto::getId).containsExactly(card1.getId(), card2.getId());
+        assertThat(lastPage.cards()).extracting(CardDto::getId).containsExactly(card3.getId());
+        assertThat(lastPage.nextCursor()).isNull();
+    }
+
+    @DisplayName("Should reject a search cursor it didn't issue")
+    @Test
+    void givenMalformedCursor_whenSearchByEntry_thenThrowInvalidCursorException() {
+        User user = User.builder().id(UUID.randomUUID()).build();
+        when(learnerFinder.findLearner(user, Language.EN))
+                .thenReturn(Learner.builder().id(UUID.randomUUID()).build());
+
+        assertThatThrownBy(() -> cardService.searchByEntry("test", Language.EN, user, "not-a-cursor", 20))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private static CardSearchHit hit(UUID id, float rank) {
+        return new CardSearchHit() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public float getRank() {
+                return rank;
+            }
+        };
     }
 
     @DisplayName("Should return CardDto when getCardById is called")
@@ -249,9 +323,8 @@ class CardServiceTest {
         cardService.updateCard(User.builder().id(UUID.randomUUID()).build(), dto);
 
         // Assert
-        for (UUID id : deletedExamplesIds) {
-            verify(exampleRepository).deleteById(id);
-        }
+        verify(exampleRepository).deleteAllByCardAndIdIn(card, Set.of(deletedExamplesIds));
+        assertThat(card.getExamples()).isEmpty();
     }
 
     @DisplayName("Should delete specified translations")
@@ -304,9 +377,8 @@ class CardServiceTest {
         cardService.updateCard(user, dto);
 
         // Assert
-        for (UUID id : deletedTranslationsIds) {
-            verify(translationRepository).deleteById(id);
-        }
+        verify(translationRepository).deleteAllByCardAndIdIn(card, Set.of(deletedTranslationsIds));
+        assertThat(card.getTranslations()).extracting(Translation::getId).containsExactly(translationId1);
     }
 
     @Test
@@ -331,23 +403,17 @@ class CardServiceTest {
                 .build();
 
         when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
-        for (TranslationDto t : updatedTranslations) {
-            when(translationRepository.findById(t.getId()))
-                    .thenReturn(Optional.of(Translation.builder()
-                            .id(t.getId())
-                            .translation(t.getTranslation())
-                            .build()));
-        }
 
         // Act
         cardService.updateCard(User.builder().id(UUID.randomUUID()).build(), dto);
 
         // Assert
-        for (TranslationDto updatedTranslation : updatedTranslations) {
-            verify(translationRepository)
-                    .save(argThat(tr -> tr.getId().equals(updatedTranslation.getId())
-                            && tr.getTranslation().equals(updatedTranslation.getTranslation())));
-        }
+        verify(translationRepository).saveAll(translationsCaptor.capture());
+        assertThat(translationsCaptor.getValue())
+                .extracting(Translation::getId, Translation::getTranslation)
+                .containsExactly(
+                        tuple(updatedTranslations[0].getId(), "updatedTranslation1"),
+                        tuple(updatedTranslations[1].getId(), "updatedTranslation2"));
     }
 
     @DisplayName("Should update existing examples")
@@ -402,26 +468,17 @@ class CardServiceTest {
 
         when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
 
-        // Mocking DB fetch for each example update
-        for (ExampleDto e : updatedExamples) {
-            when(exampleRepository.findById(e.getId()))
-                    .thenReturn(Optional.of(Example.builder()
-                            .id(e.getId())
-                            .example(e.getExample())
-                            .translation(e.getTranslation())
-                            .build()));
-        }
-
         // Act
         cardService.updateCard(user, dto);
 
         // Assert
-        for (ExampleDto updatedExample : updatedExamples) {
-            verify(exampleRepository)
-                    .save(argThat(example -> example.getId().equals(updatedExample.getId())
-                            && example.getExample().equals(updatedExample.getExample())
-                            && example.getTranslation().equals(updatedExample.getTranslation())));
-        }
+        verify(exampleRepository).saveAll(examplesCaptor.capture());
+        assertThat(examplesCaptor.getValue())
+                .extracting(Example::getId, Example::getExample, Example::getTranslation)
+                .containsExactly(
+                        tuple(exampleId1, "updatedExample1", "updatedTranslation1"),
+                        tuple(exampleId2, "updatedExample2", "updatedTranslation2"));
+        verify(exampleRepository, never()).findById(any(UUID.class));
     }
 
     @Test
@@ -443,11 +500,31 @@ class CardServiceTest {
         cardService.updateCard(User.builder().id(UUID.randomUUID()).build(), dto);
 
         // Assert
-        for (TranslationDto t : newTranslations) {
-            verify(translationRepository)
-                    .save(argThat(tr -> tr.getTranslation().equals(t.getTranslation())
-                            && tr.getCard().equals(card)));
-        }
+        verify(translationRepository).saveAll(translationsCaptor.capture());
+        assertThat(translationsCaptor.getValue())
+                .allMatch(translation -> translation.getCard() == card)
+                .extracting(Translation::getTranslation)
+                .containsExactly("newTranslation1", "newTranslation2");
+    }
+
+    @DisplayName("Should reject a translation that belongs to another card")
+    @Test
+    void givenForeignTranslationId_whenUpdateCard_thenThrowEntityNotFoundException() {
+        // Arrange
+        UUID cardId = UUID.randomUUID();
+        Card card = Card.builder().id(cardId).build();
+        CardUpdateDto dto = CardUpdateDto.builder()
+                .id(cardId)
+                .translations(new TranslationDto[] {new TranslationDto(UUID.randomUUID(), "foreign")})
+                .build();
+
+        when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
+
+        // Act & Assert
+        assertThatThrownBy(() -> cardService.updateCard(
+                        User.builder().id(UUID.randomUUID()).build(), dto))
+                .isInstanceOf(EntityNotFoundException.class);
+        verify(translationRepository, never()).saveAll(any());
     }
 
     @DisplayName("Should create new examples")
@@ -484,12 +561,11 @@ class CardServiceTest {
         cardService.updateCard(user, dto);
 
         // Assert
-        for (ExampleDto e : newExamples) {
-            verify(exampleRepository)
-                    .save(argThat(ex -> ex.getExample().equals(e.getExample())
-                            && ex.getTranslation().equals(e.getTranslation())
-                            && ex.getCard().equals(card)));
-        }
+        verify(exampleRepository).saveAll(examplesCaptor.capture());
+        assertThat(examplesCaptor.getValue())
+                .allMatch(example -> example.getCard() == card)
+                .extracting(Example::getExample, Example::getTranslation)
+                .containsExactly(tuple("newExample1", "newTranslation1"), tuple("newExample2", "newTranslation2"));
     }
 
     @DisplayName("Should update the timestamp of the card")
@@ -568,25 +644,32 @@ class CardServiceTest {
         HashSet<CardTag> existingCardTagsSet = Sets.newHashSet(cardTagToBeDeleted, oldCardTag1, oldCardTag2);
         card.setCardTags(existingCardTagsSet);
 
-        mockCardTagRepository(List.of(cardTagToBeDeleted));
+        when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
+        UUID newTagId = UUID.randomUUID();
+        when(tagDictionary.resolve(List.of(newTag))).thenReturn(Map.of(newTag, newTagId));
+        when(entityManager.getReference(Tag.class, newTagId)).thenReturn(new Tag(newTagId, newTag));
 
         // Act
         cardService.updateCard(user, dto);
 
         // Assert
-        verify(cardTagRepository).delete(cardTagToBeDeleted);
-        verify(cardTagRepository, never()).delete(oldCardTag1);
-        verify(cardTagRepository, never()).delete(oldCardTag2);
+        verify(cardTagRepository)
+                .deleteAllByCardAndTagIdIn(
+                        card, List.of(cardTagToBeDeleted.getTag().getId()));
 
         // Assert that we saved the new tag
         ArgumentCaptor<CardTag> argumentCaptor = ArgumentCaptor.forClass(CardTag.class);
-        verify(cardTagRepository, times(1)).save(argumentCaptor.capture());
+        verify(entityManager, times(1)).persist(argumentCaptor.capture());
 
         List<CardTag> capturedTags = argumentCaptor.getAllValues();
         assertThat(capturedTags)
                 .extracting(CardTag::getTag)
                 .extracting(Tag::getText)
                 .containsExactlyInAnyOrder(newTag);
+        assertThat(card.getCardTags())
+                .extracting(CardTag::getTag)
+                .extracting(Tag::getText)
+                .containsExactlyInAnyOrder(oldTag1, oldTag2, newTag);
     }
 
     @DisplayName("Should return user's cards of the specified language")
@@ -640,18 +723,8 @@ class CardServiceTest {
         return CardTag.builder()
                 .id(new CardTagPK(card.getId(), UUID.randomUUID()))
                 .card(card)
-                .tag(new Tag(tagText))
+                .tag(new Tag(UUID.randomUUID(), tagText))
                 .learner(learner)
                 .build();
     }
-
-    private void mockCardTagRepository(List<CardTag> existingCardTags) {
-        // Assume all tags belong to the same card
-        Card card = existingCardTags.iterator().next().getCard();
-        when(cardRepository.findById(any(UUID.class))).thenReturn(Optional.of(card));
-
-        existingCardTags.forEach(cardTag -> when(cardTagRepository.getByCardAndText(
-                        card, cardTag.getTag().getText()))
-                .thenReturn(cardTag));
-    }
 }
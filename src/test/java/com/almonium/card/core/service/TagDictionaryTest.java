@@ -0,0 +1,77 @@
+package com.almonium.card.core.service;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.almonium.card.core.model.entity.Tag;
+import com.almonium.card.core.model.entity.TagIdText;
+import com.almonium.card.core.repository.TagRepository;
+import com.almonium.config.properties.AppProperties;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@FieldDefaults(level = PRIVATE)
+class TagDictionaryTest {
+    TagRepository tagRepository;
+    TagDictionary tagDictionary;
+
+    @BeforeEach
+    void setUp() {
+        tagRepository = mock(TagRepository.class);
+        tagDictionary = new TagDictionary(tagRepository, mock(ExecutorService.class), new AppProperties());
+    }
+
+    @DisplayName("Should upsert all unknown tags in one sorted statement and answer repeats from memory")
+    @Test
+    void givenUnknownTags_whenResolvedTwice_thenOneUpsert() {
+        UUID verbs = UUID.randomUUID();
+        UUID nouns = UUID.randomUUID();
+        when(tagRepository.insertMissing(any(), any()))
+                .thenReturn(List.of(idText(verbs, "verbs"), idText(nouns, "irregular_nouns")));
+
+        Map<String, UUID> first = tagDictionary.resolve(List.of("Verbs", " irregular  nouns", "verbs"));
+        Map<String, UUID> second = tagDictionary.resolve(List.of("verbs", "IRREGULAR NOUNS"));
+
+        assertThat(first).isEqualTo(Map.of("verbs", verbs, "irregular_nouns", nouns));
+        assertThat(second).isEqualTo(first);
+        ArgumentCaptor<String[]> texts = ArgumentCaptor.forClass(String[].class);
+        verify(tagRepository, times(1)).insertMissing(any(), texts.capture());
+        assertThat(texts.getValue()).containsExactly("irregular_nouns", "verbs");
+    }
+
+    @DisplayName("Should look up tags another transaction created while the upsert ran")
+    @Test
+    void givenConcurrentlyCreatedTag_whenResolve_thenLookedUpAgain() {
+        UUID verbs = UUID.randomUUID();
+        when(tagRepository.insertMissing(any(), any())).thenReturn(List.of());
+        when(tagRepository.findAllByTextIn(List.of("verbs"))).thenReturn(List.of(new Tag(verbs, "verbs")));
+
+        assertThat(tagDictionary.resolve(List.of("verbs"))).isEqualTo(Map.of("verbs", verbs));
+    }
+
+    private static TagIdText idText(UUID id, String text) {
+        return new TagIdText() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getText() {
+                return text;
+            }
+        };
+    }
+}
@@ -4,6 +4,7 @@ import static lombok.AccessLevel.PRIVATE;
 import static org.mockito.Mockito.verify;
 
 import com.almonium.infra.email.dto.EmailDto;
+import com.almonium.infra.http.ProviderHttpTransport;
 import com.almonium.util.HtmlFileWriter;
 import com.almonium.util.config.AppConfigPropertiesTest;
 import lombok.experimental.FieldDefaults;
@@ -19,12 +20,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 public class EmailServiceTest extends AppConfigPropertiesTest {
     EmailService emailService;
 
+    @Mock
+    ProviderHttpTransport httpTransport;
+
     @Mock
     HtmlFileWriter htmlFileWriter;
 
     @BeforeEach
     void setUp() {
-        emailService = new EmailService(htmlFileWriter, appProperties);
+        emailService = new EmailService(httpTransport, htmlFileWriter, appProperties);
     }
 
     @DisplayName("Should save email to file when email sending is disabled")
@@ -0,0 +1,86 @@
+package com.almonium.infra.http;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.almonium.analyzer.client.ApiProvider;
+import com.almonium.infra.http.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = PRIVATE)
+class BulkheadInterceptorTest {
+    static final byte[] NO_BODY = new byte[0];
+
+    @Mock
+    HttpRequest request;
+
+    @Mock
+    ClientHttpRequestExecution execution;
+
+    @Mock
+    ClientHttpResponse response;
+
+    SimpleMeterRegistry meterRegistry;
+    BulkheadInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new BulkheadInterceptor(ApiProvider.DATAMUSE, 1, Duration.ofMillis(10), meterRegistry);
+    }
+
+    @DisplayName("Should reject requests over the limit until the open response is closed")
+    @Test
+    void givenOpenResponse_whenLimitReached_thenRejectedUntilClosed() throws IOException {
+        when(execution.execute(any(), any())).thenReturn(response);
+
+        ClientHttpResponse first = interceptor.intercept(request, NO_BODY, execution);
+
+        assertThatThrownBy(() -> interceptor.intercept(request, NO_BODY, execution))
+                .isInstanceOf(BulkheadFullException.class);
+        assertThat(meterRegistry
+                        .get(BulkheadInterceptor.REJECTION_COUNTER)
+                        .tag("provider", "DATAMUSE")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+
+        first.close();
+        first.close();
+
+        assertThat(interceptor.intercept(request, NO_BODY, execution)).isNotNull();
+        assertThat(meterRegistry
+                        .get(BulkheadInterceptor.IN_FLIGHT_GAUGE)
+                        .tag("provider", "DATAMUSE")
+                        .gauge()
+                        .value())
+                .isEqualTo(1);
+    }
+
+    @DisplayName("Should release the permit when the request fails")
+    @Test
+    void givenFailingRequest_whenIntercept_thenPermitReleased() throws IOException {
+        when(execution.execute(any(), any())).thenThrow(new IOException("connection reset"));
+
+        assertThatThrownBy(() -> interceptor.intercept(request, NO_BODY, execution))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> interceptor.intercept(request, NO_BODY, execution))
+                .isInstanceOf(IOException.class);
+    }
+}